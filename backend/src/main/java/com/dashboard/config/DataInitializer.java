@@ -1,23 +1,52 @@
 package com.dashboard.config;
 
+import com.dashboard.importer.BrandResolver;
+import com.dashboard.importer.BulkLoader;
+import com.dashboard.importer.ChunkWriter;
+import com.dashboard.importer.CsvImporter;
+import com.dashboard.importer.ImportListener;
+import com.dashboard.importer.ImportProperties;
+import com.dashboard.importer.LoaderMode;
+import com.dashboard.importer.UpsertLoader;
+import com.dashboard.model.SeedMetadata;
 import com.dashboard.parser.BrandCsvParser;
 import com.dashboard.parser.CsvEntityParser;
 import com.dashboard.parser.ProductCsvParser;
 import com.dashboard.parser.UsersCsvParser;
 import com.dashboard.repository.BrandRepository;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.SeedMetadataRepository;
 import com.dashboard.repository.UsersRepository;
+import com.dashboard.service.CatalogRefresher;
+import com.dashboard.util.CsvRecord;
 import com.dashboard.util.CsvUtils;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
+/**
+ * Seeds brands, products and users from the CSV files under {@code data/}. The SHA-256 of every applied file
+ * is kept in {@code seed_metadata}: unchanged files are skipped without touching their table, a file seen for
+ * the first time is bulk loaded into an empty table, and anything else is upserted by natural key through
+ * {@link UpsertLoader}. Nothing is deleted, so restart time depends on the seed files, not on the table sizes;
+ * a row removed from a seed file stays in its table.
+ * <p>
+ * By default seeding runs on a background thread once the application has started; {@link SeedingState}
+ * drives the readiness probe and the product read gate until it has finished. With several replicas only the
+ * node holding the {@link SeedLock} seeds; the others wait for it and then find every checksum unchanged, or
+ * skip seeding altogether (see {@link SeedProperties#getLockMode()}).
+ */
 @Component
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
@@ -25,47 +54,174 @@ public class DataInitializer implements CommandLineRunner {
     private final ProductRepository productRepository;
     private final BrandRepository brandRepository;
     private final UsersRepository usersRepository;
+    private final SeedMetadataRepository seedMetadataRepository;
+    private final CsvImporter csvImporter;
+    private final BulkLoader bulkLoader;
+    private final UpsertLoader upsertLoader;
+    private final ImportProperties importProperties;
+    private final SeedProperties seedProperties;
+    private final SeedingState seedingState;
+    private final SeedLock seedLock;
+    private final CatalogRefresher catalogRefresher;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "seed-data");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<String> SEED_FILES = List.of("users.csv", "brands.csv", "products.csv");
     private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
     @Override
     public void run(String... args) {
-        var brandCsvParser = new BrandCsvParser();
-        var productCsvParser = new ProductCsvParser(brandRepository);
-        var userCsvParser = new UsersCsvParser();
-        productRepository.deleteAll();
-        brandRepository.deleteAll();
-        usersRepository.deleteAll();
-        insertRecordsFromCsvString("brand", "brands.csv", brandCsvParser, brandRepository);
-        insertRecordsFromCsvString("product", "products.csv", productCsvParser, productRepository);
-        insertRecordsFromCsvString("users", "users.csv", userCsvParser, usersRepository);
+        if (seedProperties.isAsync()) {
+            executor.execute(this::seed);
+        } else {
+            seed();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void seed() {
+        SeedLock.Handle lock;
+        try {
+            lock = acquireSeedLock();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            seedingState.fail("Interrupted while waiting for the seed lock");
+            return;
+        } catch (RuntimeException e) {
+            seedingState.fail(e.getMessage());
+            log.error("Seeding failed", e);
+            return;
+        }
+
+        if (lock == null) {
+            log.info("Another node is seeding. Skipping seeding on this node.");
+            seedingState.complete();
+            return;
+        }
+        try (lock) {
+            seedFiles();
+        }
+    }
+
+    /**
+     * @return the held lock, or {@code null} when another node holds it and this node should skip seeding
+     */
+    private SeedLock.Handle acquireSeedLock() throws InterruptedException {
+        var lock = seedLock.tryAcquire();
+        if (lock.isPresent()) {
+            return lock.get();
+        }
+        if (seedProperties.getLockMode() == SeedProperties.LockMode.SKIP) {
+            return null;
+        }
+        seedingState.waitForOtherNode();
+        return seedLock.acquire();
     }
 
-    private <T, ID> void insertRecordsFromCsvString(
+    /**
+     * Applies all seed files, reporting progress to {@link SeedingState}. Users go first so logins work
+     * while the catalog is still loading.
+     */
+    private void seedFiles() {
+        seedingState.start(SEED_FILES.stream().mapToLong(fileName -> Math.max(0, CsvUtils.resourceSize("data/" + fileName))).sum());
+        try {
+            var brandCsvParser = new BrandCsvParser();
+            // BCrypt takes about 100 ms a row, so only users that the upsert will insert are hashed
+            var userCsvParser = new UsersCsvParser(passwordEncoder, usersRepository::existsByUsername);
+            var bulk = importProperties.getLoader() == LoaderMode.BULK;
+            seedFromCsv("users", "users.csv", false, userCsvParser, usersRepository,
+                csvImporter.jpaWriter(usersRepository), upsertLoader.usersWriter());
+
+            var brandsApplied = seedFromCsv("brand", "brands.csv", false, brandCsvParser, brandRepository,
+                bulk ? bulkLoader.brandWriter() : csvImporter.jpaWriter(brandRepository), upsertLoader.brandWriter());
+
+            // Product rows skipped for an unknown brand may resolve now, so new brands re-apply products too.
+            var brandResolver = BrandResolver.load(brandRepository);
+            seedFromCsv("product", "products.csv", brandsApplied, new ProductCsvParser(brandResolver), productRepository,
+                bulk ? bulkLoader.productWriter() : csvImporter.jpaWriter(productRepository), upsertLoader.productWriter());
+            logUnknownBrands(brandResolver);
+
+            catalogRefresher.seedFinished();
+            seedingState.complete();
+            log.info("Seeding completed");
+        } catch (RuntimeException e) {
+            // rows of the chunks committed before the failure are served too
+            catalogRefresher.seedFinished();
+            seedingState.fail(e.getMessage());
+            log.error("Seeding failed", e);
+        }
+    }
+
+    private void logUnknownBrands(BrandResolver brandResolver) {
+        var unknownBrands = brandResolver.getUnknownBrands();
+        if (!unknownBrands.isEmpty()) {
+            log.warn("Skipped product rows referencing {} unknown brand(s) (name=rows): {}", unknownBrands.size(), unknownBrands);
+        }
+    }
+
+    /**
+     * @return whether the file was applied, i.e. its content differs from the last applied version
+     */
+    private <T, ID> boolean seedFromCsv(
         String tableName,
         String fileName,
+        boolean force,
         CsvEntityParser<T> parser,
-        JpaRepository<T, ID> repository
+        JpaRepository<T, ID> repository,
+        ChunkWriter<T> insertWriter,
+        ChunkWriter<T> upsertWriter
     ) {
-        log.info("Importing {} data...", tableName);
-        if (repository.count() == 0) {
-            List<String[]> records = CsvUtils.readCsvFromResource(String.format("data/%s", fileName));
-            List<T> entities = new ArrayList<>();
-            var skipCount = 0;
-
-            for (int i = 0; i < records.size(); i++) {
-                try {
-                    T entity = parser.parse(records.get(i));
-                    entities.add(entity);
-                } catch (Exception exception) {
-                    log.warn("Can not import row {}. Error message: {}", i + 1, exception.getMessage());
-                    skipCount++;
-                }
-            }
-
-            repository.saveAll(entities);
-            log.info("Finished importing {}. Total: {}, Skipped: {}", tableName, entities.size(), skipCount);
-        } else {
-            log.info("{} data already exist. Skipping import.", tableName);
+        var resourcePath = String.format("data/%s", fileName);
+        seedingState.startFile(tableName);
+        try {
+            return applySeedFile(tableName, fileName, resourcePath, force, parser, repository, insertWriter, upsertWriter);
+        } finally {
+            seedingState.finishFile(CsvUtils.resourceSize(resourcePath));
+        }
+    }
+
+    private <T, ID> boolean applySeedFile(
+        String tableName,
+        String fileName,
+        String resourcePath,
+        boolean force,
+        CsvEntityParser<T> parser,
+        JpaRepository<T, ID> repository,
+        ChunkWriter<T> insertWriter,
+        ChunkWriter<T> upsertWriter
+    ) {
+        var checksum = CsvUtils.sha256OfResource(resourcePath);
+        if (checksum == null) {
+            log.warn("{} not found. Skipping {} import.", resourcePath, tableName);
+            return false;
+        }
+
+        var applied = seedMetadataRepository.findById(fileName);
+        if (!force && applied.isPresent() && applied.get().getChecksum().equals(checksum)) {
+            log.info("{} unchanged since {}. Skipping {} import.", fileName, applied.get().getAppliedAt(), tableName);
+            return false;
+        }
+
+        var writer = applied.isEmpty() && repository.count() == 0 ? insertWriter : upsertWriter;
+        log.info("Importing {} data ({})...", tableName, writer == insertWriter ? "insert" : "upsert");
+        try (Stream<CsvRecord> records = CsvUtils.streamRecordsFromResource(resourcePath, seedingState::updateFile)) {
+            var report = csvImporter.importRecords(tableName, records, parser, writer, 1, ImportListener.NONE);
+            log.info("Finished importing {}. Total: {}, Skipped: {}", tableName, report.getImported(), report.getSkipped());
+            log.info("Import report for {}: {} ms, {} rows/s, peak heap {} MB",
+                tableName, report.getElapsedMillis(), report.getRowsPerSecond(), report.getPeakHeapMegabytes());
         }
+        seedMetadataRepository.save(SeedMetadata.builder()
+            .fileName(fileName)
+            .checksum(checksum)
+            .appliedAt(LocalDateTime.now())
+            .build());
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package com.dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * How long a cached product count is reused. Product writes, brand updates and imports clear the cache right
+     * away; this bounds how stale counts get after writes made outside the application.
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(60);
+
+    /**
+     * Distinct filters whose counts are kept; the cache starts over once it is full.
+     */
+    private int countCacheSize = 1000;
+
+    /**
+     * Ascending boundaries of the {@code priceBucket} facet: {@code n} bounds make {@code n + 1} buckets, the
+     * first below the lowest bound and the last from the highest one up.
+     */
+    private List<Double> priceBuckets = List.of(25.0, 50.0, 100.0, 250.0, 500.0, 1000.0);
+
+    private Coalescing coalescing = new Coalescing();
+
+    private ResultCache resultCache = new ResultCache();
+
+    private ParallelCount parallelCount = new ParallelCount();
+
+    private NameIndex nameIndex = new NameIndex();
+
+    private Suggest suggest = new Suggest();
+
+    @Getter
+    @Setter
+    public static class ParallelCount {
+        /**
+         * Count a product page's total while its rows are read, on another connection.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a page waits for its total, counted from when both queries started; a page whose count
+         * takes longer comes back with a lower bound and {@code totalExact=false}.
+         */
+        private Duration timeout = Duration.ofSeconds(1);
+
+        /**
+         * Counts running beside page reads at once, each holding a connection; keep it well below the pool size.
+         */
+        private int maxConcurrent = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+        /**
+         * Let identical product searches running at the same time share one query.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How eagerly a cached result is refreshed before it expires; higher refreshes earlier, zero waits for
+         * the expiry.
+         */
+        private double earlyRefreshBeta = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class ResultCache {
+        /**
+         * Keep recent product search results in memory, keyed by filter, page, sort and count mode.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a cached result is served. Product writes, brand updates and imports invalidate the cache right
+         * away; this bounds how stale results get after writes made outside the application.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Results kept at most; past it the least used ones are evicted.
+         */
+        private int maxEntries = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class NameIndex {
+        /**
+         * Answer the product name filter from the in-memory trigram index instead of {@code LIKE '%name%'}.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Largest number of matching products handed to the database as an id array; broader terms fall back
+         * to {@code LIKE}, which finds a page of them quickly anyway.
+         */
+        private int maxCandidates = 1_000;
+
+        /**
+         * Product writes kept beside the index before it is rebuilt.
+         */
+        private int maxPendingChanges = 10_000;
+
+        /**
+         * How often the index is rebuilt from the database, which also picks up products written outside the
+         * application; zero disables periodic rebuilds. Imports rebuild it when they finish.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+
+        /**
+         * Also keep a word index of the names for {@code fuzzy=true} searches; it costs about as much memory
+         * as the trigram index.
+         */
+        private boolean fuzzyEnabled = true;
+
+        /**
+         * Edits (insertions, deletions, substitutions, adjacent swaps) a fuzzy search tolerates per word of six or more
+         * characters; shorter words tolerate at most one, or none up to two characters.
+         */
+        private int maxEdits = 2;
+
+        /**
+         * Best fuzzy matches that are kept and ranked; the rest are dropped.
+         */
+        private int maxFuzzyResults = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Suggest {
+        /**
+         * Serve {@code /suggest} completions from memory; when off they answer an empty list.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Product and brand writes kept beside each prefix snapshot before it is rebuilt.
+         */
+        private int maxPendingChanges = 1000;
+
+        /**
+         * How often the snapshots are rebuilt from the database, which also picks up names written outside the
+         * application; zero disables periodic rebuilds. Imports rebuild them when they finish.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+
+        /**
+         * Largest {@code limit} a client may ask for.
+         */
+        private int maxLimit = 50;
+    }
+}
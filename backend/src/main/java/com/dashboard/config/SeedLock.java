@@ -0,0 +1,139 @@
+package com.dashboard.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Database-wide lock that lets exactly one application node seed at a time. It is held on a dedicated
+ * connection for as long as the returned {@link Handle} is open, so it is released even if the node dies.
+ * <p>
+ * PostgreSQL uses a session-level advisory lock. Other databases (H2 in tests) lock the single row of a
+ * {@code seed_lock} table with {@code SELECT ... FOR UPDATE SKIP LOCKED} inside an open transaction; the
+ * table is created on first use.
+ */
+@Slf4j
+@Component
+public class SeedLock {
+    /**
+     * Arbitrary application-wide key for {@code pg_advisory_lock}; must not collide with other advisory locks.
+     */
+    static final long ADVISORY_LOCK_KEY = 0x5EED_DA7AL;
+    private static final long POLL_MILLIS = 500;
+
+    private final DataSource dataSource;
+
+    public SeedLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Blocks until this node holds the lock.
+     */
+    public Handle acquire() throws InterruptedException {
+        var waited = false;
+        while (true) {
+            var handle = tryAcquire();
+            if (handle.isPresent()) {
+                return handle.get();
+            }
+            if (!waited) {
+                log.info("Another node holds the seed lock; waiting for it to finish");
+                waited = true;
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    /**
+     * Takes the lock if no other node holds it.
+     */
+    public Optional<Handle> tryAcquire() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            var locked = connection.isWrapperFor(PGConnection.class) ? tryAdvisoryLock(connection) : tryRowLock(connection);
+            if (locked) {
+                return Optional.of(new Handle(connection));
+            }
+            close(connection);
+            return Optional.empty();
+        } catch (SQLException e) {
+            close(connection);
+            throw new IllegalStateException("Could not acquire the seed lock", e);
+        }
+    }
+
+    private static boolean tryAdvisoryLock(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean tryRowLock(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS seed_lock (id INT PRIMARY KEY)");
+            try {
+                statement.execute("INSERT INTO seed_lock (id) VALUES (1)");
+            } catch (SQLException e) {
+                // another node created the row first
+            }
+        }
+        connection.setAutoCommit(false);
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT id FROM seed_lock WHERE id = 1 FOR UPDATE SKIP LOCKED")) {
+            return resultSet.next();
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Could not close seed lock connection", e);
+        }
+    }
+
+    public static final class Handle implements AutoCloseable {
+        private final Connection connection;
+
+        Handle(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    try (var statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                        statement.setLong(1, ADVISORY_LOCK_KEY);
+                        statement.execute();
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Could not release the seed lock; dropping its connection instead", e);
+                try {
+                    connection.abort(Runnable::run);
+                } catch (SQLException abortException) {
+                    log.warn("Could not drop the seed lock connection", abortException);
+                }
+            }
+            SeedLock.close(connection);
+        }
+    }
+}
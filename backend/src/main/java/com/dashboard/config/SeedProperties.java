@@ -0,0 +1,56 @@
+package com.dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.seed")
+public class SeedProperties {
+
+    /**
+     * Seed on a background thread so the application starts serving immediately. When false, startup
+     * blocks until seeding has finished.
+     */
+    private boolean async = true;
+
+    /**
+     * What product read endpoints do while seeding is running.
+     */
+    private ReadGate readGate = ReadGate.REJECT;
+
+    /**
+     * Value of the Retry-After header sent with 503 responses while seeding.
+     */
+    private int retryAfterSeconds = 5;
+
+    /**
+     * What a node does when another node already holds the seed lock.
+     */
+    private LockMode lockMode = LockMode.WAIT;
+
+    public enum ReadGate {
+        /**
+         * Answer 503 with a Retry-After header.
+         */
+        REJECT,
+        /**
+         * Serve whatever has already been committed.
+         */
+        SERVE
+    }
+
+    public enum LockMode {
+        /**
+         * Wait for the other node, then run the (by then cheap) checksum comparison; readiness stays down meanwhile.
+         */
+        WAIT,
+        /**
+         * Do not seed at all and report seeding as completed right away.
+         */
+        SKIP
+    }
+}
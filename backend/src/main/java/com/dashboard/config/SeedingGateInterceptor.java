@@ -0,0 +1,35 @@
+package com.dashboard.config;
+
+import com.dashboard.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Gates product reads while the startup seed is running: either rejects them with 503 and Retry-After, or
+ * serves committed data and marks the response with the seed progress.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeedingGateInterceptor implements HandlerInterceptor {
+    static final String SEED_PROGRESS_HEADER = "X-Seed-Progress";
+
+    private final SeedingState seedingState;
+    private final SeedProperties seedProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) || !seedingState.isSeeding()) {
+            return true;
+        }
+        if (seedProperties.getReadGate() == SeedProperties.ReadGate.REJECT) {
+            throw new ServiceUnavailableException(
+                String.format("Data is still being seeded (%d%%)", seedingState.getPercent()),
+                seedProperties.getRetryAfterSeconds());
+        }
+        response.setHeader(SEED_PROGRESS_HEADER, String.valueOf(seedingState.getPercent()));
+        return true;
+    }
+}
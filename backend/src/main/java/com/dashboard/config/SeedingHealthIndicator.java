@@ -0,0 +1,31 @@
+package com.dashboard.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the startup seed as {@code seeding} in the readiness group, so {@code /actuator/health/readiness}
+ * stays OUT_OF_SERVICE until seeding has completed.
+ */
+@Component("seeding")
+@RequiredArgsConstructor
+public class SeedingHealthIndicator implements HealthIndicator {
+
+    private final SeedingState seedingState;
+
+    @Override
+    public Health health() {
+        var builder = switch (seedingState.getStatus()) {
+            case COMPLETED -> Health.up();
+            case FAILED -> Health.down().withDetail("error", String.valueOf(seedingState.getFailureMessage()));
+            default -> Health.outOfService();
+        };
+        builder.withDetail("status", seedingState.getStatus()).withDetail("percent", seedingState.getPercent());
+        if (seedingState.getCurrentTable() != null) {
+            builder.withDetail("table", seedingState.getCurrentTable());
+        }
+        return builder.build();
+    }
+}
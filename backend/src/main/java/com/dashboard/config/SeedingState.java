@@ -0,0 +1,119 @@
+package com.dashboard.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Progress of the startup seed, shared between the seeding thread, the readiness probe and the read gate.
+ * Progress is measured in bytes of seed files consumed; skipped files count as fully consumed.
+ */
+@Component
+public class SeedingState {
+    public enum Status {
+        PENDING,
+        /**
+         * Another node holds the seed lock and this one waits for it to finish.
+         */
+        WAITING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private volatile Status status = Status.PENDING;
+    private volatile String currentTable;
+    private volatile String failureMessage;
+    private volatile long totalBytes;
+    private volatile long completedBytes;
+    private volatile long currentFileBytes;
+    private final CompletableFuture<Status> finished = new CompletableFuture<>();
+
+    public void waitForOtherNode() {
+        this.status = Status.WAITING;
+    }
+
+    public void start(long totalBytes) {
+        this.totalBytes = totalBytes;
+        this.completedBytes = 0;
+        this.currentFileBytes = 0;
+        this.failureMessage = null;
+        this.status = Status.RUNNING;
+    }
+
+    public void startFile(String tableName) {
+        this.currentTable = tableName;
+        this.currentFileBytes = 0;
+    }
+
+    public void updateFile(long bytesRead) {
+        this.currentFileBytes = bytesRead;
+    }
+
+    public void finishFile(long fileBytes) {
+        this.completedBytes += Math.max(0, fileBytes);
+        this.currentFileBytes = 0;
+    }
+
+    public void complete() {
+        this.currentTable = null;
+        this.status = Status.COMPLETED;
+        finished.complete(Status.COMPLETED);
+    }
+
+    public void fail(String message) {
+        this.failureMessage = message;
+        this.status = Status.FAILED;
+        finished.complete(Status.FAILED);
+    }
+
+    /**
+     * True until seeding has either completed or failed.
+     */
+    public boolean isSeeding() {
+        return status == Status.PENDING || status == Status.WAITING || status == Status.RUNNING;
+    }
+
+    /**
+     * Runs {@code action} once seeding has completed or failed, right away if it already has. It runs on the
+     * thread that finished seeding, so it should only hand work off.
+     */
+    public void whenFinished(Runnable action) {
+        finished.thenRun(action);
+    }
+
+    /**
+     * Blocks until seeding has completed or failed.
+     */
+    public void awaitFinished() throws InterruptedException {
+        try {
+            finished.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding state is never completed exceptionally", e);
+        }
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getCurrentTable() {
+        return currentTable;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public int getPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        var total = totalBytes;
+        if (total <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, (completedBytes + currentFileBytes) * 100 / total);
+    }
+}
@@ -2,16 +2,27 @@ package com.dashboard.controller;
 
 import com.dashboard.dto.BrandRequestDTO;
 import com.dashboard.dto.BrandResponseDTO;
+import com.dashboard.dto.CursorPageDTO;
+import com.dashboard.dto.ImportJobStatusDTO;
+import com.dashboard.dto.ImportValidationDTO;
+import com.dashboard.importer.ImportJobType;
 import com.dashboard.model.Brand;
+import com.dashboard.repository.CountMode;
 import com.dashboard.service.BrandService;
+import com.dashboard.service.ImportJobService;
 import jakarta.validation.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -20,13 +31,33 @@ import org.springframework.web.bind.annotation.*;
 public class BrandController {
 
     private final BrandService brandService;
+    private final ImportJobService importJobService;
 
-    // GET /api/brands?deleted=false&page=0&size=10
+    // GET /api/brands?deleted=false&page=0&size=10&count=EXACT|NONE
     @GetMapping
-    public Page<BrandResponseDTO> getAll(
+    public Slice<BrandResponseDTO> getAll(
         @RequestParam(defaultValue = "false") boolean deleted,
+        @RequestParam(defaultValue = "EXACT") CountMode count,
         Pageable pageable) {
-        return brandService.getAllByDeleted(deleted, pageable);
+        return count == CountMode.NONE ? brandService.getSliceByDeleted(deleted, pageable) : brandService.getAllByDeleted(deleted, pageable);
+    }
+
+    // GET /api/brands?cursor=&size=20&sort=name (keyset pages; send nextCursor back as cursor to continue)
+    @GetMapping(params = "cursor")
+    public CursorPageDTO<BrandResponseDTO> getAllAfter(
+        @RequestParam(defaultValue = "false") boolean deleted,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        Sort sort) {
+        return brandService.getAllByDeletedAfter(deleted, cursor, size, sort);
+    }
+
+    // GET /api/brands/suggest?prefix=lo&limit=10 (name completions, alphabetical)
+    @GetMapping("/suggest")
+    public List<String> suggest(
+        @RequestParam String prefix,
+        @RequestParam(defaultValue = "10") int limit) {
+        return brandService.suggestNames(prefix, limit);
     }
 
     // GET /api/brands/{id}
@@ -53,4 +84,28 @@ public class BrandController {
         brandService.markAsDeleted(id);
         return ResponseEntity.noContent().build();
     }
+
+    // POST /api/brands/import (multipart, field "file")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobStatusDTO> importCsv(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit(ImportJobType.BRAND, file));
+    }
+
+    // POST /api/brands/import/validate (multipart, field "file"): dry run, nothing is written
+    @PostMapping(value = "/import/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportValidationDTO> validateCsv(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(importJobService.validate(ImportJobType.BRAND, file));
+    }
+
+    // GET /api/brands/import/{jobId}
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobStatusDTO> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getStatus(ImportJobType.BRAND, jobId));
+    }
+
+    // POST /api/brands/import/{jobId}/resume
+    @PostMapping("/import/{jobId}/resume")
+    public ResponseEntity<ImportJobStatusDTO> resumeImport(@PathVariable String jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.resume(ImportJobType.BRAND, jobId));
+    }
 }
\ No newline at end of file
@@ -1,17 +1,28 @@
 package com.dashboard.controller;
 
 import com.dashboard.dto.BrandProductCountDTO;
+import com.dashboard.dto.CursorPageDTO;
+import com.dashboard.dto.ImportJobStatusDTO;
+import com.dashboard.dto.ImportValidationDTO;
 import com.dashboard.dto.ProductRequestDTO;
 import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.dto.ProductSearchResultDTO;
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.importer.ImportMode;
+import com.dashboard.repository.CountMode;
+import com.dashboard.service.ImportJobService;
 import com.dashboard.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -21,17 +32,60 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class ProductController {
     private final ProductService productService;
+    private final ImportJobService importJobService;
 
-    // GET /api/products?deleted=false&page=0&size=10
+    // GET /api/products?deleted=false&page=0&size=10&count=EXACT|ESTIMATE|NONE&fuzzy=false
     @GetMapping
-    public Page<ProductResponseDTO> getFilteredProducts(
+    public Slice<ProductResponseDTO> getFilteredProducts(
         @RequestParam(defaultValue = "false") boolean deleted,
         @RequestParam(required = false) String name,
         @RequestParam(required = false) String brand,
         @RequestParam(required = false) Double minPrice,
         @RequestParam(required = false) Double maxPrice,
+        @RequestParam(defaultValue = "EXACT") CountMode count,
+        @RequestParam(defaultValue = "false") boolean fuzzy,
         Pageable pageable) {
-        return productService.getFilteredProducts(deleted, name, brand, minPrice, maxPrice, pageable);
+        return fuzzy
+            ? productService.getSimilarProducts(deleted, name, brand, minPrice, maxPrice, pageable, count)
+            : productService.getFilteredProducts(deleted, name, brand, minPrice, maxPrice, pageable, count);
+    }
+
+    // GET /api/products?facets=brand,priceBucket&name=...&page=0&size=10&fuzzy=false (page plus counts for the same filters)
+    @GetMapping(params = {"facets", "!cursor"})
+    public ProductSearchResultDTO getFacetedProducts(
+        @RequestParam(defaultValue = "false") boolean deleted,
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String brand,
+        @RequestParam(required = false) Double minPrice,
+        @RequestParam(required = false) Double maxPrice,
+        @RequestParam(defaultValue = "EXACT") CountMode count,
+        @RequestParam(defaultValue = "false") boolean fuzzy,
+        @RequestParam List<String> facets,
+        Pageable pageable) {
+        return productService.getFacetedProducts(deleted, name, brand, minPrice, maxPrice, pageable, count, fuzzy, facets);
+    }
+
+    // GET /api/products?cursor=&size=20&sort=price,desc (keyset pages; send nextCursor back as cursor to continue; fuzzy=true is rejected)
+    @GetMapping(params = "cursor")
+    public CursorPageDTO<ProductResponseDTO> getFilteredProductsAfter(
+        @RequestParam(defaultValue = "false") boolean deleted,
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String brand,
+        @RequestParam(required = false) Double minPrice,
+        @RequestParam(required = false) Double maxPrice,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean fuzzy,
+        Sort sort) {
+        return productService.getFilteredProductsAfter(deleted, name, brand, minPrice, maxPrice, cursor, size, sort, fuzzy);
+    }
+
+    // GET /api/products/suggest?prefix=lap&limit=10 (name completions, most common first)
+    @GetMapping("/suggest")
+    public List<String> suggest(
+        @RequestParam String prefix,
+        @RequestParam(defaultValue = "10") int limit) {
+        return productService.suggestNames(prefix, limit);
     }
 
     // GET /api/products/{id}
@@ -63,4 +117,31 @@ public class ProductController {
     public ResponseEntity<List<BrandProductCountDTO>> getProductCountByBrand() {
         return ResponseEntity.ok(productService.getProductCountByBrand());
     }
+
+    // POST /api/products/import?mode=APPEND|SYNC (multipart, field "file")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobStatusDTO> importCsv(
+        @RequestParam("file") MultipartFile file,
+        @RequestParam(defaultValue = "APPEND") ImportMode mode
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit(ImportJobType.PRODUCT, file, mode));
+    }
+
+    // POST /api/products/import/validate (multipart, field "file"): dry run, nothing is written
+    @PostMapping(value = "/import/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportValidationDTO> validateCsv(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(importJobService.validate(ImportJobType.PRODUCT, file));
+    }
+
+    // GET /api/products/import/{jobId}
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobStatusDTO> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getStatus(ImportJobType.PRODUCT, jobId));
+    }
+
+    // POST /api/products/import/{jobId}/resume
+    @PostMapping("/import/{jobId}/resume")
+    public ResponseEntity<ImportJobStatusDTO> resumeImport(@PathVariable String jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.resume(ImportJobType.PRODUCT, jobId));
+    }
 }
\ No newline at end of file
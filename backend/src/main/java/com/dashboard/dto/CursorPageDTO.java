@@ -0,0 +1,19 @@
+package com.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    /**
+     * Token for the next page, or {@code null} on the last page.
+     */
+    private String nextCursor;
+}
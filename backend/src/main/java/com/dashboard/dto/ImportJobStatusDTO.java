@@ -0,0 +1,39 @@
+package com.dashboard.dto;
+
+import com.dashboard.importer.ImportJobStatus;
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.importer.ImportMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatusDTO {
+    private String jobId;
+    private ImportJobType type;
+    private ImportMode mode;
+    private ImportJobStatus status;
+    private String fileName;
+    private Long processedRows;
+    private Long importedRows;
+    private Long skippedRows;
+    private Long checkpointRow;
+    private Long rowsPerSecond;
+    private Integer attempts;
+    private List<ImportRowErrorDTO> errors;
+    private Boolean errorsTruncated;
+    private Map<String, Long> unknownBrands;
+    /**
+     * Write counts of a {@link ImportMode#SYNC} job once it has completed; {@code null} otherwise.
+     */
+    private SyncSummaryDTO sync;
+    private String failureMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
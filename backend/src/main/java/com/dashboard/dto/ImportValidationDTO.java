@@ -0,0 +1,25 @@
+package com.dashboard.dto;
+
+import com.dashboard.importer.ImportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportValidationDTO {
+    private ImportJobType type;
+    private String fileName;
+    private Long totalRows;
+    private Long validRows;
+    private Long invalidRows;
+    private Long elapsedMillis;
+    private Long rowsPerSecond;
+    private List<ImportRowErrorDTO> errors;
+    private Boolean errorsTruncated;
+    private Map<String, Long> unknownBrands;
+}
@@ -0,0 +1,20 @@
+package com.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketCountDTO {
+    /**
+     * Inclusive lower bound, or {@code null} for the lowest bucket.
+     */
+    private Double from;
+    /**
+     * Exclusive upper bound, or {@code null} for the highest bucket.
+     */
+    private Double to;
+    private Long productCount;
+}
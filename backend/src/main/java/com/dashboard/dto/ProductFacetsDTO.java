@@ -0,0 +1,24 @@
+package com.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Facet counts of a product search; a facet that was not asked for is {@code null}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDTO {
+    /**
+     * Most common brands first.
+     */
+    private List<BrandProductCountDTO> brands;
+    /**
+     * Every bucket in price order, empty ones included.
+     */
+    private List<PriceBucketCountDTO> priceBuckets;
+}
@@ -0,0 +1,17 @@
+package com.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+/**
+ * A page of products together with the facet counts of the same search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResultDTO {
+    private Slice<ProductResponseDTO> page;
+    private ProductFacetsDTO facets;
+}
@@ -0,0 +1,19 @@
+package com.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncSummaryDTO {
+    private Long inserted;
+    private Long updated;
+    private Long unchanged;
+    private Long deleted;
+    /**
+     * Active products kept because their row in the file was invalid, so the file says nothing reliable about them.
+     */
+    private Long kept;
+}
@@ -0,0 +1,62 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.repository.BrandRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves brand names to brand references for product imports from a dictionary loaded once up front,
+ * instead of one lookup query per product row. Names are matched exactly (after trimming), like
+ * {@link BrandRepository#findByNameAndDeleted}. Unknown names are tallied so they can be reported
+ * together once the import has finished.
+ */
+public class BrandResolver {
+    private final Map<String, Brand> brandsByName;
+    private final Map<String, LongAdder> unknownBrands = new ConcurrentHashMap<>();
+
+    public BrandResolver(Map<String, Brand> brandsByName) {
+        this.brandsByName = Map.copyOf(brandsByName);
+    }
+
+    public static BrandResolver load(BrandRepository brandRepository) {
+        Map<String, Brand> brandsByName = new HashMap<>();
+        for (Object[] idAndName : brandRepository.findIdAndNameByDeleted(false)) {
+            brandsByName.put((String) idAndName[1], brandRepository.getReferenceById((Long) idAndName[0]));
+        }
+        return new BrandResolver(brandsByName);
+    }
+
+    public Optional<Brand> resolve(String brandName) {
+        var brand = brandsByName.get(brandName);
+        if (brand == null) {
+            unknownBrands.computeIfAbsent(brandName, name -> new LongAdder()).increment();
+        }
+        return Optional.ofNullable(brand);
+    }
+
+    /**
+     * Looks a brand up without counting a miss, for callers that inspect rows the parser already reported.
+     */
+    public Optional<Brand> peek(String brandName) {
+        return Optional.ofNullable(brandsByName.get(brandName));
+    }
+
+    public int size() {
+        return brandsByName.size();
+    }
+
+    /**
+     * Brand names that could not be resolved, with the number of rows that referenced each of them.
+     */
+    public Map<String, Long> getUnknownBrands() {
+        Map<String, Long> counts = new TreeMap<>();
+        unknownBrands.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+}
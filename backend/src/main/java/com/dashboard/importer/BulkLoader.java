@@ -0,0 +1,171 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import com.dashboard.util.SearchText;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes brand and product chunks without going through the persistence context. On PostgreSQL each
+ * chunk is streamed with {@code COPY ... FROM STDIN}; on other databases it falls back to a batched
+ * JDBC insert. Entity callbacks do not run, so the loader fills {@code name_lower} and the audit columns
+ * itself. Products must carry a brand whose id is already known (e.g. a reference from
+ * {@link BrandResolver}), so {@code brand_id} is resolved in memory.
+ */
+@Slf4j
+@Component
+public class BulkLoader {
+    private static final String BRAND_COLUMNS = "name, name_lower, country, founded_year, website, description, deleted, created_at, updated_at";
+    private static final String PRODUCT_COLUMNS = "name, name_lower, brand_id, quantity, price, deleted, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkLoader(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ChunkWriter<Brand> brandWriter() {
+        return chunk -> transactionTemplate.executeWithoutResult(status -> writeBrands(chunk));
+    }
+
+    public ChunkWriter<Product> productWriter() {
+        return chunk -> transactionTemplate.executeWithoutResult(status -> writeProducts(chunk));
+    }
+
+    private void writeBrands(List<Brand> brands) {
+        var now = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (isPostgres(connection)) {
+                var csv = new StringBuilder(brands.size() * 128);
+                for (Brand brand : brands) {
+                    appendCsvField(csv, brand.getName()).append(',');
+                    appendCsvField(csv, SearchText.normalize(brand.getName())).append(',');
+                    appendCsvField(csv, brand.getCountry()).append(',');
+                    appendCsvField(csv, brand.getFoundedYear()).append(',');
+                    appendCsvField(csv, brand.getWebsite()).append(',');
+                    appendCsvField(csv, brand.getDescription()).append(',');
+                    appendCsvField(csv, Boolean.TRUE.equals(brand.getDeleted())).append(',');
+                    appendCsvField(csv, now).append(',');
+                    appendCsvField(csv, now).append('\n');
+                }
+                copyIn(connection, "brand", BRAND_COLUMNS, csv);
+            } else {
+                batchInsert(connection, "brand", BRAND_COLUMNS, brands, (statement, brand) -> {
+                    statement.setString(1, brand.getName());
+                    statement.setString(2, SearchText.normalize(brand.getName()));
+                    statement.setString(3, brand.getCountry());
+                    statement.setObject(4, brand.getFoundedYear(), Types.INTEGER);
+                    statement.setString(5, brand.getWebsite());
+                    statement.setString(6, brand.getDescription());
+                    statement.setBoolean(7, Boolean.TRUE.equals(brand.getDeleted()));
+                    statement.setTimestamp(8, Timestamp.valueOf(now));
+                    statement.setTimestamp(9, Timestamp.valueOf(now));
+                });
+            }
+            return null;
+        });
+    }
+
+    private void writeProducts(List<Product> products) {
+        var now = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (isPostgres(connection)) {
+                var csv = new StringBuilder(products.size() * 64);
+                for (Product product : products) {
+                    appendCsvField(csv, product.getName()).append(',');
+                    appendCsvField(csv, SearchText.normalize(product.getName())).append(',');
+                    appendCsvField(csv, product.getBrand().getId()).append(',');
+                    appendCsvField(csv, product.getQuantity()).append(',');
+                    appendCsvField(csv, product.getPrice()).append(',');
+                    appendCsvField(csv, Boolean.TRUE.equals(product.getDeleted())).append(',');
+                    appendCsvField(csv, now).append(',');
+                    appendCsvField(csv, now).append('\n');
+                }
+                copyIn(connection, "product", PRODUCT_COLUMNS, csv);
+            } else {
+                batchInsert(connection, "product", PRODUCT_COLUMNS, products, (statement, product) -> {
+                    statement.setString(1, product.getName());
+                    statement.setString(2, SearchText.normalize(product.getName()));
+                    statement.setLong(3, product.getBrand().getId());
+                    statement.setInt(4, product.getQuantity());
+                    statement.setDouble(5, product.getPrice());
+                    statement.setBoolean(6, Boolean.TRUE.equals(product.getDeleted()));
+                    statement.setTimestamp(7, Timestamp.valueOf(now));
+                    statement.setTimestamp(8, Timestamp.valueOf(now));
+                });
+            }
+            return null;
+        });
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    private static void copyIn(Connection connection, String table, String columns, CharSequence csv) throws SQLException {
+        var sql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+        try {
+            var rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+            log.debug("Copied {} rows into {}", rows, table);
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table + " failed", e);
+        }
+    }
+
+    private static <T> void batchInsert(Connection connection, String table, String columns, List<T> rows, RowBinder<T> binder) throws SQLException {
+        var placeholders = "?" + ", ?".repeat(columns.split(",").length - 1);
+        try (var statement = connection.prepareStatement("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")")) {
+            for (T row : rows) {
+                binder.bind(statement, row);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Appends a value in PostgreSQL CSV format: {@code null} is an unquoted empty field, text is always
+     * quoted with embedded quotes doubled.
+     */
+    private static StringBuilder appendCsvField(StringBuilder csv, Object value) {
+        if (value == null) {
+            return csv;
+        }
+        if (!(value instanceof String text)) {
+            return csv.append(value);
+        }
+        csv.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
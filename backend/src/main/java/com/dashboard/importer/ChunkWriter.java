@@ -0,0 +1,11 @@
+package com.dashboard.importer;
+
+import java.util.List;
+
+/**
+ * Persists one chunk of parsed entities, in its own transaction.
+ */
+@FunctionalInterface
+public interface ChunkWriter<T> {
+    void write(List<T> chunk);
+}
@@ -0,0 +1,181 @@
+package com.dashboard.importer;
+
+import com.dashboard.parser.CsvEntityParser;
+import com.dashboard.util.CsvRecord;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Streams CSV rows through a parser and persists the result in fixed-size chunks, one transaction
+ * per chunk, clearing the persistence context in between so memory stays flat regardless of file size.
+ * <p>
+ * The calling thread reads raw rows and writes parsed chunks in file order, while each chunk is parsed
+ * in parallel on a fork-join pool of {@link ImportProperties#getParseWorkers()} threads. At most
+ * {@value #MAX_CHUNKS_IN_FLIGHT} chunks are held at once, so the next chunk is parsed while the current
+ * one is written.
+ */
+@Slf4j
+@Component
+public class CsvImporter {
+    private static final MemoryMXBean MEMORY_MX_BEAN = ManagementFactory.getMemoryMXBean();
+    private static final int MAX_CHUNKS_IN_FLIGHT = 2;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportProperties importProperties;
+
+    public CsvImporter(EntityManager entityManager, PlatformTransactionManager transactionManager, ImportProperties importProperties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importProperties = importProperties;
+    }
+
+    public <T, ID> ImportReport importRows(
+        String tableName,
+        Stream<String[]> rows,
+        CsvEntityParser<T> parser,
+        JpaRepository<T, ID> repository
+    ) {
+        return importRows(tableName, rows, parser, jpaWriter(repository), 1, ImportListener.NONE);
+    }
+
+    public <T> ImportReport importRows(
+        String tableName,
+        Stream<String[]> rows,
+        CsvEntityParser<T> parser,
+        ChunkWriter<T> writer,
+        long firstRowNumber,
+        ImportListener listener
+    ) {
+        return importRecords(tableName, rows.map(CsvRecord::of), parser, writer, firstRowNumber, listener);
+    }
+
+    /**
+     * @param firstRowNumber number reported for the first row of {@code records}; greater than one when
+     *                       resuming after rows that were already committed
+     */
+    public <T> ImportReport importRecords(
+        String tableName,
+        Stream<? extends CsvRecord> records,
+        CsvEntityParser<T> parser,
+        ChunkWriter<T> writer,
+        long firstRowNumber,
+        ImportListener listener
+    ) {
+        var startNanos = System.nanoTime();
+        var batchSize = Math.max(1, importProperties.getBatchSize());
+        var parsePool = new ForkJoinPool(importProperties.getEffectiveParseWorkers());
+        Deque<CompletableFuture<ParsedChunk<T>>> inFlight = new ArrayDeque<>();
+        var progress = new Progress();
+
+        try {
+            Iterator<? extends CsvRecord> iterator = records.iterator();
+            long nextRowNumber = firstRowNumber;
+            while (iterator.hasNext()) {
+                List<CsvRecord> rawChunk = new ArrayList<>(batchSize);
+                while (rawChunk.size() < batchSize && iterator.hasNext()) {
+                    rawChunk.add(iterator.next());
+                }
+
+                var chunkFirstRowNumber = nextRowNumber;
+                nextRowNumber += rawChunk.size();
+                inFlight.add(CompletableFuture.supplyAsync(() -> parseChunk(rawChunk, chunkFirstRowNumber, parser, listener), parsePool));
+
+                if (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+                    writeChunk(inFlight.poll().join(), writer, progress, listener);
+                }
+            }
+
+            while (!inFlight.isEmpty()) {
+                writeChunk(inFlight.poll().join(), writer, progress, listener);
+            }
+        } finally {
+            parsePool.shutdownNow();
+        }
+
+        var elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return new ImportReport(tableName, progress.imported, progress.skipped, elapsedMillis, progress.peakHeapBytes);
+    }
+
+    private <T> ParsedChunk<T> parseChunk(List<CsvRecord> rawChunk, long firstRowNumber, CsvEntityParser<T> parser, ImportListener listener) {
+        Object[] parsed = new Object[rawChunk.size()];
+        IntStream.range(0, rawChunk.size())
+            .parallel()
+            .forEach(i -> parsed[i] = parseRow(parser, rawChunk.get(i), firstRowNumber + i, listener));
+
+        List<T> entities = new ArrayList<>(parsed.length);
+        for (Object entity : parsed) {
+            if (entity != null) {
+                @SuppressWarnings("unchecked")
+                T typedEntity = (T) entity;
+                entities.add(typedEntity);
+            }
+        }
+        return new ParsedChunk<>(entities, parsed.length - entities.size(), firstRowNumber + parsed.length - 1);
+    }
+
+    private <T> T parseRow(CsvEntityParser<T> parser, CsvRecord row, long rowNumber, ImportListener listener) {
+        try {
+            var result = parser.parse(row);
+            if (result.isValid()) {
+                return result.getValue();
+            }
+            var message = result.getMessage();
+            if (!result.isReportedInBulk()) {
+                log.warn("Can not import row {}. Error message: {}", rowNumber, message);
+            }
+            listener.onRowSkipped(rowNumber, message);
+            return null;
+        } catch (Exception exception) {
+            log.warn("Can not import row {}. Error message: {}", rowNumber, exception.getMessage());
+            listener.onRowSkipped(rowNumber, exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes chunks with {@code saveAll}, flushing and clearing the persistence context after each one.
+     */
+    public <T, ID> ChunkWriter<T> jpaWriter(JpaRepository<T, ID> repository) {
+        return chunk -> transactionTemplate.executeWithoutResult(status -> {
+            repository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private <T> void writeChunk(ParsedChunk<T> chunk, ChunkWriter<T> writer, Progress progress, ImportListener listener) {
+        if (!chunk.entities().isEmpty()) {
+            writer.write(chunk.entities());
+        }
+        progress.imported += chunk.entities().size();
+        progress.skipped += chunk.skipped();
+        progress.peakHeapBytes = Math.max(progress.peakHeapBytes, MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed());
+        listener.onChunkCommitted(chunk.lastRowNumber(), chunk.entities().size(), chunk.skipped());
+    }
+
+    private record ParsedChunk<T>(List<T> entities, long skipped, long lastRowNumber) {
+    }
+
+    private static class Progress {
+        private long imported;
+        private long skipped;
+        private long peakHeapBytes = MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,168 @@
+package com.dashboard.importer;
+
+import com.dashboard.dto.ImportJobStatusDTO;
+import com.dashboard.dto.ImportRowErrorDTO;
+import com.dashboard.dto.SyncSummaryDTO;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of one background CSV import. Counters only move forward when a chunk is committed, so after
+ * a failure {@link #getCheckpointRow()} is the last row whose outcome is persisted and a resumed attempt
+ * can continue from the row after it. A {@link ImportMode#SYNC} job compares the whole file with the live
+ * catalog, so each of its attempts starts over from the first row instead.
+ */
+public class ImportJob implements ImportListener {
+    @Getter
+    private final String id;
+    @Getter
+    private final ImportJobType type;
+    @Getter
+    private final ImportMode mode;
+    @Getter
+    private final Path sourceFile;
+    private final String fileName;
+    private final int maxErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+    private long importedRows;
+    private long skippedRows;
+    private long checkpointRow;
+    private long attemptStartRow;
+    private long attemptStartNanos;
+    private long attemptEndNanos;
+    private int attempts;
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private Map<String, Long> unknownBrands = Map.of();
+    private SyncSummaryDTO syncSummary;
+    private String failureMessage;
+    private LocalDateTime finishedAt;
+
+    public ImportJob(String id, ImportJobType type, Path sourceFile, String fileName, int maxErrors) {
+        this(id, type, ImportMode.APPEND, sourceFile, fileName, maxErrors);
+    }
+
+    public ImportJob(String id, ImportJobType type, ImportMode mode, Path sourceFile, String fileName, int maxErrors) {
+        this.id = id;
+        this.type = type;
+        this.mode = mode;
+        this.sourceFile = sourceFile;
+        this.fileName = fileName;
+        this.maxErrors = maxErrors;
+    }
+
+    public synchronized long getCheckpointRow() {
+        return checkpointRow;
+    }
+
+    /**
+     * When the last attempt completed or failed; {@code null} while the job is queued or running.
+     */
+    public synchronized LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public synchronized void markQueued() {
+        status = ImportJobStatus.QUEUED;
+        failureMessage = null;
+        finishedAt = null;
+    }
+
+    public synchronized void markRunning() {
+        status = ImportJobStatus.RUNNING;
+        attempts++;
+        if (mode == ImportMode.SYNC) {
+            importedRows = 0;
+            skippedRows = 0;
+            checkpointRow = 0;
+            errorsTruncated = false;
+            syncSummary = null;
+        }
+        attemptStartRow = checkpointRow;
+        attemptStartNanos = System.nanoTime();
+        attemptEndNanos = 0;
+        // errors reported for rows past the checkpoint belong to a chunk that was never committed
+        errors.removeIf(error -> error.getRow() > checkpointRow);
+    }
+
+    public synchronized void markCompleted() {
+        status = ImportJobStatus.COMPLETED;
+        attemptEndNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized void markFailed(String message) {
+        status = ImportJobStatus.FAILED;
+        failureMessage = message;
+        attemptEndNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized void setUnknownBrands(Map<String, Long> unknownBrands) {
+        this.unknownBrands = Map.copyOf(unknownBrands);
+    }
+
+    public synchronized void setSyncSummary(SyncSummaryDTO syncSummary) {
+        this.syncSummary = syncSummary;
+    }
+
+    @Override
+    public synchronized void onRowSkipped(long rowNumber, String message) {
+        if (errors.size() >= maxErrors) {
+            errorsTruncated = true;
+            return;
+        }
+        errors.add(new ImportRowErrorDTO(rowNumber, message));
+    }
+
+    @Override
+    public synchronized void onChunkCommitted(long lastRowNumber, long imported, long skipped) {
+        importedRows += imported;
+        skippedRows += skipped;
+        checkpointRow = lastRowNumber;
+    }
+
+    public synchronized ImportJobStatusDTO toStatusDTO() {
+        var endNanos = attemptEndNanos > 0 ? attemptEndNanos : System.nanoTime();
+        var elapsedMillis = attemptStartNanos > 0 ? (endNanos - attemptStartNanos) / 1_000_000 : 0;
+        var attemptRows = checkpointRow - attemptStartRow;
+        var rowsPerSecond = elapsedMillis > 0 ? attemptRows * 1000 / elapsedMillis : 0;
+
+        List<ImportRowErrorDTO> sortedErrors = errors.stream()
+            .sorted(Comparator.comparing(ImportRowErrorDTO::getRow))
+            .toList();
+
+        return new ImportJobStatusDTO(
+            id,
+            type,
+            mode,
+            status,
+            fileName,
+            checkpointRow,
+            importedRows,
+            skippedRows,
+            checkpointRow,
+            rowsPerSecond,
+            attempts,
+            sortedErrors,
+            errorsTruncated,
+            unknownBrands,
+            syncSummary,
+            failureMessage,
+            createdAt,
+            finishedAt
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.dashboard.importer;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.dashboard.importer;
+
+public enum ImportJobType {
+    BRAND,
+    PRODUCT
+}
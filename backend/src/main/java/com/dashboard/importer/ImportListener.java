@@ -0,0 +1,20 @@
+package com.dashboard.importer;
+
+/**
+ * Receives progress callbacks from {@link CsvImporter}. {@link #onRowSkipped} may be called
+ * concurrently from parse workers; {@link #onChunkCommitted} is called in file order once a chunk
+ * has been committed, so its row number can be used as a resume checkpoint.
+ */
+public interface ImportListener {
+    ImportListener NONE = new ImportListener() {
+    };
+
+    /**
+     * @param message the field errors of the row, or the message of an unexpected parser failure
+     */
+    default void onRowSkipped(long rowNumber, String message) {
+    }
+
+    default void onChunkCommitted(long lastRowNumber, long imported, long skipped) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.dashboard.importer;
+
+public enum ImportMode {
+    /**
+     * Inserts every valid row of the file, resuming after the last committed chunk on failure.
+     */
+    APPEND,
+    /**
+     * Treats the file as the full catalog: only new and changed products are written and active products
+     * missing from the file are soft-deleted. See {@link ProductCatalogSync}.
+     */
+    SYNC
+}
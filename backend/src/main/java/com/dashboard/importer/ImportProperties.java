@@ -0,0 +1,95 @@
+package com.dashboard.importer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+    /**
+     * Number of parsed entities written and flushed per transaction. The persistence context is
+     * cleared after every chunk, so this bounds the number of managed entities held in memory.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of worker threads parsing rows in parallel. Zero or less means one per available core.
+     */
+    private int parseWorkers = 0;
+
+    /**
+     * How brand and product chunks are written. Users are always written through JPA.
+     */
+    private LoaderMode loader = LoaderMode.BULK;
+
+    /**
+     * Number of upload import jobs that may run at the same time.
+     */
+    private int jobThreads = 2;
+
+    /**
+     * Directory where uploaded files are kept until their import job has completed.
+     */
+    private String workDir = System.getProperty("java.io.tmpdir") + "/product-dashboard-imports";
+
+    /**
+     * Maximum number of per-row errors kept for each import job.
+     */
+    private int maxJobErrors = 1000;
+
+    /**
+     * How long a finished (completed or failed) upload job stays queryable and resumable before it is
+     * forgotten, together with the spooled file of a failed one.
+     */
+    private Duration jobRetention = Duration.ofHours(24);
+
+    /**
+     * Finished upload jobs kept at most; past it the ones that finished first are forgotten early.
+     */
+    private int maxFinishedJobs = 500;
+
+    private final Watch watch = new Watch();
+
+    public int getEffectiveParseWorkers() {
+        return parseWorkers > 0 ? parseWorkers : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Getter
+    @Setter
+    public static class Watch {
+
+        /**
+         * Whether to ingest CSV files dropped into {@link #directory}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory watched for {@code brands*.csv} and {@code products*.csv} files. Files should be written
+         * under another name (e.g. {@code .part}), which is ignored, and renamed once complete.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/product-dashboard-drop";
+
+        /**
+         * How long a CSV file's size and modification time must stay unchanged before it is ingested, so a file
+         * still being copied in under its final name is not read half-written; zero ingests right away.
+         */
+        private Duration quietPeriod = Duration.ofSeconds(2);
+
+        /**
+         * Where ingested files are moved; relative paths resolve against {@link #directory}.
+         */
+        private String doneDirectory = "done";
+
+        /**
+         * Where files that could not be ingested are moved; relative paths resolve against {@link #directory}.
+         */
+        private String failedDirectory = "failed";
+    }
+}
@@ -0,0 +1,25 @@
+package com.dashboard.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImportReport {
+    private final String tableName;
+    private final long imported;
+    private final long skipped;
+    private final long elapsedMillis;
+    private final long peakHeapBytes;
+
+    public long getRowsPerSecond() {
+        if (elapsedMillis == 0) {
+            return imported + skipped;
+        }
+        return (imported + skipped) * 1000 / elapsedMillis;
+    }
+
+    public long getPeakHeapMegabytes() {
+        return peakHeapBytes / (1024 * 1024);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dashboard.importer;
+
+public enum LoaderMode {
+    /**
+     * {@code saveAll} through the JPA repositories; one INSERT per row because ids use IDENTITY.
+     */
+    JPA,
+    /**
+     * {@code COPY ... FROM STDIN} on PostgreSQL, batched JDBC inserts on other databases (H2 in dev/test).
+     * Bypasses entity callbacks, so the loader sets audit columns itself.
+     */
+    BULK
+}
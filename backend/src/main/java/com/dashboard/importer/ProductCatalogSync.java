@@ -0,0 +1,257 @@
+package com.dashboard.importer;
+
+import com.dashboard.dto.SyncSummaryDTO;
+import com.dashboard.model.Product;
+import com.dashboard.parser.CsvEntityParser;
+import com.dashboard.parser.ProductCsvParser;
+import com.dashboard.util.CsvRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Makes the active product catalog match a supplier's full product file while writing only the difference.
+ * <p>
+ * The live set is loaded once as (brand id, name) mapped to id, quantity and price in cents, which are the
+ * only fields a file can change. The file then streams through {@link CsvImporter} and each parsed chunk is
+ * diffed against that snapshot in memory: new keys go through {@link BulkLoader}, changed rows are updated
+ * in one JDBC batch per chunk and unchanged rows cost no write at all. Once the whole file has been read,
+ * active products it did not mention are soft-deleted with set-based {@code UPDATE ... WHERE id IN (...)}
+ * statements.
+ * <p>
+ * If the file repeats a key, its last row wins. A product whose row is invalid is kept, since the file says
+ * nothing reliable about it, and a file without a single valid row deletes nothing. Active duplicates that
+ * already exist in the table are collapsed: the oldest row is matched and the others are soft-deleted.
+ */
+@Slf4j
+@Component
+public class ProductCatalogSync {
+    private static final int SNAPSHOT_FETCH_SIZE = 10_000;
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final String SNAPSHOT_SQL =
+        "SELECT id, brand_id, name, quantity, price FROM product WHERE deleted = false ORDER BY id";
+    private static final String UPDATE_BY_ID_SQL =
+        "UPDATE product SET quantity = ?, price = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_BY_KEY_SQL =
+        "UPDATE product SET quantity = ?, price = ?, updated_at = ? WHERE brand_id = ? AND name = ? AND deleted = false";
+
+    private final CsvImporter csvImporter;
+    private final BulkLoader bulkLoader;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductCatalogSync(
+        CsvImporter csvImporter,
+        BulkLoader bulkLoader,
+        DataSource dataSource,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.csvImporter = csvImporter;
+        this.bulkLoader = bulkLoader;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(SNAPSHOT_FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Result sync(Stream<? extends CsvRecord> records, BrandResolver brandResolver, ImportListener listener) {
+        var snapshot = loadSnapshot();
+        log.info("Loaded {} active products to sync against", snapshot.live().size() + snapshot.duplicateIds().size());
+
+        Set<ProductKey> invalidKeys = ConcurrentHashMap.newKeySet();
+        var parser = new ProductCsvParser(brandResolver);
+        CsvEntityParser<Product> keyTrackingParser = row -> {
+            var result = parser.parse(row);
+            if (!result.isValid()) {
+                keyOf(row, brandResolver).ifPresent(invalidKeys::add);
+            }
+            return result;
+        };
+
+        var counts = new Counts();
+        var report = csvImporter.importRecords("product", records, keyTrackingParser,
+            chunk -> applyChunk(chunk, snapshot.live(), counts), 1, listener);
+
+        if (report.getImported() == 0) {
+            log.warn("Product sync file had no valid rows; nothing is soft-deleted");
+        } else {
+            softDeleteMissing(snapshot, invalidKeys, counts);
+        }
+
+        var summary = new SyncSummaryDTO(counts.inserted, counts.updated, counts.unchanged, counts.deleted, counts.kept);
+        log.info("Synced products. Inserted: {}, Updated: {}, Unchanged: {}, Deleted: {}, Kept: {}",
+            counts.inserted, counts.updated, counts.unchanged, counts.deleted, counts.kept);
+        return new Result(report, summary);
+    }
+
+    private Snapshot loadSnapshot() {
+        Map<ProductKey, LiveProduct> live = new HashMap<>();
+        List<Long> duplicateIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SNAPSHOT_SQL, resultSet -> {
+            var id = resultSet.getLong("id");
+            var key = new ProductKey(resultSet.getLong("brand_id"), resultSet.getString("name"));
+            var product = new LiveProduct(id, resultSet.getInt("quantity"), toCents(resultSet.getDouble("price")));
+            if (live.putIfAbsent(key, product) != null) {
+                duplicateIds.add(id);
+            }
+        }));
+        return new Snapshot(live, duplicateIds);
+    }
+
+    private void applyChunk(List<Product> chunk, Map<ProductKey, LiveProduct> live, Counts counts) {
+        // the last row of a key wins, so repeated keys within a chunk collapse before diffing
+        Map<ProductKey, Product> latest = new LinkedHashMap<>();
+        chunk.forEach(product -> latest.put(ProductKey.of(product), product));
+
+        List<Product> inserts = new ArrayList<>();
+        List<Product> updatesById = new ArrayList<>();
+        List<Product> updatesByKey = new ArrayList<>();
+        var unchanged = chunk.size() - latest.size();
+        for (var entry : latest.entrySet()) {
+            var product = entry.getValue();
+            var cents = toCents(product.getPrice());
+            var current = live.get(entry.getKey());
+            if (current == null) {
+                inserts.add(product);
+                var inserted = new LiveProduct(LiveProduct.NOT_YET_KNOWN, product.getQuantity(), cents);
+                inserted.seen = true;
+                live.put(entry.getKey(), inserted);
+                continue;
+            }
+
+            current.seen = true;
+            if (current.quantity == product.getQuantity() && current.priceCents == cents) {
+                unchanged++;
+                continue;
+            }
+            current.quantity = product.getQuantity();
+            current.priceCents = cents;
+            if (current.id == LiveProduct.NOT_YET_KNOWN) {
+                // inserted by an earlier chunk of this file, so only its natural key is known
+                updatesByKey.add(product);
+            } else {
+                product.setId(current.id);
+                updatesById.add(product);
+            }
+        }
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!inserts.isEmpty()) {
+                bulkLoader.productWriter().write(inserts);
+            }
+            jdbcTemplate.batchUpdate(UPDATE_BY_ID_SQL, updatesById, updatesById.size(), (statement, product) -> {
+                statement.setInt(1, product.getQuantity());
+                statement.setDouble(2, product.getPrice());
+                statement.setTimestamp(3, now);
+                statement.setLong(4, product.getId());
+            });
+            jdbcTemplate.batchUpdate(UPDATE_BY_KEY_SQL, updatesByKey, updatesByKey.size(), (statement, product) -> {
+                statement.setInt(1, product.getQuantity());
+                statement.setDouble(2, product.getPrice());
+                statement.setTimestamp(3, now);
+                statement.setLong(4, product.getBrand().getId());
+                statement.setString(5, product.getName());
+            });
+        });
+
+        counts.inserted += inserts.size();
+        counts.updated += updatesById.size() + updatesByKey.size();
+        counts.unchanged += unchanged;
+        log.debug("Synced product chunk: {} inserted, {} updated, {} unchanged",
+            inserts.size(), updatesById.size() + updatesByKey.size(), unchanged);
+    }
+
+    private void softDeleteMissing(Snapshot snapshot, Set<ProductKey> invalidKeys, Counts counts) {
+        List<Long> ids = new ArrayList<>(snapshot.duplicateIds());
+        snapshot.live().forEach((key, product) -> {
+            if (product.seen) {
+                return;
+            }
+            if (invalidKeys.contains(key)) {
+                counts.kept++;
+            } else {
+                ids.add(product.id);
+            }
+        });
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Collections.sort(ids);
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+                var batch = ids.subList(from, Math.min(ids.size(), from + DELETE_BATCH_SIZE));
+                var sql = "UPDATE product SET deleted = true, updated_at = ? WHERE id IN (?" + ", ?".repeat(batch.size() - 1) + ")";
+                var args = new Object[batch.size() + 1];
+                args[0] = now;
+                for (int i = 0; i < batch.size(); i++) {
+                    args[i + 1] = batch.get(i);
+                }
+                jdbcTemplate.update(sql, args);
+            }
+        });
+        counts.deleted = ids.size();
+    }
+
+    /**
+     * The key an invalid row would have had, so the product it refers to is not soft-deleted.
+     */
+    private static Optional<ProductKey> keyOf(CsvRecord row, BrandResolver brandResolver) {
+        if (row.size() < 2) {
+            return Optional.empty();
+        }
+        var name = row.get(0).trim();
+        return brandResolver.peek(row.get(1).trim()).map(brand -> new ProductKey(brand.getId(), name));
+    }
+
+    private static long toCents(double price) {
+        // compared the way NUMERIC(8,2) stores it, so 19.999 in the file matches 20.00 in the table
+        return Math.round(price * 100);
+    }
+
+    public record Result(ImportReport report, SyncSummaryDTO summary) {
+    }
+
+    private record Snapshot(Map<ProductKey, LiveProduct> live, List<Long> duplicateIds) {
+    }
+
+    private static final class LiveProduct {
+        private static final long NOT_YET_KNOWN = 0;
+
+        private final long id;
+        private int quantity;
+        private long priceCents;
+        private boolean seen;
+
+        private LiveProduct(long id, int quantity, long priceCents) {
+            this.id = id;
+            this.quantity = quantity;
+            this.priceCents = priceCents;
+        }
+    }
+
+    private static class Counts {
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long deleted;
+        private long kept;
+    }
+}
@@ -0,0 +1,12 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Product;
+
+/**
+ * Natural key of an active product, the same pair {@code ProductService} keeps unique.
+ */
+record ProductKey(Long brandId, String name) {
+    static ProductKey of(Product product) {
+        return new ProductKey(product.getBrand().getId(), product.getName());
+    }
+}
@@ -0,0 +1,41 @@
+package com.dashboard.importer;
+
+import com.dashboard.dto.ImportRowErrorDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the first {@code maxErrors} skipped rows reported by {@link CsvImporter}, for runs that only need the
+ * row errors, such as a validation dry run.
+ */
+public class RowErrorCollector implements ImportListener {
+    private final int maxErrors;
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private boolean truncated;
+
+    public RowErrorCollector(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public synchronized void onRowSkipped(long rowNumber, String message) {
+        if (errors.size() >= maxErrors) {
+            truncated = true;
+            return;
+        }
+        errors.add(new ImportRowErrorDTO(rowNumber, message));
+    }
+
+    /**
+     * The collected errors in row order; parse workers report them as they finish.
+     */
+    public synchronized List<ImportRowErrorDTO> getErrors() {
+        return errors.stream().sorted(Comparator.comparing(ImportRowErrorDTO::getRow)).toList();
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,158 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import com.dashboard.model.Users;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.UsersRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Applies chunks on top of existing rows, matched by natural key: brand name, product (brand, name) among
+ * active products, and username. New keys are inserted, changed rows are updated in place and rows that
+ * are missing from the chunk are left alone, so a seed file can be re-applied without deleting anything.
+ * Each chunk costs one indexed lookup query, independent of table size.
+ * <p>
+ * Soft-deleted brands keep their deleted flag, and existing users keep their password; only their role
+ * follows the seed.
+ */
+@Slf4j
+@Component
+public class UpsertLoader {
+    private final BrandRepository brandRepository;
+    private final ProductRepository productRepository;
+    private final UsersRepository usersRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public UpsertLoader(
+        BrandRepository brandRepository,
+        ProductRepository productRepository,
+        UsersRepository usersRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.brandRepository = brandRepository;
+        this.productRepository = productRepository;
+        this.usersRepository = usersRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ChunkWriter<Brand> brandWriter() {
+        return chunk -> inTransaction("brand", () -> {
+            Set<String> names = new HashSet<>();
+            chunk.forEach(brand -> names.add(brand.getName()));
+            Map<String, Brand> existing = new HashMap<>();
+            brandRepository.findByNameIn(names).forEach(brand -> existing.put(brand.getName(), brand));
+
+            var counts = new int[2];
+            List<Brand> inserts = new ArrayList<>();
+            for (Brand brand : chunk) {
+                var current = existing.get(brand.getName());
+                if (current == null) {
+                    inserts.add(brand);
+                    existing.put(brand.getName(), brand);
+                } else if (!Objects.equals(current.getCountry(), brand.getCountry())
+                    || !Objects.equals(current.getFoundedYear(), brand.getFoundedYear())
+                    || !Objects.equals(current.getWebsite(), brand.getWebsite())
+                    || !Objects.equals(current.getDescription(), brand.getDescription())) {
+                    current.setCountry(brand.getCountry());
+                    current.setFoundedYear(brand.getFoundedYear());
+                    current.setWebsite(brand.getWebsite());
+                    current.setDescription(brand.getDescription());
+                    counts[1]++;
+                }
+            }
+            brandRepository.saveAll(inserts);
+            counts[0] = inserts.size();
+            return counts;
+        });
+    }
+
+    public ChunkWriter<Product> productWriter() {
+        return chunk -> inTransaction("product", () -> {
+            Set<Long> brandIds = new HashSet<>();
+            Set<String> names = new HashSet<>();
+            chunk.forEach(product -> {
+                brandIds.add(product.getBrand().getId());
+                names.add(product.getName());
+            });
+            Map<ProductKey, Product> existing = new HashMap<>();
+            productRepository.findActiveByBrandIdInAndNameIn(brandIds, names)
+                .forEach(product -> existing.putIfAbsent(ProductKey.of(product), product));
+
+            var counts = new int[2];
+            List<Product> inserts = new ArrayList<>();
+            for (Product product : chunk) {
+                var current = existing.get(ProductKey.of(product));
+                if (current == null) {
+                    inserts.add(product);
+                    existing.put(ProductKey.of(product), product);
+                } else if (!Objects.equals(current.getQuantity(), product.getQuantity())
+                    || !Objects.equals(current.getPrice(), product.getPrice())) {
+                    current.setQuantity(product.getQuantity());
+                    current.setPrice(product.getPrice());
+                    counts[1]++;
+                }
+            }
+            productRepository.saveAll(inserts);
+            counts[0] = inserts.size();
+            return counts;
+        });
+    }
+
+    public ChunkWriter<Users> usersWriter() {
+        return chunk -> inTransaction("users", () -> {
+            Set<String> usernames = new HashSet<>();
+            chunk.forEach(user -> usernames.add(user.getUsername()));
+            Map<String, Users> existing = new HashMap<>();
+            usersRepository.findByUsernameIn(usernames).forEach(user -> existing.put(user.getUsername(), user));
+
+            var counts = new int[2];
+            List<Users> inserts = new ArrayList<>();
+            for (Users user : chunk) {
+                var current = existing.get(user.getUsername());
+                if (current == null) {
+                    inserts.add(user);
+                    existing.put(user.getUsername(), user);
+                } else if (current.getRole() != user.getRole()) {
+                    current.setRole(user.getRole());
+                    counts[1]++;
+                }
+            }
+            usersRepository.saveAll(inserts);
+            counts[0] = inserts.size();
+            return counts;
+        });
+    }
+
+    /**
+     * Runs one chunk in a transaction; {@code work} returns the number of inserted and updated rows.
+     */
+    private void inTransaction(String tableName, Supplier<int[]> work) {
+        var counts = transactionTemplate.execute(status -> {
+            var result = work.get();
+            entityManager.flush();
+            entityManager.clear();
+            return result;
+        });
+        if (counts != null) {
+            log.debug("Upserted {} chunk: {} inserted, {} updated", tableName, counts[0], counts[1]);
+        }
+    }
+}
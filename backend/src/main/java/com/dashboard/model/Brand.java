@@ -1,5 +1,6 @@
 package com.dashboard.model;
 
+import com.dashboard.util.SearchText;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -24,6 +25,13 @@ public class Brand {
     @Column(name = "name", unique = true, nullable = false)
     private String name;
 
+    /**
+     * {@link #name} in lower case, kept by the application so case-insensitive searches can use an index.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_lower")
+    private String nameLower;
+
     @Column(name = "country")
     private String country;
 
@@ -46,4 +54,10 @@ public class Brand {
 
     @Column(name = "deleted", nullable = false, columnDefinition = "BOOLEAN DEFAULT false")
     private Boolean deleted = false;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        nameLower = SearchText.normalize(name);
+    }
+}
@@ -1,10 +1,13 @@
 package com.dashboard.model;
 
+import com.dashboard.util.SearchText;
 import jakarta.persistence.*;
 import lombok.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -24,6 +27,13 @@ public class Product {
     @Column(name = "name", nullable = false)
     private String name;
 
+    /**
+     * {@link #name} in lower case, kept by the application so case-insensitive searches can use an index.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_lower")
+    private String nameLower;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "brand_id", nullable = false)
@@ -33,8 +43,13 @@ public class Product {
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
+    /**
+     * Bound as NUMERIC like the column, so PostgreSQL compares {@code price} with search and cursor values as
+     * is; bound as float8 it would cast the column, and the price indexes could not bound the scan.
+     */
     @NotNull
-    @Column(name = "price", nullable = false)
+    @JdbcTypeCode(SqlTypes.NUMERIC)
+    @Column(name = "price", nullable = false, precision = 8, scale = 2)
     private Double price;
 
     @CreationTimestamp
@@ -47,4 +62,10 @@ public class Product {
 
     @Column(name = "deleted", nullable = false, columnDefinition = "BOOLEAN DEFAULT false")
     private Boolean deleted = false;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        nameLower = SearchText.normalize(name);
+    }
+}
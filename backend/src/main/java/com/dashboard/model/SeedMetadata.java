@@ -0,0 +1,25 @@
+package com.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Builder
+@Table(name = "seed_metadata")
+public class SeedMetadata {
+    @Id
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -1,43 +1,56 @@
 package com.dashboard.parser;
 
-import com.dashboard.exception.InvalidFormatException;
-import com.dashboard.exception.ValidationException;
 import com.dashboard.model.Brand;
+import com.dashboard.parser.ParseResult.ErrorCode;
+import com.dashboard.parser.ParseResult.FieldError;
+import com.dashboard.util.CsvRecord;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
+
 public class BrandCsvParser implements CsvEntityParser<Brand> {
+    private static final int EXPECTED_COLUMNS = 5;
+    private static final int MAX_YEAR = 9999;
+
     @Override
-    public Brand parse(String[] row) {
-        var expectedColumns = 5;
-        if (row.length < expectedColumns) {
-            throw new InvalidFormatException(String.format("Invalid brand column number. Actual: %d, expected: %d", row.length, expectedColumns));
+    public ParseResult<Brand> parse(CsvRecord row) {
+        if (row.size() < EXPECTED_COLUMNS) {
+            return ParseResult.invalid("row", ErrorCode.COLUMN_COUNT, row.size() + " of " + EXPECTED_COLUMNS);
         }
+        List<FieldError> errors = null;
 
-        var name = row[0].trim();
-        if (StringUtils.isBlank(name)) {
-            throw new ValidationException("Brand name cannot be blank");
+        if (row.isBlank(0)) {
+            errors = ParseResult.addError(errors, "name", ErrorCode.REQUIRED, null);
         }
 
-        var foundedYearString = row[2].trim();
         Integer foundedYear = null;
-        if (StringUtils.isNotBlank(foundedYearString)) {
-            if (!StringUtils.isNumeric(foundedYearString)) {
-                throw new InvalidFormatException(String.format("Invalid brand founded year '%s'", foundedYearString));
+        if (!row.isBlank(2)) {
+            var year = row.parseNonNegativeInt(2);
+            if (year == CsvRecord.NOT_A_NUMBER) {
+                errors = ParseResult.addError(errors, "foundedYear", ErrorCode.NOT_A_NUMBER, row.get(2).trim());
+            } else if (year == CsvRecord.OUT_OF_RANGE || year > MAX_YEAR) {
+                errors = ParseResult.addError(errors, "foundedYear", ErrorCode.OUT_OF_RANGE, row.get(2).trim());
+            } else {
+                foundedYear = (int) year;
             }
-            foundedYear = Integer.parseInt(foundedYearString);
         }
 
-        var country = StringUtils.defaultIfBlank(row[1].trim(), null);
-        var website = StringUtils.defaultIfBlank(row[3].trim(), null);
-        var description = StringUtils.defaultIfBlank(row[4].trim(), null);
+        if (errors != null) {
+            return ParseResult.invalid(errors);
+        }
+
+        var name = row.get(0).trim();
+        var country = StringUtils.defaultIfBlank(row.get(1).trim(), null);
+        var website = StringUtils.defaultIfBlank(row.get(3).trim(), null);
+        var description = StringUtils.defaultIfBlank(row.get(4).trim(), null);
 
-        return Brand.builder()
+        return ParseResult.ok(Brand.builder()
             .name(name)
             .country(country)
             .foundedYear(foundedYear)
             .website(website)
             .description(description)
             .deleted(false)
-            .build();
+            .build());
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,15 @@
 package com.dashboard.parser;
 
+import com.dashboard.util.CsvRecord;
+
 public interface CsvEntityParser<T> {
-    T parse(String[] row);
-}
\ No newline at end of file
+    /**
+     * Parses one CSV row. Invalid rows are returned as a {@link ParseResult} carrying every field error
+     * found in the row; parsers do not throw for bad input.
+     */
+    ParseResult<T> parse(CsvRecord row);
+
+    default ParseResult<T> parse(String[] row) {
+        return parse(CsvRecord.of(row));
+    }
+}
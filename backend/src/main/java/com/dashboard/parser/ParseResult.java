@@ -0,0 +1,90 @@
+package com.dashboard.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of parsing one CSV row: either the parsed entity or the field errors found in the row. Errors are
+ * plain values, so a bad row costs no exception and no formatted message unless {@link #getMessage()} is
+ * asked for.
+ */
+public final class ParseResult<T> {
+    private final T value;
+    private final List<FieldError> errors;
+
+    private ParseResult(T value, List<FieldError> errors) {
+        this.value = value;
+        this.errors = errors;
+    }
+
+    public static <T> ParseResult<T> ok(T value) {
+        return new ParseResult<>(value, List.of());
+    }
+
+    public static <T> ParseResult<T> invalid(List<FieldError> errors) {
+        return new ParseResult<>(null, List.copyOf(errors));
+    }
+
+    public static <T> ParseResult<T> invalid(String field, ErrorCode code, String detail) {
+        return new ParseResult<>(null, List.of(new FieldError(field, code, detail)));
+    }
+
+    /**
+     * Appends an error, allocating the list on the first one so valid rows allocate nothing.
+     */
+    public static List<FieldError> addError(List<FieldError> errors, String field, ErrorCode code, String detail) {
+        var result = errors == null ? new ArrayList<FieldError>(2) : errors;
+        result.add(new FieldError(field, code, detail));
+        return result;
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * True when every error is an {@link ErrorCode#UNKNOWN_REFERENCE}, which the parser tallies and reports
+     * once per import instead of once per row.
+     */
+    public boolean isReportedInBulk() {
+        return !errors.isEmpty() && errors.stream().allMatch(error -> error.code() == ErrorCode.UNKNOWN_REFERENCE);
+    }
+
+    public String getMessage() {
+        return errors.stream().map(FieldError::getMessage).collect(Collectors.joining("; "));
+    }
+
+    public enum ErrorCode {
+        COLUMN_COUNT("has too few columns"),
+        REQUIRED("cannot be blank"),
+        NOT_A_NUMBER("is not a number"),
+        OUT_OF_RANGE("is out of range"),
+        INVALID_VALUE("is not a valid value"),
+        UNKNOWN_REFERENCE("does not exist");
+
+        private final String description;
+
+        ErrorCode(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * @param detail the offending value, or {@code null} when the value itself is not worth repeating
+     */
+    public record FieldError(String field, ErrorCode code, String detail) {
+        public String getMessage() {
+            var message = field + " " + code.description;
+            return detail == null ? message : message + " '" + detail + "'";
+        }
+    }
+}
@@ -1,65 +1,68 @@
 package com.dashboard.parser;
 
-import com.dashboard.exception.InvalidFormatException;
-import com.dashboard.exception.NotFoundException;
-import com.dashboard.exception.ValidationException;
+import com.dashboard.importer.BrandResolver;
 import com.dashboard.model.Brand;
 import com.dashboard.model.Product;
-import com.dashboard.repository.BrandRepository;
-import org.apache.commons.lang3.StringUtils;
+import com.dashboard.parser.ParseResult.ErrorCode;
+import com.dashboard.parser.ParseResult.FieldError;
+import com.dashboard.util.CsvRecord;
 
-import java.util.Optional;
+import java.util.List;
 
 public class ProductCsvParser implements CsvEntityParser<Product>{
+    private static final int EXPECTED_COLUMNS = 4;
 
-    private final BrandRepository brandRepository;
+    private final BrandResolver brandResolver;
 
-    public ProductCsvParser(BrandRepository brandRepository) {
-        this.brandRepository = brandRepository;
+    public ProductCsvParser(BrandResolver brandResolver) {
+        this.brandResolver = brandResolver;
     }
 
     @Override
-    public Product parse(String[] row) {
-        var expectedColumns = 4;
-        if (row.length < expectedColumns) {
-            throw new InvalidFormatException(String.format("Invalid product column number. Actual: %d, expected: %d", row.length, expectedColumns));
+    public ParseResult<Product> parse(CsvRecord row) {
+        if (row.size() < EXPECTED_COLUMNS) {
+            return ParseResult.invalid("row", ErrorCode.COLUMN_COUNT, row.size() + " of " + EXPECTED_COLUMNS);
         }
+        List<FieldError> errors = null;
 
-        var name = row[0].trim();
-        if (StringUtils.isBlank(name)) {
-            throw new ValidationException("Product name cannot be blank");
+        var name = row.get(0).trim();
+        if (name.isEmpty()) {
+            errors = ParseResult.addError(errors, "name", ErrorCode.REQUIRED, null);
         }
 
-        String brandName = row[1].trim();
-        if (StringUtils.isBlank(brandName)) {
-            throw new ValidationException("Brand name cannot be blank");
+        String brandName = row.get(1).trim();
+        Brand brand = null;
+        if (brandName.isEmpty()) {
+            errors = ParseResult.addError(errors, "brand", ErrorCode.REQUIRED, null);
+        } else {
+            brand = brandResolver.resolve(brandName).orElse(null);
+            if (brand == null) {
+                errors = ParseResult.addError(errors, "brand", ErrorCode.UNKNOWN_REFERENCE, brandName);
+            }
         }
 
-        Optional<Brand> optionalBrand = brandRepository.findByNameAndDeleted(brandName, false);
-        if (optionalBrand.isEmpty()) {
-            throw new NotFoundException(String.format("Brand not found for name '%s'", brandName));
+        var quantity = row.parseNonNegativeInt(2);
+        if (quantity == CsvRecord.NOT_A_NUMBER) {
+            errors = ParseResult.addError(errors, "quantity", ErrorCode.NOT_A_NUMBER, row.get(2).trim());
+        } else if (quantity == CsvRecord.OUT_OF_RANGE) {
+            errors = ParseResult.addError(errors, "quantity", ErrorCode.OUT_OF_RANGE, row.get(2).trim());
         }
 
-        var quantityString = row[2].trim();
-        if (!StringUtils.isNumeric(quantityString)) {
-            throw new InvalidFormatException(String.format("Invalid quantity '%s'", quantityString));
+        var price = row.parseDecimal(3);
+        if (Double.isNaN(price)) {
+            errors = ParseResult.addError(errors, "price", ErrorCode.NOT_A_NUMBER, row.get(3).trim());
         }
-        var quantity = Integer.parseInt(quantityString);
 
-        var priceString = row[3].trim();
-        double price;
-        try {
-            price = Double.parseDouble(priceString);
-        } catch (NumberFormatException e) {
-            throw new InvalidFormatException(String.format("Invalid price '%s'", priceString));
+        if (errors != null) {
+            return ParseResult.invalid(errors);
         }
 
-        return Product.builder()
+        return ParseResult.ok(Product.builder()
             .name(name)
-            .brand(optionalBrand.get())
-            .quantity(quantity)
+            .brand(brand)
+            .quantity((int) quantity)
             .price(price)
             .deleted(false)
-            .build();
+            .build());
     }
 }
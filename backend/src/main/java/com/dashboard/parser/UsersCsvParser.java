@@ -1,51 +1,94 @@
 package com.dashboard.parser;
 
-import com.dashboard.exception.InvalidFormatException;
-import com.dashboard.exception.ValidationException;
-import com.dashboard.model.Users;
 import com.dashboard.model.UserRole;
+import com.dashboard.model.Users;
+import com.dashboard.parser.ParseResult.ErrorCode;
+import com.dashboard.parser.ParseResult.FieldError;
+import com.dashboard.util.CsvRecord;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Parses user rows, hashing plain-text passwords with the shared application {@link PasswordEncoder}. Rows
+ * whose password is already a BCrypt hash are stored as is. The encoder must be thread-safe: the importer
+ * calls {@link #parse} from its parse pool, which is what spreads the hashing cost over the available cores.
+ * <p>
+ * Rows of users that are already stored are not hashed at all and come back without a password: upserts keep
+ * the stored password, and a user without one cannot be inserted by mistake.
+ */
 public class UsersCsvParser implements CsvEntityParser<Users>{
+    private static final int EXPECTED_COLUMNS = 3;
+    private static final Map<String, UserRole> ROLES_BY_NAME = Arrays.stream(UserRole.values())
+        .collect(Collectors.toUnmodifiableMap(UserRole::name, Function.identity()));
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final Predicate<String> storedUser;
+
+    public UsersCsvParser(PasswordEncoder passwordEncoder) {
+        this(passwordEncoder, username -> false);
+    }
+
+    /**
+     * @param storedUser whether a username is already stored; called from the parse pool
+     */
+    public UsersCsvParser(PasswordEncoder passwordEncoder, Predicate<String> storedUser) {
+        this.passwordEncoder = passwordEncoder;
+        this.storedUser = storedUser;
+    }
 
     @Override
-    public Users parse(String[] row) {
-        var expectedColumns = 3;
-        if (row.length < expectedColumns) {
-            throw new InvalidFormatException(String.format("Invalid user column number. Actual: %d, expected: %d", row.length, expectedColumns));
+    public ParseResult<Users> parse(CsvRecord row) {
+        if (row.size() < EXPECTED_COLUMNS) {
+            return ParseResult.invalid("row", ErrorCode.COLUMN_COUNT, row.size() + " of " + EXPECTED_COLUMNS);
         }
+        List<FieldError> errors = null;
 
-        var username = row[0].trim();
+        var username = row.get(0).trim();
         if (StringUtils.isBlank(username)) {
-            throw new ValidationException("Username cannot be blank");
+            errors = ParseResult.addError(errors, "username", ErrorCode.REQUIRED, null);
         }
 
-        String password = row[1].trim();
+        String password = row.get(1).trim();
         if (StringUtils.isBlank(password)) {
-            throw new ValidationException("Password cannot be blank");
+            errors = ParseResult.addError(errors, "password", ErrorCode.REQUIRED, null);
         }
 
-        String role = row[2].trim();
+        String role = row.get(2).trim();
+        UserRole userRole = null;
         if (StringUtils.isBlank(role)) {
-            throw new ValidationException("Role cannot be blank");
+            errors = ParseResult.addError(errors, "role", ErrorCode.REQUIRED, null);
+        } else {
+            userRole = ROLES_BY_NAME.get(role.toUpperCase());
+            if (userRole == null) {
+                errors = ParseResult.addError(errors, "role", ErrorCode.INVALID_VALUE, role);
+            }
         }
 
-        UserRole userRole;
-        try {
-            userRole = UserRole.valueOf(role.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException("Invalid role: " + role);
+        if (errors != null) {
+            return ParseResult.invalid(errors);
         }
 
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        String encodedPassword = passwordEncoder.encode(password);
+        String encodedPassword;
+        if (storedUser.test(username)) {
+            encodedPassword = null;
+        } else {
+            encodedPassword = BCRYPT_HASH.matcher(password).matches() ? password : passwordEncoder.encode(password);
+        }
 
-        return Users.builder()
+        return ParseResult.ok(Users.builder()
             .username(username)
             .password(encodedPassword)
             .role(userRole)
             .deleted(false)
-            .build();
+            .build());
     }
 }
@@ -3,20 +3,30 @@ package com.dashboard.repository;
 import com.dashboard.model.Brand;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BrandRepository extends JpaRepository<Brand, Long> {
+public interface BrandRepository extends JpaRepository<Brand, Long>, BrandSearchRepository {
     Page<Brand> findByDeleted(boolean deleted, Pageable pageable);
+    Slice<Brand> findSliceByDeleted(boolean deleted, Pageable pageable);
     Optional<Brand> findByIdAndDeleted(Long id, Boolean deleted);
     Optional<Brand> findByNameAndDeleted(String name, Boolean deleted);
     boolean existsByNameAndDeleted(String name, Boolean deleted);
+    List<Brand> findByNameIn(Collection<String> names);
+
+    @Query("SELECT b.id, b.name FROM Brand b WHERE b.deleted = :deleted")
+    List<Object[]> findIdAndNameByDeleted(@Param("deleted") boolean deleted);
+
     @Transactional
     @Modifying
     @Query("UPDATE Brand b SET b.deleted = true WHERE b.id = :id")
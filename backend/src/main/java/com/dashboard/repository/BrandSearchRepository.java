@@ -0,0 +1,13 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.BrandResponseDTO;
+import com.dashboard.dto.CursorPageDTO;
+import org.springframework.data.domain.Sort;
+
+public interface BrandSearchRepository {
+    /**
+     * Keyset-pages brand responses, starting after {@code cursor} (from the start when it is blank). Sorts by
+     * {@code id} or {@code name}; {@code sort} only applies to the first page.
+     */
+    CursorPageDTO<BrandResponseDTO> findResponsesByDeletedAfter(boolean deleted, String cursor, int size, Sort sort);
+}
@@ -0,0 +1,51 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.BrandResponseDTO;
+import com.dashboard.dto.CursorPageDTO;
+import com.dashboard.model.Brand;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class BrandSearchRepositoryImpl implements BrandSearchRepository {
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public CursorPageDTO<BrandResponseDTO> findResponsesByDeletedAfter(boolean deleted, String cursor, int size, Sort sort) {
+        var position = Keyset.position(cursor, sort, size, SORTABLE_PROPERTIES);
+        var cb = entityManager.getCriteriaBuilder();
+
+        var query = cb.createQuery(BrandResponseDTO.class);
+        var brand = query.from(Brand.class);
+        Path<?> key = brand.get(position.property());
+        Path<Long> id = brand.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(deleted ? cb.isTrue(brand.get("deleted")) : cb.isFalse(brand.get("deleted")));
+        if (!position.isStart()) {
+            predicates.add(Keyset.after(cb, position, key, id));
+        }
+        query.select(cb.construct(BrandResponseDTO.class, brand.get("id"), brand.get("name"), brand.get("country"),
+                brand.get("foundedYear"), brand.get("website"), brand.get("description")))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(Keyset.orders(cb, position, key, id));
+
+        // one extra row tells whether there is a next page
+        var rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, size, null);
+        }
+        var content = rows.subList(0, size);
+        var last = content.get(size - 1);
+        var next = position.after(position.property().equals("name") ? last.getName() : last.getId(), last.getId());
+        return new CursorPageDTO<>(List.copyOf(content), size, next.encode());
+    }
+}
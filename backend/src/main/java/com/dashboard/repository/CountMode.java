@@ -0,0 +1,20 @@
+package com.dashboard.repository;
+
+/**
+ * How a paged listing reports its total.
+ */
+public enum CountMode {
+    /**
+     * Exact {@code totalElements}; product counts are cached per filter until the next product write.
+     */
+    EXACT,
+    /**
+     * Row estimate from the PostgreSQL planner statistics, without running the count. Exact on other
+     * databases and for brands.
+     */
+    ESTIMATE,
+    /**
+     * No total at all: the response is a slice that only tells whether there is a next page.
+     */
+    NONE
+}
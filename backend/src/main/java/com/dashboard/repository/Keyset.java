@@ -0,0 +1,104 @@
+package com.dashboard.repository;
+
+import com.dashboard.exception.ValidationException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria building blocks for keyset (seek) pagination. Rows are ordered by one sort property and then by
+ * id, both in the same direction, and the next page starts after the last row of the previous one instead
+ * of skipping an OFFSET, so every page costs the same and concurrent writes do not shift rows between pages.
+ */
+final class Keyset {
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final String ID = "id";
+
+    private Keyset() {
+    }
+
+    /**
+     * Where the page starts: after the decoded token if there is one (its sort wins over {@code sort}),
+     * otherwise at the beginning, sorted by the single requested property (id ascending by default).
+     */
+    static KeysetCursor position(String token, Sort sort, int size, Collection<String> sortableProperties) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (token != null && !token.isBlank()) {
+            var cursor = KeysetCursor.decode(token);
+            if (!sortableProperties.contains(cursor.property()) || cursor.isStart()) {
+                throw new ValidationException("Invalid cursor: " + token);
+            }
+            return cursor;
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return KeysetCursor.start(ID, Sort.Direction.ASC);
+        }
+        var first = orders.get(0);
+        var idTiebreaker = orders.size() == 2 && orders.get(1).getProperty().equals(ID)
+            && orders.get(1).getDirection() == first.getDirection();
+        if (orders.size() > 2 || orders.size() == 2 && !idTiebreaker) {
+            throw new ValidationException("Cursor pagination sorts by one property, optionally followed by id in the same direction");
+        }
+        if (!sortableProperties.contains(first.getProperty())) {
+            throw new ValidationException("Cannot sort by '" + first.getProperty()
+                + "'. Sortable properties: " + String.join(", ", sortableProperties.stream().sorted().toList()));
+        }
+        return KeysetCursor.start(first.getProperty(), first.getDirection());
+    }
+
+    /**
+     * Rows after the cursor. Written as {@code key >= :value AND (key > :value OR id > :id)} rather than
+     * only the OR, so the database can start an index range scan at {@code :value}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Predicate after(CriteriaBuilder cb, KeysetCursor cursor, Path<?> key, Path<Long> id) {
+        var ascending = cursor.direction().isAscending();
+        if (cursor.property().equals(ID)) {
+            return ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+        }
+        var keyExpression = (Expression<Comparable>) key;
+        var value = parse(cursor, key.getJavaType());
+        return ascending
+            ? cb.and(cb.greaterThanOrEqualTo(keyExpression, value), cb.or(cb.greaterThan(keyExpression, value), cb.greaterThan(id, cursor.id())))
+            : cb.and(cb.lessThanOrEqualTo(keyExpression, value), cb.or(cb.lessThan(keyExpression, value), cb.lessThan(id, cursor.id())));
+    }
+
+    static List<Order> orders(CriteriaBuilder cb, KeysetCursor cursor, Path<?> key, Path<Long> id) {
+        var ascending = cursor.direction().isAscending();
+        if (cursor.property().equals(ID)) {
+            return List.of(ascending ? cb.asc(id) : cb.desc(id));
+        }
+        return ascending ? List.of(cb.asc(key), cb.asc(id)) : List.of(cb.desc(key), cb.desc(id));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parse(KeysetCursor cursor, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return cursor.value();
+            }
+            if (type == Double.class || type == double.class) {
+                return Double.valueOf(cursor.value());
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(cursor.value());
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(cursor.value());
+            }
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor value: " + cursor.value());
+        }
+        throw new IllegalStateException("Unsupported keyset type " + type.getName() + " of " + cursor.property());
+    }
+}
@@ -0,0 +1,46 @@
+package com.dashboard.repository;
+
+import com.dashboard.exception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paged listing: the sort property and direction, plus the sort value and id of the
+ * last row already returned. Clients only see it as an opaque, URL-safe token. A cursor without an id
+ * points before the first row.
+ */
+public record KeysetCursor(String property, Sort.Direction direction, String value, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor start(String property, Sort.Direction direction) {
+        return new KeysetCursor(property, direction, null, null);
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    public KeysetCursor after(Object value, Long id) {
+        return new KeysetCursor(property, direction, String.valueOf(value), id);
+    }
+
+    public String encode() {
+        // the value goes last, so it may contain the separator
+        var raw = String.join(SEPARATOR, property, direction.name(), String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Expected 4 parts, got " + parts.length);
+            }
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[3], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+}
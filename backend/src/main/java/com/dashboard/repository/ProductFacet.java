@@ -0,0 +1,40 @@
+package com.dashboard.repository;
+
+import com.dashboard.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Counts that can be asked for next to a page of products with {@code facets=}.
+ */
+public enum ProductFacet {
+    /**
+     * Matching products per brand name.
+     */
+    BRAND("brand"),
+    /**
+     * Matching products per price range, with the ranges bounded by {@code app.search.price-buckets}.
+     */
+    PRICE_BUCKET("priceBucket");
+
+    private final String parameter;
+
+    ProductFacet(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public static Set<ProductFacet> parse(Collection<String> parameters) {
+        var facets = EnumSet.noneOf(ProductFacet.class);
+        for (String parameter : parameters) {
+            var facet = Arrays.stream(values()).filter(value -> value.parameter.equalsIgnoreCase(parameter.trim())).findFirst()
+                .orElseThrow(() -> new ValidationException("Unknown facet '" + parameter + "'. Facets: "
+                    + Arrays.stream(values()).map(value -> value.parameter).collect(Collectors.joining(", "))));
+            facets.add(facet);
+        }
+        return facets;
+    }
+}
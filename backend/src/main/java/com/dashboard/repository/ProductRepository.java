@@ -1,21 +1,27 @@
 package com.dashboard.repository;
 
+import com.dashboard.dto.ProductResponseDTO;
 import com.dashboard.model.Brand;
 import com.dashboard.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductSearchRepository {
     Page<Product> findByDeleted(boolean deleted, Pageable pageable);
     Optional<Product> findByIdAndDeleted(Long id, Boolean deleted);
     Optional<Product> findByBrandAndNameAndDeletedFalse(Brand brand, String name);
@@ -28,22 +34,26 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     void setDeletedTrueById(Long id);
 
     @Query("""
-    SELECT p FROM Product p
-    WHERE p.deleted = :deleted
-    AND (:name = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))
-    AND (:brand = '' OR LOWER(p.brand.name) = LOWER(:brand))
-    AND (:minPrice IS NULL OR p.price >= :minPrice)
-    AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+    SELECT new com.dashboard.dto.ProductResponseDTO(p.id, p.name, b.name, p.quantity, p.price)
+    FROM Product p JOIN p.brand b
+    WHERE p.id = :id AND p.deleted = :deleted
     """)
-    Page<Product> searchProducts(
-        @Param("deleted") boolean deleted,
-        @Param("name") String name,
-        @Param("brand") String brand,
-        @Param("minPrice") Double minPrice,
-        @Param("maxPrice") Double maxPrice,
-        Pageable pageable
+    Optional<ProductResponseDTO> findResponseByIdAndDeleted(@Param("id") Long id, @Param("deleted") boolean deleted);
+
+    @Query("SELECT p FROM Product p WHERE p.deleted = false AND p.brand.id IN :brandIds AND p.name IN :names")
+    List<Product> findActiveByBrandIdInAndNameIn(
+        @Param("brandIds") Collection<Long> brandIds,
+        @Param("names") Collection<String> names
     );
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT p.id, p.nameLower FROM Product p WHERE p.deleted = false")
+    Stream<Object[]> streamActiveIdAndNameLower();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT p.id, p.name FROM Product p WHERE p.deleted = false")
+    Stream<Object[]> streamActiveIdAndName();
+
     @Query("SELECT p.brand.name, COUNT(p) FROM Product p GROUP BY p.brand.name")
     List<Object[]> countProductsGroupedByBrand();
 }
\ No newline at end of file
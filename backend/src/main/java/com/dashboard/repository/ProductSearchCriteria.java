@@ -0,0 +1,36 @@
+package com.dashboard.repository;
+
+import com.dashboard.util.SearchText;
+
+import java.util.List;
+
+/**
+ * Filters of the product list. Blank text filters and {@code null} bounds mean "not filtered"; only the
+ * filters that are set end up in the query. Text filters are normalized like the {@code name_lower} columns
+ * they are matched against, so equal searches have equal criteria.
+ * <p>
+ * {@code productIds}, when set, restricts the search to those products in place of the name filter; it
+ * carries name matches already resolved by the in-memory name index.
+ */
+public record ProductSearchCriteria(boolean deleted, String name, String brand, Double minPrice, Double maxPrice, List<Long> productIds) {
+    public ProductSearchCriteria {
+        name = name == null || name.isBlank() ? null : SearchText.normalize(name);
+        brand = brand == null || brand.isBlank() ? null : SearchText.normalize(brand);
+        productIds = productIds == null ? null : List.copyOf(productIds);
+    }
+
+    public ProductSearchCriteria(boolean deleted, String name, String brand, Double minPrice, Double maxPrice) {
+        this(deleted, name, brand, minPrice, maxPrice, null);
+    }
+
+    public ProductSearchCriteria withProductIds(List<Long> productIds) {
+        return new ProductSearchCriteria(deleted, null, brand, minPrice, maxPrice, productIds);
+    }
+
+    /**
+     * Whether the name (or the ids standing in for it) is the only filter.
+     */
+    public boolean filtersOnlyByName() {
+        return brand == null && minPrice == null && maxPrice == null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.CursorPageDTO;
+import com.dashboard.dto.ProductFacetsDTO;
+import com.dashboard.dto.ProductResponseDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+public interface ProductSearchRepository {
+    /**
+     * Pages product responses matching {@code criteria}. Sorting is limited to
+     * {@link ProductSearchRepositoryImpl#SORTABLE_PROPERTIES}; other properties are rejected.
+     */
+    Page<ProductResponseDTO> searchProductResponses(ProductSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Like {@link #searchProductResponses(ProductSearchCriteria, Pageable)}, with the total taken from
+     * {@code total}, which is only called when the page alone does not tell it.
+     */
+    Page<ProductResponseDTO> searchProductResponses(ProductSearchCriteria criteria, Pageable pageable, LongSupplier total);
+
+    /**
+     * Pages product responses without counting them; the slice only tells whether there is a next page.
+     */
+    Slice<ProductResponseDTO> searchProductResponseSlice(ProductSearchCriteria criteria, Pageable pageable);
+
+    long countProductResponses(ProductSearchCriteria criteria);
+
+    long estimateProductResponses(ProductSearchCriteria criteria);
+
+    /**
+     * Counts the products matching {@code criteria} per brand and per price bucket with one grouped query.
+     * {@code priceBounds} are the ascending bucket boundaries; {@code n} bounds make {@code n + 1} buckets.
+     */
+    ProductFacetsDTO facetProductResponses(ProductSearchCriteria criteria, Set<ProductFacet> facets, List<Double> priceBounds);
+
+    /**
+     * Keyset-pages product responses matching {@code criteria}, starting after {@code cursor} (from the start
+     * when it is blank). {@code sort} takes one sortable property and only applies to the first page; later
+     * pages keep the sort encoded in the cursor.
+     */
+    CursorPageDTO<ProductResponseDTO> searchProductResponsesAfter(ProductSearchCriteria criteria, String cursor, int size, Sort sort);
+}
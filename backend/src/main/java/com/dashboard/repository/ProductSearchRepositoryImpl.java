@@ -0,0 +1,359 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.BrandProductCountDTO;
+import com.dashboard.dto.CursorPageDTO;
+import com.dashboard.dto.PriceBucketCountDTO;
+import com.dashboard.dto.ProductFacetsDTO;
+import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.exception.ValidationException;
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import com.dashboard.util.SearchText;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Builds the product search from the filters that are actually set, so each combination gets its own
+ * statement (and plan) instead of one statement guarded by {@code :param IS NULL OR ...} for all of them. The
+ * count query only joins brand when filtering by brand, and is skipped when the first page is not full.
+ */
+@RequiredArgsConstructor
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+    /**
+     * API sort property to the column it orders by.
+     */
+    static final Map<String, BiFunction<Root<Product>, Join<Product, Brand>, Path<?>>> SORTABLE_PROPERTIES = Map.of(
+        "id", (product, brand) -> product.get("id"),
+        "name", (product, brand) -> product.get("name"),
+        "brandName", (product, brand) -> brand.get("name"),
+        "quantity", (product, brand) -> product.get("quantity"),
+        "price", (product, brand) -> product.get("price")
+    );
+
+    /**
+     * API sort property to its value in a result row, for the next keyset cursor.
+     */
+    private static final Map<String, Function<ProductResponseDTO, Object>> KEYSET_VALUES = Map.of(
+        "id", ProductResponseDTO::getId,
+        "name", ProductResponseDTO::getName,
+        "brandName", ProductResponseDTO::getBrandName,
+        "quantity", ProductResponseDTO::getQuantity,
+        "price", ProductResponseDTO::getPrice
+    );
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    /**
+     * Parameter holding {@link ProductSearchCriteria#productIds()} as one array, see {@link #bindProductIds}.
+     */
+    private static final String PRODUCT_IDS = "productIds";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<ProductResponseDTO> searchProductResponses(ProductSearchCriteria criteria, Pageable pageable) {
+        return searchProductResponses(criteria, pageable, () -> countProductResponses(criteria));
+    }
+
+    @Override
+    public Page<ProductResponseDTO> searchProductResponses(ProductSearchCriteria criteria, Pageable pageable, LongSupplier total) {
+        var query = contentQuery(criteria, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, total);
+    }
+
+    @Override
+    public Slice<ProductResponseDTO> searchProductResponseSlice(ProductSearchCriteria criteria, Pageable pageable) {
+        var query = contentQuery(criteria, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        // one extra row tells whether there is a next page
+        var rows = query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1).getResultList();
+        var hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? List.copyOf(rows.subList(0, pageable.getPageSize())) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countProductResponses(ProductSearchCriteria criteria) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var product = query.from(Product.class);
+        var brand = criteria.brand() != null ? product.<Product, Brand>join("brand") : null;
+        query.select(cb.count(product)).where(predicates(cb, criteria, product, brand));
+        return bindProductIds(entityManager.createQuery(query), criteria).getSingleResult();
+    }
+
+    /**
+     * Asks the PostgreSQL planner how many rows the search would return, which costs a plan but no scan.
+     * Counts exactly on other databases, and when the search is limited to a list of ids anyway.
+     */
+    @Override
+    public long estimateProductResponses(ProductSearchCriteria criteria) {
+        if (criteria.productIds() != null) {
+            return countProductResponses(criteria);
+        }
+        Long estimate = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            List<Object> parameters = new ArrayList<>();
+            var sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM product p");
+            if (criteria.brand() != null) {
+                sql.append(" JOIN brand b ON b.id = p.brand_id");
+            }
+            appendWhere(sql, parameters, criteria);
+            try (var statement = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return planRows(resultSet.getString(1));
+                }
+            }
+        });
+        return estimate != null ? estimate : countProductResponses(criteria);
+    }
+
+    /**
+     * Native SQL with the bucket bounds inlined: bound as parameters, the grouped and the selected bucket
+     * expression would be separate parameters and PostgreSQL would not see them as the same expression.
+     */
+    @Override
+    public ProductFacetsDTO facetProductResponses(ProductSearchCriteria criteria, Set<ProductFacet> facets, List<Double> priceBounds) {
+        var byBrand = facets.contains(ProductFacet.BRAND);
+        var byPrice = facets.contains(ProductFacet.PRICE_BUCKET);
+        if (!byBrand && !byPrice) {
+            return new ProductFacetsDTO(null, null);
+        }
+        List<String> columns = new ArrayList<>();
+        if (byBrand) {
+            columns.add("b.name");
+        }
+        if (byPrice) {
+            var bucket = new StringBuilder("CASE");
+            for (int i = 0; i < priceBounds.size(); i++) {
+                bucket.append(" WHEN p.price < ").append(priceBounds.get(i).doubleValue()).append(" THEN ").append(i);
+            }
+            columns.add(bucket.append(" ELSE ").append(priceBounds.size()).append(" END").toString());
+        }
+        List<Object> parameters = new ArrayList<>();
+        var sql = new StringBuilder("SELECT ").append(String.join(", ", columns)).append(", COUNT(*) FROM product p");
+        if (byBrand || criteria.brand() != null) {
+            sql.append(" JOIN brand b ON b.id = p.brand_id");
+        }
+        appendWhere(sql, parameters, criteria);
+        sql.append(" GROUP BY ").append(String.join(", ", columns));
+
+        var query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        Map<String, Long> brandCounts = new HashMap<>();
+        var bucketCounts = new long[priceBounds.size() + 1];
+        // no statement for a name that matched nothing
+        List<?> rows = criteria.productIds() != null && criteria.productIds().isEmpty() ? List.of() : query.getResultList();
+        for (Object row : rows) {
+            var values = (Object[]) row;
+            var count = ((Number) values[values.length - 1]).longValue();
+            if (byBrand) {
+                brandCounts.merge((String) values[0], count, Long::sum);
+            }
+            if (byPrice) {
+                bucketCounts[((Number) values[byBrand ? 1 : 0]).intValue()] += count;
+            }
+        }
+
+        List<BrandProductCountDTO> brands = null;
+        if (byBrand) {
+            brands = brandCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> new BrandProductCountDTO(entry.getKey(), entry.getValue()))
+                .toList();
+        }
+        List<PriceBucketCountDTO> buckets = null;
+        if (byPrice) {
+            buckets = new ArrayList<>(bucketCounts.length);
+            for (int i = 0; i < bucketCounts.length; i++) {
+                buckets.add(new PriceBucketCountDTO(
+                    i == 0 ? null : priceBounds.get(i - 1),
+                    i == priceBounds.size() ? null : priceBounds.get(i),
+                    bucketCounts[i]));
+            }
+        }
+        return new ProductFacetsDTO(brands, buckets);
+    }
+
+    /**
+     * WHERE clause of the native statements, matching {@link #predicates}; expects brand joined as {@code b}
+     * when filtering by brand.
+     */
+    private static void appendWhere(StringBuilder sql, List<Object> parameters, ProductSearchCriteria criteria) {
+        sql.append(criteria.deleted() ? " WHERE p.deleted" : " WHERE NOT p.deleted");
+        if (criteria.name() != null) {
+            sql.append(" AND p.name_lower LIKE ? ESCAPE '\\'");
+            parameters.add(containsPattern(criteria.name()));
+        }
+        if (criteria.productIds() != null) {
+            sql.append(" AND p.id = ANY(?)");
+            parameters.add(criteria.productIds().toArray(Long[]::new));
+        }
+        if (criteria.brand() != null) {
+            sql.append(" AND b.name_lower = ?");
+            parameters.add(criteria.brand());
+        }
+        // bound as NUMERIC like the column, see Product#price
+        if (criteria.minPrice() != null) {
+            sql.append(" AND p.price >= ?");
+            parameters.add(BigDecimal.valueOf(criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            sql.append(" AND p.price <= ?");
+            parameters.add(BigDecimal.valueOf(criteria.maxPrice()));
+        }
+    }
+
+    @Override
+    public CursorPageDTO<ProductResponseDTO> searchProductResponsesAfter(ProductSearchCriteria criteria, String cursor, int size, Sort sort) {
+        var position = Keyset.position(cursor, sort, size, SORTABLE_PROPERTIES.keySet());
+        var cb = entityManager.getCriteriaBuilder();
+
+        var query = cb.createQuery(ProductResponseDTO.class);
+        var product = query.from(Product.class);
+        Join<Product, Brand> brand = product.join("brand");
+        var key = SORTABLE_PROPERTIES.get(position.property()).apply(product, brand);
+        Path<Long> id = product.get("id");
+        var predicates = new ArrayList<>(List.of(predicates(cb, criteria, product, brand)));
+        if (!position.isStart()) {
+            predicates.add(Keyset.after(cb, position, key, id));
+        }
+        query.select(cb.construct(ProductResponseDTO.class,
+                product.get("id"), product.get("name"), brand.get("name"), product.get("quantity"), product.get("price")))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(Keyset.orders(cb, position, key, id));
+
+        // one extra row tells whether there is a next page
+        var rows = bindProductIds(entityManager.createQuery(query), criteria).setMaxResults(size + 1).getResultList();
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, size, null);
+        }
+        var content = rows.subList(0, size);
+        var last = content.get(size - 1);
+        var next = position.after(KEYSET_VALUES.get(position.property()).apply(last), last.getId());
+        return new CursorPageDTO<>(List.copyOf(content), size, next.encode());
+    }
+
+    private TypedQuery<ProductResponseDTO> contentQuery(ProductSearchCriteria criteria, Sort sort) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(ProductResponseDTO.class);
+        var product = query.from(Product.class);
+        Join<Product, Brand> brand = product.join("brand");
+        query.select(cb.construct(ProductResponseDTO.class,
+                product.get("id"), product.get("name"), brand.get("name"), product.get("quantity"), product.get("price")))
+            .where(predicates(cb, criteria, product, brand))
+            .orderBy(orders(cb, sort, product, brand));
+        return bindProductIds(entityManager.createQuery(query), criteria);
+    }
+
+    /**
+     * Binds the id filter of {@link #predicates} as a single array parameter rather than one parameter per id,
+     * so any number of ids shares one statement.
+     */
+    private static <T> TypedQuery<T> bindProductIds(TypedQuery<T> query, ProductSearchCriteria criteria) {
+        if (criteria.productIds() != null) {
+            query.setParameter(PRODUCT_IDS, criteria.productIds().toArray(Long[]::new));
+        }
+        return query;
+    }
+
+    static long planRows(String jsonPlan) {
+        try {
+            return Math.round(JSON.readTree(jsonPlan).get(0).get("Plan").get("Plan Rows").asDouble());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected EXPLAIN output: " + jsonPlan, e);
+        }
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, ProductSearchCriteria criteria, Root<Product> product, From<Product, Brand> brand) {
+        List<Predicate> predicates = new ArrayList<>();
+        // a literal rather than a parameter, so PostgreSQL can match the partial indexes on NOT deleted
+        predicates.add(criteria.deleted() ? cb.isTrue(product.get("deleted")) : cb.isFalse(product.get("deleted")));
+        if (criteria.name() != null) {
+            predicates.add(cb.like(product.get("nameLower"), containsPattern(criteria.name()), '\\'));
+        }
+        if (criteria.productIds() != null) {
+            predicates.add(cb.isTrue(cb.function(SearchFunctions.ID_IN, Boolean.class,
+                product.get("id"), cb.parameter(Long[].class, PRODUCT_IDS))));
+        }
+        if (criteria.brand() != null) {
+            predicates.add(cb.equal(brand.get("nameLower"), SearchText.normalize(criteria.brand())));
+        }
+        if (criteria.minPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), criteria.maxPrice()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    /**
+     * Orders by the requested whitelisted properties, then by id so pages never overlap or skip rows.
+     */
+    private static List<Order> orders(CriteriaBuilder cb, Sort sort, Root<Product> product, Join<Product, Brand> brand) {
+        List<Order> orders = new ArrayList<>();
+        var sortedById = false;
+        for (Sort.Order order : sort) {
+            var path = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (path == null) {
+                throw new ValidationException("Cannot sort products by '" + order.getProperty()
+                    + "'. Sortable properties: " + String.join(", ", SORTABLE_PROPERTIES.keySet().stream().sorted().toList()));
+            }
+            var expression = path.apply(product, brand);
+            orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+            sortedById |= order.getProperty().equals("id");
+        }
+        if (!sortedById) {
+            orders.add(cb.asc(product.get("id")));
+        }
+        return orders;
+    }
+
+    private static String containsPattern(String text) {
+        var escaped = SearchText.normalize(text)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
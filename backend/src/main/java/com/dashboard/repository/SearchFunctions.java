@@ -0,0 +1,26 @@
+package com.dashboard.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * SQL functions the criteria searches use beyond what JPA offers; registered through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class SearchFunctions implements FunctionContributor {
+    /**
+     * {@code id_in(p.id, ids)}: whether the id is in an array bound as one parameter. An id list bound element
+     * by element gives every list length its own statement and can run into the driver's parameter limit.
+     */
+    static final String ID_IN = "id_in";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry()
+            .patternDescriptorBuilder(ID_IN, "(?1 = any(?2))")
+            .setExactArgumentCount(2)
+            .setInvariantType(functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN))
+            .register();
+    }
+}
@@ -0,0 +1,9 @@
+package com.dashboard.repository;
+
+import com.dashboard.model.SeedMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeedMetadataRepository extends JpaRepository<SeedMetadata, String> {
+}
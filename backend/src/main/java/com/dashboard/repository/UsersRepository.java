@@ -4,9 +4,13 @@ import com.dashboard.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsersRepository extends JpaRepository<Users, Long> {
     Optional<Users> findByUsername(String username);
+    boolean existsByUsername(String username);
+    List<Users> findByUsernameIn(Collection<String> usernames);
 }
\ No newline at end of file
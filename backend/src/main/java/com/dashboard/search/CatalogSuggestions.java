@@ -0,0 +1,167 @@
+package com.dashboard.search;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.config.SeedingState;
+import com.dashboard.exception.ValidationException;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead completions for product and brand names, answered from memory without touching the database.
+ * Each kind has its own {@link NameSuggester}; writes made through the services are applied on top of the
+ * loaded snapshot right away, and a rebuild reloads both snapshots after seeding, periodically and once too
+ * many writes have piled up. Imports write around the services and call {@link #refresh()} once they are done.
+ */
+@Slf4j
+@Component
+public class CatalogSuggestions {
+    private final ProductRepository productRepository;
+    private final BrandRepository brandRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeedingState seedingState;
+    private final SearchProperties.Suggest properties;
+    private final NameSuggester products = new NameSuggester();
+    private final NameSuggester brands = new NameSuggester();
+    private final RebuildScheduler rebuildScheduler = new RebuildScheduler("catalog-suggestions", "name suggestions", this::rebuild);
+
+    public CatalogSuggestions(
+        ProductRepository productRepository,
+        BrandRepository brandRepository,
+        PlatformTransactionManager transactionManager,
+        SeedingState seedingState,
+        SearchProperties searchProperties
+    ) {
+        this.productRepository = productRepository;
+        this.brandRepository = brandRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.seedingState = seedingState;
+        this.properties = searchProperties.getSuggest();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuildScheduler.start(seedingState, properties.getRebuildInterval());
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuildScheduler.stop();
+    }
+
+    /**
+     * Up to {@code limit} active product names starting with {@code prefix} (ignoring case), the names shared
+     * by most products first. Empty until the first snapshot is loaded.
+     */
+    public List<String> suggestProducts(String prefix, int limit) {
+        validateLimit(limit);
+        return properties.isEnabled() ? products.suggest(prefix, limit) : List.of();
+    }
+
+    /**
+     * Up to {@code limit} active brand names starting with {@code prefix} (ignoring case), alphabetically.
+     */
+    public List<String> suggestBrands(String prefix, int limit) {
+        validateLimit(limit);
+        return properties.isEnabled() ? brands.suggest(prefix, limit) : List.of();
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > properties.getMaxLimit()) {
+            throw new ValidationException("Suggestion limit must be between 1 and " + properties.getMaxLimit() + ": " + limit);
+        }
+    }
+
+    /**
+     * Records a created or renamed product. Call after the write has committed; the same applies below.
+     */
+    public void productChanged(long productId, String name) {
+        record(products, suggester -> suggester.put(productId, name));
+    }
+
+    public void productRemoved(long productId) {
+        record(products, suggester -> suggester.remove(productId));
+    }
+
+    public void brandChanged(long brandId, String name) {
+        record(brands, suggester -> suggester.put(brandId, name));
+    }
+
+    public void brandRemoved(long brandId) {
+        record(brands, suggester -> suggester.remove(brandId));
+    }
+
+    /**
+     * Rebuilds both snapshots in the background, to pick up names written around the services, such as by an
+     * import. Call after the writes have committed.
+     */
+    public void refresh() {
+        if (properties.isEnabled()) {
+            rebuildScheduler.schedule();
+        }
+    }
+
+    private void record(NameSuggester suggester, Consumer<NameSuggester> change) {
+        change.accept(suggester);
+        if (suggester.pendingChanges() > properties.getMaxPendingChanges() && suggester.isReady()) {
+            rebuildScheduler.schedule();
+        }
+    }
+
+    /**
+     * Reloads both snapshots. Changes recorded before a load started were committed before it, so the new
+     * snapshot contains them; later ones are kept.
+     */
+    void rebuild() {
+        var startNanos = System.nanoTime();
+
+        var productsStartedAt = products.startLoading();
+        var productSnapshot = transactionTemplate.execute(status -> {
+            try (Stream<Object[]> rows = productRepository.streamActiveIdAndName()) {
+                return load(rows);
+            }
+        });
+        products.replace(productSnapshot, productsStartedAt);
+
+        var brandsStartedAt = brands.startLoading();
+        var brandSnapshot = transactionTemplate.execute(status -> load(brandRepository.findIdAndNameByDeleted(false).stream()));
+        brands.replace(brandSnapshot, brandsStartedAt);
+
+        log.info("Name suggestions rebuilt: {} product names, {} brand names in {} ms",
+            productSnapshot.size(), brandSnapshot.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private static PrefixSnapshot load(Stream<Object[]> rows) {
+        var ids = new long[1024];
+        List<String> names = new ArrayList<>();
+        var iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            var row = iterator.next();
+            if (row[1] == null) {
+                continue;
+            }
+            if (names.size() == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[names.size()] = ((Number) row[0]).longValue();
+            names.add((String) row[1]);
+        }
+        return new PrefixSnapshot(Arrays.copyOf(ids, names.size()), names.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,255 @@
+package com.dashboard.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typo-tolerant match of one search term against names, word by word. Every word of the term has to match
+ * some word of the name, either whole or as its prefix, within a number of edits (insertions, deletions,
+ * substitutions, swaps of adjacent characters) that grows with the word's length: none up to two characters,
+ * one up to five, then {@code maxEdits}. A matched word costs twice its edit count, plus one when it only
+ * matched a prefix, so exact words rank before completions and completions before typos.
+ */
+final class FuzzyMatcher {
+    static final int NO_MATCH = -1;
+    /**
+     * Words of the term beyond this are ignored; they rarely narrow a product name down any further.
+     */
+    static final int MAX_WORDS = 8;
+    /**
+     * Upper limit of {@code maxEdits}; beyond it nearly every short word matches every other.
+     */
+    static final int MAX_EDITS = 3;
+
+    private final String[] words;
+    private final int[] allowedEdits;
+
+    FuzzyMatcher(String term, int maxEdits) {
+        var split = words(term);
+        words = Arrays.copyOf(split, Math.min(split.length, MAX_WORDS));
+        allowedEdits = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            var length = words[i].length();
+            allowedEdits[i] = length <= 2 ? 0 : length <= 5 ? Math.min(1, maxEdits) : Math.min(maxEdits, MAX_EDITS);
+        }
+    }
+
+    int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Cost of matching word {@code index} of the term against {@code candidate}, or {@link #NO_MATCH}.
+     */
+    int cost(int index, String candidate) {
+        var rows = new Rows(words[index]);
+        var depth = 0;
+        while (depth < candidate.length()) {
+            if (rows.fill(++depth, candidate) > allowedEdits[index]) {
+                break;
+            }
+        }
+        return cost(index, rows, depth, depth == candidate.length());
+    }
+
+    /**
+     * Shortest candidate that word {@code index} of the term can match.
+     */
+    int minLength(int index) {
+        return Math.max(1, words[index].length() - allowedEdits[index]);
+    }
+
+    /**
+     * Reports every word in {@code vocabulary[from, to)}, which are ascending and all of one length, that word
+     * {@code index} of the term matches, with its cost. The range is walked like a trie: rows of the distance
+     * table are reused for the prefix a word shares with the one before it, and once a prefix cannot come within
+     * the allowed edits all words starting with it are settled at once, so most of the range is never looked at.
+     */
+    void forEachMatch(int index, String[] vocabulary, int from, int to, MatchConsumer consumer) {
+        var edits = allowedEdits[index];
+        var rows = new Rows(words[index]);
+        var previous = "";
+        var depth = 0;
+        var i = from;
+        while (i < to) {
+            var candidate = vocabulary[i];
+            depth = Math.min(depth, commonPrefix(previous, candidate));
+            var pruned = false;
+            while (depth < candidate.length() && !pruned) {
+                pruned = rows.fill(++depth, candidate) > edits;
+            }
+            previous = candidate;
+            if (!pruned) {
+                var cost = cost(index, rows, depth, true);
+                if (cost != NO_MATCH) {
+                    consumer.accept(i, cost);
+                }
+                i++;
+                continue;
+            }
+            // no longer prefix of these words gets within the allowed edits, so the shorter ones decide
+            var end = endOfPrefix(vocabulary, i, to, candidate, depth);
+            var cost = cost(index, rows, depth, false);
+            if (cost == NO_MATCH) {
+                i = end;
+            }
+            for (; i < end; i++) {
+                consumer.accept(i, cost);
+            }
+        }
+    }
+
+    private int cost(int index, Rows rows, int depth, boolean whole) {
+        var edits = allowedEdits[index];
+        var cost = rows.prefixDistance(depth) <= edits ? rows.prefixDistance(depth) * 2 + 1 : NO_MATCH;
+        if (whole && rows.distance(depth) <= edits) {
+            cost = cost == NO_MATCH ? rows.distance(depth) * 2 : Math.min(cost, rows.distance(depth) * 2);
+        }
+        return cost;
+    }
+
+    /**
+     * First index after {@code from} whose word does not start with the first {@code depth} characters of
+     * {@code candidate}. Such runs are mostly short, so it gallops ahead before searching.
+     */
+    private static int endOfPrefix(String[] vocabulary, int from, int to, String candidate, int depth) {
+        var step = 1;
+        while (from + step < to && vocabulary[from + step].regionMatches(0, candidate, 0, depth)) {
+            step *= 2;
+        }
+        // vocabulary[from + step / 2] shares the prefix; the answer is after it and at most from + step
+        var low = from + step / 2 + 1;
+        var high = Math.min(from + step, to);
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (vocabulary[middle].regionMatches(0, candidate, 0, depth)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        var length = Math.min(a.length(), b.length());
+        var i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Total cost of matching the term against a whole name, or {@link #NO_MATCH} when some word finds no match.
+     */
+    int score(String name) {
+        var nameWords = words(name);
+        var total = 0;
+        for (int i = 0; i < words.length; i++) {
+            var best = NO_MATCH;
+            for (String nameWord : nameWords) {
+                var cost = cost(i, nameWord);
+                if (cost != NO_MATCH && (best == NO_MATCH || cost < best)) {
+                    best = cost;
+                }
+            }
+            if (best == NO_MATCH) {
+                return NO_MATCH;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    interface MatchConsumer {
+        void accept(int ordinal, int cost);
+    }
+
+    /**
+     * Optimal string alignment table of one term word against the prefixes of a candidate: row {@code depth}
+     * holds the distances between the candidate's first {@code depth} characters and every prefix of the word.
+     * {@link #fill} also bounds the distances still reachable in later rows: a cell can only grow on the way
+     * down, and by one more for every word character the rest of the candidate is too short to cover.
+     */
+    private static final class Rows {
+        private final String word;
+        private int[][] rows;
+        private int[] prefixDistances;
+
+        Rows(String word) {
+            this.word = word;
+            this.rows = new int[16][];
+            this.prefixDistances = new int[16];
+            rows[0] = new int[word.length() + 1];
+            for (int j = 0; j <= word.length(); j++) {
+                rows[0][j] = j;
+            }
+            prefixDistances[0] = word.length();
+        }
+
+        /**
+         * Fills row {@code depth} from the rows above it and returns a lower bound of the distance between the
+         * word and any longer prefix of the candidate, the whole candidate included.
+         */
+        int fill(int depth, String candidate) {
+            if (depth == rows.length) {
+                rows = Arrays.copyOf(rows, depth * 2);
+                prefixDistances = Arrays.copyOf(prefixDistances, depth * 2);
+            }
+            if (rows[depth] == null) {
+                rows[depth] = new int[word.length() + 1];
+            }
+            var above = rows[depth - 1];
+            var row = rows[depth];
+            var c = candidate.charAt(depth - 1);
+            var remaining = candidate.length() - depth;
+            row[0] = depth;
+            var bound = depth + Math.max(0, word.length() - remaining);
+            for (int j = 1; j <= word.length(); j++) {
+                var distance = Math.min(above[j - 1] + (word.charAt(j - 1) == c ? 0 : 1), Math.min(above[j], row[j - 1]) + 1);
+                if (depth > 1 && j > 1 && word.charAt(j - 2) == c && word.charAt(j - 1) == candidate.charAt(depth - 2)) {
+                    distance = Math.min(distance, rows[depth - 2][j - 2] + 1);
+                }
+                row[j] = distance;
+                bound = Math.min(bound, distance + Math.max(0, word.length() - j - remaining));
+            }
+            prefixDistances[depth] = Math.min(prefixDistances[depth - 1], row[word.length()]);
+            return bound;
+        }
+
+        /**
+         * Distance between the word and the candidate's first {@code depth} characters.
+         */
+        int distance(int depth) {
+            return rows[depth][word.length()];
+        }
+
+        /**
+         * Smallest distance between the word and a prefix of the candidate no longer than {@code depth}.
+         */
+        int prefixDistance(int depth) {
+            return prefixDistances[depth];
+        }
+    }
+
+    /**
+     * Words of a normalized name: runs of letters and digits.
+     */
+    static String[] words(String text) {
+        List<String> words = new ArrayList<>(4);
+        var start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            var inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,257 @@
+package com.dashboard.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable word index over lower-cased product names for typo-tolerant search. Catalogs repeat a small
+ * vocabulary across many names, so a query first matches its words against the distinct words, grouped by
+ * length and sorted, with a {@link FuzzyMatcher}, which is cheap, and then combines the posting lists of the words it matched: the
+ * ascending ordinals of the names containing them, as in {@link NgramSnapshot}.
+ */
+final class FuzzySnapshot {
+    static final FuzzySnapshot EMPTY = new FuzzySnapshot(new long[0], new String[0]);
+    /**
+     * Highest cost a query can have: every word matched with the most edits, as a prefix.
+     */
+    private static final int MAX_COST = FuzzyMatcher.MAX_WORDS * (FuzzyMatcher.MAX_EDITS * 2 + 1);
+    private static final int WORD_RANKS = 64;
+    static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::cost).thenComparingInt(Hit::words);
+
+    private final long[] productIds;
+    private final int[] wordCounts;
+    /**
+     * Distinct words, ordered by length and then alphabetically; words of length {@code n} start at
+     * {@code lengthStarts[n]}.
+     */
+    private final String[] words;
+    private final int[] lengthStarts;
+    private final int[][] postings;
+
+    FuzzySnapshot(long[] productIds, String[] names) {
+        this.productIds = productIds;
+        this.wordCounts = new int[names.length];
+        var nameWords = new String[names.length][];
+        Map<String, int[]> sizes = new HashMap<>();
+        for (int ordinal = 0; ordinal < names.length; ordinal++) {
+            nameWords[ordinal] = distinct(FuzzyMatcher.words(names[ordinal]));
+            wordCounts[ordinal] = nameWords[ordinal].length;
+            for (String word : nameWords[ordinal]) {
+                sizes.computeIfAbsent(word, key -> new int[1])[0]++;
+            }
+        }
+        this.words = sizes.keySet().toArray(String[]::new);
+        Arrays.sort(words, Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        var longest = words.length == 0 ? 0 : words[words.length - 1].length();
+        this.lengthStarts = new int[longest + 2];
+        for (int length = 0, i = 0; length <= longest + 1; length++) {
+            while (i < words.length && words[i].length() < length) {
+                i++;
+            }
+            lengthStarts[length] = i;
+        }
+        this.postings = new int[words.length][];
+        Map<String, Integer> wordIndex = new HashMap<>(words.length * 2);
+        for (int i = 0; i < words.length; i++) {
+            wordIndex.put(words[i], i);
+            postings[i] = new int[sizes.get(words[i])[0]];
+        }
+        var fill = new int[words.length];
+        for (int ordinal = 0; ordinal < names.length; ordinal++) {
+            for (String word : nameWords[ordinal]) {
+                int index = wordIndex.get(word);
+                postings[index][fill[index]++] = ordinal;
+            }
+        }
+    }
+
+    int size() {
+        return productIds.length;
+    }
+
+    /**
+     * Up to {@code limit} names matching every word of the query, best first: lowest cost, then fewest words,
+     * then snapshot order.
+     */
+    List<Hit> search(FuzzyMatcher matcher, int limit) {
+        if (matcher.wordCount() == 0) {
+            return List.of();
+        }
+        // for every query word the vocabulary words it matches, with their cost
+        List<List<int[]>> matched = new ArrayList<>(matcher.wordCount());
+        var postingTotals = new long[matcher.wordCount()];
+        for (int i = 0; i < matcher.wordCount(); i++) {
+            List<int[]> hits = new ArrayList<>();
+            var total = new long[1];
+            for (int length = matcher.minLength(i); length < lengthStarts.length - 1; length++) {
+                matcher.forEachMatch(i, words, lengthStarts[length], lengthStarts[length + 1], (word, cost) -> {
+                    hits.add(new int[]{word, cost});
+                    total[0] += postings[word].length;
+                });
+            }
+            postingTotals[i] = total[0];
+            if (hits.isEmpty()) {
+                return List.of();
+            }
+            matched.add(hits);
+        }
+        var order = new Integer[matcher.wordCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> postingTotals[i]));
+
+        // the rarest query word yields the candidates; the others can only remove some or add to their cost
+        var candidates = candidates(matched.get(order[0]), postingTotals[order[0]]);
+        var ordinals = candidates[0];
+        var costs = candidates[1];
+        for (int k = 1; k < order.length && ordinals.length > 0; k++) {
+            var best = new int[ordinals.length];
+            Arrays.fill(best, Integer.MAX_VALUE);
+            for (int[] hit : matched.get(order[k])) {
+                mark(ordinals, best, postings[hit[0]], hit[1]);
+            }
+            var kept = 0;
+            for (int j = 0; j < ordinals.length; j++) {
+                if (best[j] != Integer.MAX_VALUE) {
+                    ordinals[kept] = ordinals[j];
+                    costs[kept++] = costs[j] + best[j];
+                }
+            }
+            ordinals = Arrays.copyOf(ordinals, kept);
+            costs = Arrays.copyOf(costs, kept);
+        }
+
+        return top(ordinals, costs, limit);
+    }
+
+    /**
+     * The {@code limit} best candidates without sorting all of them: costs and word counts are small, so one
+     * pass counts the candidates per (cost, word count) rank, which tells the worst rank still needed, and a
+     * second pass collects the candidates up to it, which arrive in ordinal order.
+     */
+    private List<Hit> top(int[] ordinals, int[] costs, int limit) {
+        var counts = new int[(MAX_COST + 1) * WORD_RANKS];
+        for (int j = 0; j < ordinals.length; j++) {
+            counts[rank(costs[j], ordinals[j])]++;
+        }
+        var worst = 0;
+        var better = 0;
+        while (worst < counts.length - 1 && better + counts[worst] < limit) {
+            better += counts[worst++];
+        }
+        var fromWorst = limit - better;
+        var selected = new long[Math.min(limit, ordinals.length)];
+        var count = 0;
+        for (int j = 0; j < ordinals.length && count < selected.length; j++) {
+            var rank = rank(costs[j], ordinals[j]);
+            if (rank < worst || (rank == worst && fromWorst-- > 0)) {
+                selected[count++] = (long) rank << 32 | ordinals[j];
+            }
+        }
+        Arrays.sort(selected, 0, count);
+        List<Hit> hits = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            var ordinal = (int) selected[j];
+            hits.add(new Hit(productIds[ordinal], (int) (selected[j] >>> 32) / WORD_RANKS, wordCounts[ordinal]));
+        }
+        return hits;
+    }
+
+    private int rank(int cost, int ordinal) {
+        return Math.min(cost, MAX_COST) * WORD_RANKS + Math.min(wordCounts[ordinal], WORD_RANKS - 1);
+    }
+
+    /**
+     * Ascending ordinals of the names containing any of the matched words, each with its cheapest cost.
+     */
+    private int[][] candidates(List<int[]> matched, long total) {
+        // usually one word (the exact one) holds most of the postings; only the others need sorting
+        var largest = matched.get(0);
+        for (int[] hit : matched) {
+            if (postings[hit[0]].length > postings[largest[0]].length) {
+                largest = hit;
+            }
+        }
+        var base = postings[largest[0]];
+        var rest = new long[(int) (total - base.length)];
+        var restCount = 0;
+        for (int[] hit : matched) {
+            if (hit != largest) {
+                for (int ordinal : postings[hit[0]]) {
+                    rest[restCount++] = (long) ordinal << 8 | hit[1];
+                }
+            }
+        }
+        Arrays.sort(rest, 0, restCount);
+
+        var ordinals = new int[base.length + restCount];
+        var costs = new int[ordinals.length];
+        var count = 0;
+        for (int i = 0, j = 0; i < base.length || j < restCount; ) {
+            int ordinal;
+            int cost;
+            if (j == restCount || (i < base.length && base[i] <= (int) (rest[j] >>> 8))) {
+                ordinal = base[i++];
+                cost = largest[1];
+            } else {
+                ordinal = (int) (rest[j] >>> 8);
+                cost = (int) (rest[j++] & 0xFF);
+            }
+            if (count > 0 && ordinals[count - 1] == ordinal) {
+                costs[count - 1] = Math.min(costs[count - 1], cost);
+            } else {
+                ordinals[count] = ordinal;
+                costs[count++] = cost;
+            }
+        }
+        return new int[][]{Arrays.copyOf(ordinals, count), Arrays.copyOf(costs, count)};
+    }
+
+    /**
+     * Lowers {@code best[j]} to {@code cost} for every candidate {@code ordinals[j]} in {@code posting}. Both are
+     * ascending; a short candidate list looks its ordinals up instead of walking a long posting list.
+     */
+    private static void mark(int[] ordinals, int[] best, int[] posting, int cost) {
+        if (ordinals.length * 16 < posting.length) {
+            for (int j = 0; j < ordinals.length; j++) {
+                if (cost < best[j] && Arrays.binarySearch(posting, ordinals[j]) >= 0) {
+                    best[j] = cost;
+                }
+            }
+            return;
+        }
+        for (int i = 0, j = 0; i < posting.length && j < ordinals.length; ) {
+            if (posting[i] < ordinals[j]) {
+                i++;
+            } else if (posting[i] > ordinals[j]) {
+                j++;
+            } else {
+                best[j] = Math.min(best[j], cost);
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private static String[] distinct(String[] words) {
+        var count = 0;
+        outer:
+        for (int i = 0; i < words.length; i++) {
+            for (int j = 0; j < count; j++) {
+                if (words[j].equals(words[i])) {
+                    continue outer;
+                }
+            }
+            words[count++] = words[i];
+        }
+        return count == words.length ? words : Arrays.copyOf(words, count);
+    }
+
+    record Hit(long productId, int cost, int words) {
+    }
+}
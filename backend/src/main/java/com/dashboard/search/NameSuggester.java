@@ -0,0 +1,108 @@
+package com.dashboard.search;
+
+import com.dashboard.util.SearchText;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Name completions for one kind of entry (products or brands): a {@link PrefixSnapshot} plus the entries
+ * written since it was loaded. A change stores the entry's current name (or its removal), not a delta, so
+ * applying one that the snapshot already contains is harmless; {@link #replace} drops the changes recorded
+ * before the new snapshot started loading.
+ */
+final class NameSuggester {
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private volatile PrefixSnapshot snapshot;
+
+    boolean isReady() {
+        return snapshot != null;
+    }
+
+    int pendingChanges() {
+        return changes.size();
+    }
+
+    void put(long id, String name) {
+        changes.put(id, new Change(name.trim(), clock.incrementAndGet()));
+    }
+
+    void remove(long id) {
+        changes.put(id, new Change(null, clock.incrementAndGet()));
+    }
+
+    /**
+     * Stamp to pass to {@link #replace} for a snapshot that starts loading now.
+     */
+    long startLoading() {
+        return clock.incrementAndGet();
+    }
+
+    void replace(PrefixSnapshot next, long loadStartedAt) {
+        snapshot = next;
+        changes.values().removeIf(change -> change.stamp() < loadStartedAt);
+    }
+
+    /**
+     * Up to {@code limit} display names starting with {@code prefix} (ignoring case), most common first.
+     */
+    List<String> suggest(String prefix, int limit) {
+        var current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+        var key = SearchText.normalize(prefix);
+
+        // weight changes of the names under this prefix, and display names of the ones the snapshot lacks
+        Map<String, Integer> deltas = new HashMap<>();
+        Map<String, String> displayNames = new HashMap<>();
+        changes.forEach((id, change) -> {
+            var oldKey = current.keyOf(id);
+            if (oldKey != null && oldKey.startsWith(key)) {
+                deltas.merge(oldKey, -1, Integer::sum);
+            }
+            if (change.name() != null) {
+                var newKey = SearchText.normalize(change.name());
+                if (newKey.startsWith(key)) {
+                    deltas.merge(newKey, 1, Integer::sum);
+                    displayNames.putIfAbsent(newKey, change.name());
+                }
+            }
+        });
+
+        // names without pending changes keep their snapshot order, so the top ones are among these
+        Map<String, PrefixSnapshot.Suggestion> candidates = new LinkedHashMap<>();
+        for (var suggestion : current.top(key, limit + deltas.size())) {
+            candidates.put(suggestion.key(), suggestion);
+        }
+        deltas.forEach((name, delta) -> {
+            var snapshotWeight = current.weight(name);
+            var existing = candidates.get(name);
+            var displayName = existing != null ? existing.displayName() : current.displayName(name);
+            if (displayName == null) {
+                displayName = displayNames.get(name);
+            }
+            candidates.put(name, new PrefixSnapshot.Suggestion(name, displayName, snapshotWeight + delta));
+        });
+
+        List<PrefixSnapshot.Suggestion> ranked = new ArrayList<>();
+        for (var candidate : candidates.values()) {
+            if (candidate.weight() > 0) {
+                ranked.add(candidate);
+            }
+        }
+        ranked.sort(Comparator.comparingInt(PrefixSnapshot.Suggestion::weight).reversed()
+            .thenComparing(PrefixSnapshot.Suggestion::key));
+        return ranked.stream().limit(limit).map(PrefixSnapshot.Suggestion::displayName).toList();
+    }
+
+    private record Change(String name, long stamp) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.dashboard.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable trigram index over lower-cased product names. A product is addressed by its ordinal, its position
+ * in {@code productIds}; every trigram maps to the ascending ordinals of the names containing it, stored as a
+ * plain {@code int[]}. A substring query intersects the posting lists of its trigrams, shortest first, and
+ * then checks the few remaining names with {@link String#contains}, since trigrams alone do not fix their order.
+ */
+final class NgramSnapshot {
+    static final NgramSnapshot EMPTY = new NgramSnapshot(new long[0], new String[0]);
+    private static final int GRAM = 3;
+    private static final int[] NO_ORDINALS = new int[0];
+
+    private final long[] productIds;
+    private final String[] names;
+    private final Map<Long, int[]> postings;
+
+    NgramSnapshot(long[] productIds, String[] names) {
+        this.productIds = productIds;
+        this.names = names;
+        this.postings = index(names);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    long productId(int ordinal) {
+        return productIds[ordinal];
+    }
+
+    /**
+     * Ordinals of the names containing {@code term}, in ascending order, stopping after {@code limit} of them.
+     * Terms shorter than a trigram are matched by scanning every name.
+     */
+    int[] search(String term, int limit) {
+        if (term.length() < GRAM) {
+            return scan(term, limit);
+        }
+        var grams = grams(term);
+        var lists = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.getOrDefault(grams[i], NO_ORDINALS);
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        var candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists[i]);
+        }
+        var matches = new int[Math.min(candidates.length, limit)];
+        var count = 0;
+        for (int i = 0; i < candidates.length && count < limit; i++) {
+            if (names[candidates[i]].contains(term)) {
+                matches[count++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private int[] scan(String term, int limit) {
+        var matches = new int[Math.min(names.length, limit)];
+        var count = 0;
+        for (int ordinal = 0; ordinal < names.length && count < limit; ordinal++) {
+            if (names[ordinal].contains(term)) {
+                matches[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        var result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Two passes over the names: the first sizes every posting list, the second fills them in ordinal order,
+     * so each list comes out sorted without any per-gram growable collection.
+     */
+    private static Map<Long, int[]> index(String[] names) {
+        Map<Long, int[]> sizes = new HashMap<>();
+        for (String name : names) {
+            for (long gram : grams(name)) {
+                sizes.computeIfAbsent(gram, key -> new int[1])[0]++;
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(sizes.size() * 2);
+        sizes.forEach((gram, size) -> {
+            postings.put(gram, new int[size[0]]);
+            size[0] = 0;
+        });
+        for (int ordinal = 0; ordinal < names.length; ordinal++) {
+            for (long gram : grams(names[ordinal])) {
+                var fill = sizes.get(gram);
+                postings.get(gram)[fill[0]++] = ordinal;
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Distinct trigrams of {@code text}, each packed as three 16-bit chars into a long.
+     */
+    static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        var grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        var distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
@@ -0,0 +1,152 @@
+package com.dashboard.search;
+
+import com.dashboard.util.SearchText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable prefix index over names. Distinct normalized names are kept in one sorted array, so the names
+ * starting with a prefix are a contiguous range found by two binary searches. Each name has a weight (how
+ * many entries carry it), and a max-weight segment tree over that array yields the heaviest names of any
+ * range in weight order without visiting the rest of it.
+ * <p>
+ * Entry ids are kept sorted next to the ordinal of their name, so pending changes to an entry can take its
+ * old name's weight back out.
+ */
+final class PrefixSnapshot {
+    static final PrefixSnapshot EMPTY = new PrefixSnapshot(new long[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] displayNames;
+    private final int[] weights;
+    /**
+     * Segment tree of the heaviest key ordinal per range; leaves start at {@code keys.length}.
+     */
+    private final int[] heaviest;
+    private final long[] entryIds;
+    private final int[] entryKeys;
+
+    PrefixSnapshot(long[] ids, String[] names) {
+        Map<String, String> displayByKey = new HashMap<>();
+        for (String name : names) {
+            displayByKey.putIfAbsent(SearchText.normalize(name), name.trim());
+        }
+        keys = displayByKey.keySet().toArray(String[]::new);
+        Arrays.sort(keys);
+        displayNames = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            displayNames[i] = displayByKey.get(keys[i]);
+        }
+
+        weights = new int[keys.length];
+        var order = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        entryIds = new long[ids.length];
+        entryKeys = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            var key = Arrays.binarySearch(keys, SearchText.normalize(names[order[i]]));
+            entryIds[i] = ids[order[i]];
+            entryKeys[i] = key;
+            weights[key]++;
+        }
+
+        heaviest = new int[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            heaviest[keys.length + i] = i;
+        }
+        for (int node = keys.length - 1; node > 0; node--) {
+            heaviest[node] = heavier(heaviest[node * 2], heaviest[node * 2 + 1]);
+        }
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    int weight(String key) {
+        var ordinal = Arrays.binarySearch(keys, key);
+        return ordinal >= 0 ? weights[ordinal] : 0;
+    }
+
+    String displayName(String key) {
+        var ordinal = Arrays.binarySearch(keys, key);
+        return ordinal >= 0 ? displayNames[ordinal] : null;
+    }
+
+    /**
+     * Normalized name of entry {@code id}, or {@code null} if the snapshot does not have it.
+     */
+    String keyOf(long id) {
+        var index = Arrays.binarySearch(entryIds, id);
+        return index >= 0 ? keys[entryKeys[index]] : null;
+    }
+
+    /**
+     * Up to {@code limit} names starting with the normalized {@code prefix}, heaviest first and then in
+     * alphabetical order.
+     */
+    List<Suggestion> top(String prefix, int limit) {
+        var from = lowerBound(prefix);
+        var to = lowerBound(prefix + Character.MAX_VALUE);
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, to - from));
+        if (from >= to) {
+            return suggestions;
+        }
+        // ranges ordered by their heaviest key; popping one emits that key and splits the range around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compare(a[0], b[0]));
+        ranges.add(new int[]{heaviest(from, to), from, to});
+        while (!ranges.isEmpty() && suggestions.size() < limit) {
+            var range = ranges.poll();
+            var ordinal = range[0];
+            suggestions.add(new Suggestion(keys[ordinal], displayNames[ordinal], weights[ordinal]));
+            if (range[1] < ordinal) {
+                ranges.add(new int[]{heaviest(range[1], ordinal), range[1], ordinal});
+            }
+            if (ordinal + 1 < range[2]) {
+                ranges.add(new int[]{heaviest(ordinal + 1, range[2]), ordinal + 1, range[2]});
+            }
+        }
+        return suggestions;
+    }
+
+    private int lowerBound(String key) {
+        var index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Heaviest key ordinal in {@code [from, to)}.
+     */
+    private int heaviest(int from, int to) {
+        var best = from;
+        for (int left = from + keys.length, right = to + keys.length; left < right; left /= 2, right /= 2) {
+            if ((left & 1) == 1) {
+                best = heavier(best, heaviest[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = heavier(best, heaviest[--right]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        return compare(a, b) <= 0 ? a : b;
+    }
+
+    private int compare(int a, int b) {
+        var byWeight = Integer.compare(weights[b], weights[a]);
+        return byWeight != 0 ? byWeight : Integer.compare(a, b);
+    }
+
+    record Suggestion(String key, String displayName, int weight) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.dashboard.search;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.config.SeedingState;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.util.SearchText;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Substring search over the names of active products, served from memory. The bulk of the names sits in an
+ * immutable {@link NgramSnapshot}; writes made through {@code ProductService} since the snapshot was loaded
+ * are kept beside it and override it. A rebuild loads a new snapshot while the current one keeps serving,
+ * then swaps it in and drops the changes the new snapshot already contains.
+ * <p>
+ * The same names also feed a {@link FuzzySnapshot} for typo-tolerant searches ({@link #findSimilar}).
+ * <p>
+ * The first snapshot is loaded once startup seeding has finished; until then {@link #find} answers nothing
+ * and callers fall back to the database. Imports write around the service and call {@link #refresh()} once
+ * they are done.
+ */
+@Slf4j
+@Component
+public class ProductNameIndex {
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeedingState seedingState;
+    private final SearchProperties.NameIndex properties;
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final RebuildScheduler rebuildScheduler = new RebuildScheduler("product-name-index", "product name index", this::rebuild);
+    private volatile NgramSnapshot snapshot;
+    private volatile FuzzySnapshot fuzzySnapshot;
+
+    public ProductNameIndex(
+        ProductRepository productRepository,
+        PlatformTransactionManager transactionManager,
+        SeedingState seedingState,
+        SearchProperties searchProperties
+    ) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.seedingState = seedingState;
+        this.properties = searchProperties.getNameIndex();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuildScheduler.start(seedingState, properties.getRebuildInterval());
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuildScheduler.stop();
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Ids of the active products whose name contains {@code term}, ignoring case. Empty when the index is not
+     * loaded yet or more than {@code maxCandidates} products match.
+     */
+    public Optional<List<Long>> find(String term) {
+        var current = snapshot;
+        if (current == null || !properties.isEnabled()) {
+            return Optional.empty();
+        }
+        var needle = SearchText.normalize(term);
+        var limit = properties.getMaxCandidates();
+        List<Long> ids = new ArrayList<>();
+        // room for the snapshot matches that pending changes override
+        for (int ordinal : current.search(needle, limit + changes.size() + 1)) {
+            var id = current.productId(ordinal);
+            if (!changes.containsKey(id)) {
+                ids.add(id);
+            }
+        }
+        changes.forEach((id, change) -> {
+            if (change.name() != null && change.name().contains(needle)) {
+                ids.add(id);
+            }
+        });
+        return ids.size() > limit ? Optional.empty() : Optional.of(ids);
+    }
+
+    /**
+     * Ids of the active products whose name matches every word of {@code term} within a few typos, most
+     * similar first and at most {@code maxFuzzyResults} of them (see {@link FuzzyMatcher}). Empty when the
+     * index is not loaded yet or fuzzy search is disabled.
+     */
+    public Optional<List<Long>> findSimilar(String term) {
+        var current = fuzzySnapshot;
+        if (current == null || !properties.isEnabled() || !properties.isFuzzyEnabled()) {
+            return Optional.empty();
+        }
+        var matcher = new FuzzyMatcher(SearchText.normalize(term), properties.getMaxEdits());
+        var limit = properties.getMaxFuzzyResults();
+        List<FuzzySnapshot.Hit> hits = new ArrayList<>();
+        for (var hit : current.search(matcher, limit + changes.size())) {
+            if (!changes.containsKey(hit.productId())) {
+                hits.add(hit);
+            }
+        }
+        changes.forEach((id, change) -> {
+            if (change.name() != null) {
+                var cost = matcher.score(change.name());
+                if (cost != FuzzyMatcher.NO_MATCH) {
+                    hits.add(new FuzzySnapshot.Hit(id, cost, FuzzyMatcher.words(change.name()).length));
+                }
+            }
+        });
+        // stable, so ties keep the snapshot's order ahead of pending changes
+        hits.sort(FuzzySnapshot.RANKING);
+        return Optional.of(hits.stream().limit(limit).map(FuzzySnapshot.Hit::productId).toList());
+    }
+
+    /**
+     * Records a created or renamed product. Call after the write has committed.
+     */
+    public void put(long productId, String name) {
+        record(productId, SearchText.normalize(name));
+    }
+
+    /**
+     * Records a deleted product. Call after the write has committed.
+     */
+    public void remove(long productId) {
+        record(productId, null);
+    }
+
+    /**
+     * Rebuilds the index in the background, to pick up products written around {@code ProductService}, such as
+     * by an import. Call after the writes have committed.
+     */
+    public void refresh() {
+        if (properties.isEnabled()) {
+            rebuildScheduler.schedule();
+        }
+    }
+
+    private void record(long productId, String name) {
+        changes.put(productId, new Change(name, clock.incrementAndGet()));
+        if (changes.size() > properties.getMaxPendingChanges() && snapshot != null) {
+            rebuildScheduler.schedule();
+        }
+    }
+
+    /**
+     * Loads a new snapshot and swaps it in. Changes recorded before loading started were committed before it,
+     * so the new snapshot contains them; later ones are kept.
+     */
+    void rebuild() {
+        var startedAt = clock.incrementAndGet();
+        var startNanos = System.nanoTime();
+        var next = load();
+        snapshot = next.ngrams();
+        fuzzySnapshot = next.words();
+        changes.values().removeIf(change -> change.stamp() < startedAt);
+        log.info("Product name index rebuilt: {} names in {} ms", next.ngrams().size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private Snapshots load() {
+        return transactionTemplate.execute(status -> {
+            var ids = new long[1024];
+            List<String> names = new ArrayList<>();
+            try (Stream<Object[]> rows = productRepository.streamActiveIdAndNameLower()) {
+                var iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    var row = iterator.next();
+                    if (names.size() == ids.length) {
+                        ids = Arrays.copyOf(ids, ids.length * 2);
+                    }
+                    ids[names.size()] = ((Number) row[0]).longValue();
+                    names.add(row[1] != null ? (String) row[1] : "");
+                }
+            }
+            var productIds = Arrays.copyOf(ids, names.size());
+            var nameArray = names.toArray(String[]::new);
+            return new Snapshots(
+                new NgramSnapshot(productIds, nameArray),
+                properties.isFuzzyEnabled() ? new FuzzySnapshot(productIds, nameArray) : null
+            );
+        });
+    }
+
+    private record Change(String name, long stamp) {
+    }
+
+    private record Snapshots(NgramSnapshot ngrams, FuzzySnapshot words) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.dashboard.search;
+
+import com.dashboard.config.SeedingState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the rebuild of an in-memory index on its own daemon thread: once startup seeding has finished, at a fixed
+ * interval and whenever {@link #schedule()} is called. Requests arriving while a rebuild is still queued share it.
+ */
+@Slf4j
+class RebuildScheduler {
+    private final String description;
+    private final Runnable rebuild;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    RebuildScheduler(String threadName, String description, Runnable rebuild) {
+        this.description = description;
+        this.rebuild = rebuild;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rebuilds once {@code seedingState} has finished, then every {@code interval} unless it is zero.
+     */
+    void start(SeedingState seedingState, Duration interval) {
+        seedingState.whenFinished(this::schedule);
+        var millis = interval.toMillis();
+        if (millis > 0) {
+            executor.scheduleWithFixedDelay(this::schedule, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    void schedule() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                // cleared before loading, so a request arriving while this rebuild runs queues another one
+                rebuildQueued.set(false);
+                try {
+                    rebuild.run();
+                } catch (RuntimeException e) {
+                    log.error("Could not rebuild the {}", description, e);
+                }
+            });
+        }
+    }
+}
@@ -2,24 +2,33 @@ package com.dashboard.service;
 
 import com.dashboard.dto.BrandRequestDTO;
 import com.dashboard.dto.BrandResponseDTO;
+import com.dashboard.dto.CursorPageDTO;
 import com.dashboard.exception.ConflictException;
 import com.dashboard.exception.NotFoundException;
 import com.dashboard.exception.ValidationException;
 import com.dashboard.model.Brand;
 import com.dashboard.repository.BrandRepository;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.search.CatalogSuggestions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BrandService {
     private final BrandRepository brandRepository;
     private final ProductRepository productRepository;
+    private final CatalogSuggestions catalogSuggestions;
+    private final CatalogVersion catalogVersion;
+    private final ProductCountCache productCountCache;
 
     public Page<BrandResponseDTO> getAllByDeleted(boolean deleted, Pageable pageable) {
         log.info("Fetching brands with deleted = {}. Page {}, size {}", deleted, pageable.getPageNumber(), pageable.getPageSize());
@@ -27,6 +36,21 @@ public class BrandService {
             .map(this::mapToResponseDTO);
     }
 
+    public Slice<BrandResponseDTO> getSliceByDeleted(boolean deleted, Pageable pageable) {
+        log.info("Fetching brands with deleted = {} without count. Page {}, size {}", deleted, pageable.getPageNumber(), pageable.getPageSize());
+        return brandRepository.findSliceByDeleted(deleted, pageable)
+            .map(this::mapToResponseDTO);
+    }
+
+    public CursorPageDTO<BrandResponseDTO> getAllByDeletedAfter(boolean deleted, String cursor, int size, Sort sort) {
+        log.info("Fetching brands with deleted = {}. Cursor {}, size {}", deleted, cursor, size);
+        return brandRepository.findResponsesByDeletedAfter(deleted, cursor, size, sort);
+    }
+
+    public List<String> suggestNames(String prefix, int limit) {
+        return catalogSuggestions.suggestBrands(prefix, limit);
+    }
+
     public BrandResponseDTO getOneById(Long id) {
         log.info("Start getting brand with ID: {}", id);
 
@@ -64,6 +88,7 @@ public class BrandService {
             .build();
 
         var createdBrand = brandRepository.save(brandToCreate);
+        catalogSuggestions.brandChanged(createdBrand.getId(), createdBrand.getName());
 
         log.info("Brand created: {} (id: {})", createdBrand.getName(), createdBrand.getId());
         return mapToResponseDTO(createdBrand);
@@ -97,6 +122,10 @@ public class BrandService {
         brandToUpdate.setDescription(brandRequestDTO.getDescription());
 
         var updatedBrand = brandRepository.save(brandToUpdate);
+        // product searches filter and count by brand name
+        productCountCache.invalidate();
+        catalogVersion.bump();
+        catalogSuggestions.brandChanged(updatedBrand.getId(), updatedBrand.getName());
 
         log.info("Brand updated: {} (id {})", updatedBrand.getName(), updatedBrand.getId());
         return mapToResponseDTO(updatedBrand);
@@ -126,6 +155,7 @@ public class BrandService {
 
         log.info("Brand deleted");
         brandRepository.setDeletedTrueById(id);
+        catalogSuggestions.brandRemoved(id);
     }
 
     private BrandResponseDTO mapToResponseDTO(Brand brand) {
@@ -0,0 +1,45 @@
+package com.dashboard.service;
+
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.search.CatalogSuggestions;
+import com.dashboard.search.ProductNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catches the in-memory search state up with rows that imports and startup seeding wrote around the services:
+ * cached search results and counts are invalidated (the former by bumping the {@link CatalogVersion}), and
+ * after an import the product name index and the name suggestions are rebuilt in the background.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogRefresher {
+    private final ProductNameIndex productNameIndex;
+    private final CatalogSuggestions catalogSuggestions;
+    private final CatalogVersion catalogVersion;
+    private final ProductCountCache productCountCache;
+
+    /**
+     * Call once an import of {@code type} has committed rows, including one that failed part way.
+     */
+    public void importFinished(ImportJobType type) {
+        invalidateCachedResults();
+        if (type == ImportJobType.PRODUCT) {
+            productNameIndex.refresh();
+        }
+        catalogSuggestions.refresh();
+    }
+
+    /**
+     * Call once startup seeding has completed or failed, so pages and counts cached from the half-seeded
+     * catalog (with {@code read-gate=serve}) are not served any longer. The indexes load after seeding anyway.
+     */
+    public void seedFinished() {
+        invalidateCachedResults();
+    }
+
+    private void invalidateCachedResults() {
+        productCountCache.invalidate();
+        catalogVersion.bump();
+    }
+}
@@ -0,0 +1,23 @@
+package com.dashboard.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped by every write through the services, and by every import, that changes what product searches
+ * return. Results remembered under an older version are stale; comparing versions invalidates them without
+ * touching them.
+ */
+@Component
+public class CatalogVersion {
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+}
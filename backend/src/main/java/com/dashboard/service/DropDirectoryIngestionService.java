@@ -0,0 +1,336 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SeedingState;
+import com.dashboard.importer.BrandResolver;
+import com.dashboard.importer.CsvImporter;
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.importer.ImportListener;
+import com.dashboard.importer.ImportProperties;
+import com.dashboard.importer.ImportReport;
+import com.dashboard.importer.UpsertLoader;
+import com.dashboard.parser.BrandCsvParser;
+import com.dashboard.parser.ProductCsvParser;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.util.CsvRecord;
+import com.dashboard.util.CsvUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Ingests product and brand delta files dropped into {@link ImportProperties.Watch#getDirectory()}. The file
+ * name prefix selects the parser ({@code brands*.csv} or {@code products*.csv}); rows are applied through
+ * {@link UpsertLoader} in chunks, so a delta inserts new keys, updates changed rows and never deletes, and
+ * dropping the same file twice is harmless. Each file is moved to the done or failed directory afterwards.
+ * <p>
+ * Only names ending in {@code .csv} are considered, so producers should write under another name (e.g.
+ * {@code .part}) and rename the file once complete. A file copied in under its final name is still picked up,
+ * but only after its size and modification time stayed unchanged for {@code app.import.watch.quiet-period}.
+ * <p>
+ * Files are ingested one at a time on a single daemon thread that starts once startup seeding has finished.
+ * Files already in the directory at that point are ingested first, in name order.
+ * <p>
+ * Metrics, tagged by {@code type}: {@code import.watch.files} (by {@code outcome} done/failed),
+ * {@code import.watch.rows} (by {@code outcome} imported/skipped), {@code import.watch.lag} (from the file's
+ * last modification to the end of its ingestion), {@code import.watch.duration} and
+ * {@code import.watch.throughput} (rows per second of each file).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.import.watch", name = "enabled", havingValue = "true")
+public class DropDirectoryIngestionService {
+    private static final DateTimeFormatter MOVED_FILE_PREFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-");
+
+    private final CsvImporter csvImporter;
+    private final UpsertLoader upsertLoader;
+    private final BrandRepository brandRepository;
+    private final SeedingState seedingState;
+    private final CatalogRefresher catalogRefresher;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final Path doneDirectory;
+    private final Path failedDirectory;
+    private final Duration quietPeriod;
+    /** CSV files seen but not yet ingested, in the order they were seen; used by the watcher thread only. */
+    private final Map<Path, Candidate> candidates = new LinkedHashMap<>();
+    private volatile WatchService watchService;
+    private volatile Thread watcher;
+
+    public DropDirectoryIngestionService(
+        CsvImporter csvImporter,
+        UpsertLoader upsertLoader,
+        BrandRepository brandRepository,
+        SeedingState seedingState,
+        CatalogRefresher catalogRefresher,
+        MeterRegistry meterRegistry,
+        ImportProperties importProperties
+    ) {
+        this.csvImporter = csvImporter;
+        this.upsertLoader = upsertLoader;
+        this.brandRepository = brandRepository;
+        this.seedingState = seedingState;
+        this.catalogRefresher = catalogRefresher;
+        this.meterRegistry = meterRegistry;
+        var watch = importProperties.getWatch();
+        this.directory = Path.of(watch.getDirectory()).toAbsolutePath();
+        this.doneDirectory = directory.resolve(watch.getDoneDirectory());
+        this.failedDirectory = directory.resolve(watch.getFailedDirectory());
+        this.quietPeriod = watch.getQuietPeriod();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var thread = new Thread(this::watch, "import-watch");
+        thread.setDaemon(true);
+        watcher = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        var thread = watcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        var service = watchService;
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            seedingState.awaitFinished();
+            Files.createDirectories(directory);
+            watchService = FileSystems.getDefault().newWatchService();
+            // a file renamed into the directory is reported as created too; one written in place is modified
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException e) {
+            log.error("Could not watch import directory {}", directory, e);
+            return;
+        }
+
+        log.info("Watching {} for brand and product CSV files", directory);
+        offerPending();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ingestSettled(System.nanoTime());
+                // wake up to re-check files still settling even if no further event arrives
+                var key = candidates.isEmpty()
+                    ? watchService.take()
+                    : watchService.poll(Math.max(1, quietPeriod.toMillis()), TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    continue;
+                }
+                var overflowed = false;
+                for (var event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflowed = true;
+                    } else if (event.context() instanceof Path name) {
+                        offer(directory.resolve(name), System.nanoTime());
+                    }
+                }
+                if (overflowed) {
+                    log.warn("Missed file events in {}; rescanning", directory);
+                    offerPending();
+                }
+                if (!key.reset()) {
+                    log.error("Import directory {} is no longer accessible; stopped watching", directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.info("Stopped watching {}", directory);
+        }
+    }
+
+    private void offerPending() {
+        var now = System.nanoTime();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.sorted().forEach(file -> offer(file, now));
+        } catch (IOException e) {
+            log.error("Could not list import directory {}", directory, e);
+        }
+    }
+
+    /**
+     * Notes that {@code file} was created or changed at {@code nowNanos}; CSV files are ingested by
+     * {@link #ingestSettled(long)} once they stop changing.
+     */
+    void offer(Path file, long nowNanos) {
+        if (!file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            return;
+        }
+        var candidate = Candidate.of(file, nowNanos);
+        if (candidate != null) {
+            candidates.put(file, candidate);
+        } else {
+            candidates.remove(file);
+        }
+    }
+
+    /**
+     * Ingests the offered files whose size and modification time have not changed for the quiet period up to
+     * {@code nowNanos}. Files that changed since they were last looked at start their quiet period over.
+     */
+    void ingestSettled(long nowNanos) {
+        for (var iterator = candidates.entrySet().iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            var current = Candidate.of(entry.getKey(), nowNanos);
+            if (current == null) {
+                iterator.remove();
+            } else if (!current.sameFileAs(entry.getValue())) {
+                entry.setValue(current);
+            } else if (nowNanos - entry.getValue().seenAtNanos() >= quietPeriod.toNanos()) {
+                iterator.remove();
+                ingest(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Ingests one file and moves it to the done or failed directory.
+     */
+    void ingest(Path file) {
+        var fileName = file.getFileName().toString();
+        var type = typeOf(fileName);
+        if (type == null) {
+            log.warn("Ignoring {}: file name must start with 'brands' or 'products'", fileName);
+            moveTo(failedDirectory, file);
+            meterRegistry.counter("import.watch.files", "type", "unknown", "outcome", "failed").increment();
+            return;
+        }
+
+        var typeTag = type.name().toLowerCase(Locale.ROOT);
+        var startNanos = System.nanoTime();
+        var committed = new CommittedRows();
+        try {
+            var modifiedAt = Files.getLastModifiedTime(file).toInstant();
+            var report = importFile(type, file, committed);
+            moveTo(doneDirectory, file);
+            if (report.getImported() > 0) {
+                catalogRefresher.importFinished(type);
+            }
+
+            meterRegistry.counter("import.watch.files", "type", typeTag, "outcome", "done").increment();
+            meterRegistry.counter("import.watch.rows", "type", typeTag, "outcome", "imported").increment(report.getImported());
+            meterRegistry.counter("import.watch.rows", "type", typeTag, "outcome", "skipped").increment(report.getSkipped());
+            meterRegistry.summary("import.watch.throughput", "type", typeTag).record(report.getRowsPerSecond());
+            meterRegistry.timer("import.watch.lag", "type", typeTag).record(Duration.between(modifiedAt, Instant.now()));
+            log.info("Ingested {}. Imported: {}, Skipped: {}, {} rows/s",
+                fileName, report.getImported(), report.getSkipped(), report.getRowsPerSecond());
+        } catch (Exception exception) {
+            log.error("Could not ingest {}", fileName, exception);
+            moveTo(failedDirectory, file);
+            // chunks committed before the failure stay in the database
+            if (committed.getImported() > 0) {
+                catalogRefresher.importFinished(type);
+            }
+            meterRegistry.counter("import.watch.files", "type", typeTag, "outcome", "failed").increment();
+        } finally {
+            meterRegistry.timer("import.watch.duration", "type", typeTag).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ImportReport importFile(ImportJobType type, Path file, ImportListener listener) throws IOException {
+        try (Stream<CsvRecord> rows = CsvUtils.streamRecords(file)) {
+            return switch (type) {
+                case BRAND -> csvImporter.importRecords("brand", rows, new BrandCsvParser(), upsertLoader.brandWriter(), 1, listener);
+                case PRODUCT -> {
+                    // loaded per file, so brands from an earlier drop are known
+                    var brandResolver = BrandResolver.load(brandRepository);
+                    var report = csvImporter.importRecords("product", rows, new ProductCsvParser(brandResolver),
+                        upsertLoader.productWriter(), 1, listener);
+                    if (!brandResolver.getUnknownBrands().isEmpty()) {
+                        log.warn("Skipped rows of {} with unknown brands (brand=rows): {}", file.getFileName(), brandResolver.getUnknownBrands());
+                    }
+                    yield report;
+                }
+            };
+        }
+    }
+
+    static ImportJobType typeOf(String fileName) {
+        var name = fileName.toLowerCase(Locale.ROOT);
+        if (name.startsWith("brands")) {
+            return ImportJobType.BRAND;
+        }
+        if (name.startsWith("products")) {
+            return ImportJobType.PRODUCT;
+        }
+        return null;
+    }
+
+    private void moveTo(Path targetDirectory, Path file) {
+        var target = targetDirectory.resolve(LocalDateTime.now().format(MOVED_FILE_PREFIX) + file.getFileName());
+        try {
+            Files.createDirectories(targetDirectory);
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Could not move {} to {}", file, targetDirectory, e);
+        }
+    }
+
+    /**
+     * Size and modification time of a file as of {@code seenAtNanos}.
+     */
+    private record Candidate(long size, FileTime modifiedAt, long seenAtNanos) {
+        /** The file's current state, or {@code null} if it is gone or not a regular file. */
+        static Candidate of(Path file, long nowNanos) {
+            try {
+                var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return attributes.isRegularFile() ? new Candidate(attributes.size(), attributes.lastModifiedTime(), nowNanos) : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        boolean sameFileAs(Candidate other) {
+            return size == other.size && modifiedAt.equals(other.modifiedAt);
+        }
+    }
+
+    /**
+     * Counts the rows imported by the chunks committed so far, which stay in the database when a later chunk fails.
+     */
+    private static class CommittedRows implements ImportListener {
+        private final AtomicLong imported = new AtomicLong();
+
+        @Override
+        public void onChunkCommitted(long lastRowNumber, long imported, long skipped) {
+            this.imported.addAndGet(imported);
+        }
+
+        long getImported() {
+            return imported.get();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.ImportJobStatusDTO;
+import com.dashboard.dto.ImportValidationDTO;
+import com.dashboard.exception.ConflictException;
+import com.dashboard.exception.NotFoundException;
+import com.dashboard.exception.ValidationException;
+import com.dashboard.importer.BrandResolver;
+import com.dashboard.importer.BulkLoader;
+import com.dashboard.importer.ChunkWriter;
+import com.dashboard.importer.CsvImporter;
+import com.dashboard.importer.ImportJob;
+import com.dashboard.importer.ImportJobStatus;
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.importer.ImportMode;
+import com.dashboard.importer.ImportProperties;
+import com.dashboard.importer.ImportReport;
+import com.dashboard.importer.LoaderMode;
+import com.dashboard.importer.ProductCatalogSync;
+import com.dashboard.importer.RowErrorCollector;
+import com.dashboard.parser.BrandCsvParser;
+import com.dashboard.parser.ProductCsvParser;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.util.CsvRecord;
+import com.dashboard.util.CsvUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs CSV uploads as background jobs. Job state is kept in memory only: a restart forgets every job, so a
+ * job that was queued, running or failed cannot be resumed afterwards and its spooled file stays in
+ * {@link ImportProperties#getWorkDir()}. The chunks it committed stay in the database; uploading the file
+ * again imports them a second time in {@link ImportMode#APPEND} mode, while {@link ImportMode#SYNC} is safe
+ * to repeat.
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+    private final CsvImporter csvImporter;
+    private final BulkLoader bulkLoader;
+    private final ProductCatalogSync productCatalogSync;
+    private final BrandRepository brandRepository;
+    private final ProductRepository productRepository;
+    private final CatalogRefresher catalogRefresher;
+    private final ImportProperties importProperties;
+    private final ExecutorService executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(
+        CsvImporter csvImporter,
+        BulkLoader bulkLoader,
+        ProductCatalogSync productCatalogSync,
+        BrandRepository brandRepository,
+        ProductRepository productRepository,
+        CatalogRefresher catalogRefresher,
+        ImportProperties importProperties
+    ) {
+        this.csvImporter = csvImporter;
+        this.bulkLoader = bulkLoader;
+        this.productCatalogSync = productCatalogSync;
+        this.brandRepository = brandRepository;
+        this.productRepository = productRepository;
+        this.catalogRefresher = catalogRefresher;
+        this.importProperties = importProperties;
+        var threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(
+            Math.max(1, importProperties.getJobThreads()),
+            runnable -> {
+                var thread = new Thread(runnable, "import-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobStatusDTO submit(ImportJobType type, MultipartFile file) {
+        return submit(type, file, ImportMode.APPEND);
+    }
+
+    public ImportJobStatusDTO submit(ImportJobType type, MultipartFile file, ImportMode mode) {
+        if (file == null || file.isEmpty()) {
+            log.warn("Rejected empty {} import upload", type);
+            throw new ValidationException("Import file must not be empty");
+        }
+        if (mode == ImportMode.SYNC && type != ImportJobType.PRODUCT) {
+            log.warn("Rejected {} import in sync mode", type);
+            throw new ValidationException("Sync mode is only supported for product imports");
+        }
+
+        evictFinishedJobs();
+        var jobId = UUID.randomUUID().toString();
+        var sourceFile = spool(jobId, file);
+        var job = new ImportJob(jobId, type, mode, sourceFile, file.getOriginalFilename(), importProperties.getMaxJobErrors());
+        jobs.put(jobId, job);
+
+        log.info("Queued {} {} import job {} for file {} ({} bytes)", type, mode, jobId, file.getOriginalFilename(), file.getSize());
+        executor.execute(() -> run(job));
+        return job.toStatusDTO();
+    }
+
+    /**
+     * Dry run: parses the whole upload on the import parse pool and reports every invalid row (up to
+     * {@link ImportProperties#getMaxJobErrors()} messages) without writing anything.
+     */
+    public ImportValidationDTO validate(ImportJobType type, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            log.warn("Rejected empty {} validation upload", type);
+            throw new ValidationException("Import file must not be empty");
+        }
+
+        var errors = new RowErrorCollector(importProperties.getMaxJobErrors());
+        var brandResolver = type == ImportJobType.PRODUCT ? BrandResolver.load(brandRepository) : null;
+        try (Stream<CsvRecord> rows = CsvUtils.streamRecords(file.getInputStream())) {
+            var report = switch (type) {
+                case BRAND -> csvImporter.importRecords("brand", rows, new BrandCsvParser(), discard(), 1, errors);
+                case PRODUCT -> csvImporter.importRecords("product", rows, new ProductCsvParser(brandResolver), discard(), 1, errors);
+            };
+            log.info("Validated {} file {}. Valid: {}, Invalid: {}, {} rows/s",
+                type, file.getOriginalFilename(), report.getImported(), report.getSkipped(), report.getRowsPerSecond());
+            return new ImportValidationDTO(
+                type,
+                file.getOriginalFilename(),
+                report.getImported() + report.getSkipped(),
+                report.getImported(),
+                report.getSkipped(),
+                report.getElapsedMillis(),
+                report.getRowsPerSecond(),
+                errors.getErrors(),
+                errors.isTruncated(),
+                brandResolver != null ? brandResolver.getUnknownBrands() : Map.of()
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read uploaded import file", e);
+        }
+    }
+
+    private static <T> ChunkWriter<T> discard() {
+        return chunk -> {
+        };
+    }
+
+    public ImportJobStatusDTO getStatus(ImportJobType type, String jobId) {
+        return getOrThrowJob(type, jobId).toStatusDTO();
+    }
+
+    public ImportJobStatusDTO resume(ImportJobType type, String jobId) {
+        var job = getOrThrowJob(type, jobId);
+        synchronized (job) {
+            if (jobs.get(jobId) != job) {
+                log.error("Import job not found with ID: {}", jobId);
+                throw new NotFoundException("Import job not found with ID: " + jobId);
+            }
+            if (job.getStatus() != ImportJobStatus.FAILED) {
+                log.warn("Conflict: import job {} is {} and cannot be resumed", jobId, job.getStatus());
+                throw new ConflictException("Only failed import jobs can be resumed. Current status: " + job.getStatus());
+            }
+            job.markQueued();
+        }
+
+        if (job.getMode() == ImportMode.SYNC) {
+            log.info("Restarting {} sync job {} from the first row", type, jobId);
+        } else {
+            log.info("Resuming {} import job {} after row {}", type, jobId, job.getCheckpointRow());
+        }
+        executor.execute(() -> run(job));
+        return job.toStatusDTO();
+    }
+
+    /**
+     * Forgets finished jobs past {@link ImportProperties#getJobRetention()}, and the ones that finished first
+     * once more than {@link ImportProperties#getMaxFinishedJobs()} are kept. A failed job can no longer be
+     * resumed then, so its spooled file is deleted with it.
+     */
+    void evictFinishedJobs() {
+        var cutoff = LocalDateTime.now().minus(importProperties.getJobRetention());
+        List<Map.Entry<ImportJob, LocalDateTime>> finished = new ArrayList<>();
+        for (var job : jobs.values()) {
+            var finishedAt = job.getFinishedAt();
+            if (finishedAt != null) {
+                finished.add(Map.entry(job, finishedAt));
+            }
+        }
+        finished.sort(Map.Entry.comparingByValue());
+        var excess = finished.size() - importProperties.getMaxFinishedJobs();
+        for (var entry : finished) {
+            if (excess-- > 0 || entry.getValue().isBefore(cutoff)) {
+                forget(entry.getKey());
+            }
+        }
+    }
+
+    private void forget(ImportJob job) {
+        synchronized (job) {
+            // a failed job may have been resumed since it was picked
+            if (job.getFinishedAt() == null || !jobs.remove(job.getId(), job)) {
+                return;
+            }
+        }
+        deleteSourceFile(job);
+        log.debug("Forgot {} import job {} finished at {}", job.getType(), job.getId(), job.getFinishedAt());
+    }
+
+    private static void deleteSourceFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.getSourceFile());
+        } catch (IOException e) {
+            log.warn("Could not delete the spooled file of import job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private ImportJob getOrThrowJob(ImportJobType type, String jobId) {
+        var job = jobs.get(jobId);
+        if (job == null || job.getType() != type) {
+            log.error("Import job not found with ID: {}", jobId);
+            throw new NotFoundException("Import job not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    private Path spool(String jobId, MultipartFile file) {
+        try {
+            var workDir = Files.createDirectories(Path.of(importProperties.getWorkDir()));
+            var sourceFile = workDir.resolve(jobId + ".csv");
+            file.transferTo(sourceFile);
+            return sourceFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store uploaded import file", e);
+        }
+    }
+
+    private void run(ImportJob job) {
+        job.markRunning();
+        var checkpointRow = job.getCheckpointRow();
+        log.info("Starting {} import job {} from row {}", job.getType(), job.getId(), checkpointRow + 1);
+
+        ImportReport report;
+        try (Stream<CsvRecord> rows = CsvUtils.streamRecords(job.getSourceFile()).skip(checkpointRow)) {
+            var bulk = importProperties.getLoader() == LoaderMode.BULK;
+            report = switch (job.getType()) {
+                case BRAND -> csvImporter.importRecords("brand", rows, new BrandCsvParser(),
+                    bulk ? bulkLoader.brandWriter() : csvImporter.jpaWriter(brandRepository), checkpointRow + 1, job);
+                case PRODUCT -> {
+                    var brandResolver = BrandResolver.load(brandRepository);
+                    try {
+                        if (job.getMode() == ImportMode.SYNC) {
+                            var result = productCatalogSync.sync(rows, brandResolver, job);
+                            job.setSyncSummary(result.summary());
+                            yield result.report();
+                        }
+                        yield csvImporter.importRecords("product", rows, new ProductCsvParser(brandResolver),
+                            bulk ? bulkLoader.productWriter() : csvImporter.jpaWriter(productRepository), checkpointRow + 1, job);
+                    } finally {
+                        job.setUnknownBrands(brandResolver.getUnknownBrands());
+                    }
+                }
+            };
+        } catch (Exception exception) {
+            // the file stays, to resume from
+            job.markFailed(exception.getMessage());
+            log.error("{} import job {} failed after row {}. It can be resumed from there.",
+                job.getType(), job.getId(), job.getCheckpointRow(), exception);
+            return;
+        } finally {
+            // chunks committed before a failure stay in the database too
+            if (job.getCheckpointRow() > checkpointRow) {
+                catalogRefresher.importFinished(job.getType());
+            }
+        }
+
+        // outside the try: every row is in, so a file that cannot be deleted must not fail the job
+        deleteSourceFile(job);
+        job.markCompleted();
+        log.info("Finished {} import job {}. Imported: {}, Skipped: {}, {} rows/s",
+            job.getType(), job.getId(), report.getImported(), report.getSkipped(), report.getRowsPerSecond());
+    }
+}
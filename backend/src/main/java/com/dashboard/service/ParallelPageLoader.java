@@ -0,0 +1,124 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reads a page and counts its total at the same time, so a page takes about as long as the slower of the two
+ * queries instead of both. The count runs on a virtual thread outside the request's persistence context, and
+ * so on a connection of its own; the page rows are read on the calling thread.
+ * <p>
+ * A count still running when {@code app.search.parallel-count.timeout} is up is left out: the caller gets an
+ * {@link UncountedPage}, whose total only covers the rows up to the next page. The count is not cancelled, so one that goes
+ * through the count cache still lands there for the following pages. At most
+ * {@code max-concurrent} counts run beside page reads; beyond that they run after the page as before.
+ */
+@Slf4j
+@Component
+public class ParallelPageLoader {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SearchProperties.ParallelCount properties;
+    private final Semaphore counts;
+
+    public ParallelPageLoader(SearchProperties searchProperties) {
+        this.properties = searchProperties.getParallelCount();
+        this.counts = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * A page of {@code content}, which reads one row past the page to tell whether there is a next one, with
+     * the total from {@code total} when it is needed and arrives in time.
+     */
+    public <T> Page<T> load(Pageable pageable, Supplier<Slice<T>> content, LongSupplier total) {
+        if (pageable.isUnpaged() || !counts.tryAcquire()) {
+            var slice = content.get();
+            return new PageImpl<>(slice.getContent(), pageable, knownTotal(slice).orElseGet(total));
+        }
+        var startNanos = System.nanoTime();
+        Future<Long> count;
+        try {
+            count = executor.submit(() -> {
+                try {
+                    return total.getAsLong();
+                } finally {
+                    counts.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            counts.release();
+            throw e;
+        }
+
+        var slice = content.get();
+        var known = knownTotal(slice);
+        if (known.isPresent()) {
+            return new PageImpl<>(slice.getContent(), pageable, known.getAsLong());
+        }
+        var remainingNanos = properties.getTimeout().toNanos() - (System.nanoTime() - startNanos);
+        try {
+            return new PageImpl<>(slice.getContent(), pageable, count.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            log.info("Product count took longer than {}; returning page {} without a total", properties.getTimeout(), pageable.getPageNumber());
+            return new UncountedPage<>(slice);
+        } catch (ExecutionException e) {
+            log.warn("Could not count the products; returning page {} without a total", pageable.getPageNumber(), e.getCause());
+            return new UncountedPage<>(slice);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new UncountedPage<>(slice);
+        }
+    }
+
+    /**
+     * The total, when the page alone tells it: the last page, unless it is empty past the first one.
+     */
+    private static OptionalLong knownTotal(Slice<?> slice) {
+        var pageable = slice.getPageable();
+        if (slice.hasNext() || (!slice.hasContent() && pageable.isPaged() && pageable.getOffset() > 0)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of((pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements());
+    }
+
+    /**
+     * A page whose count was left out, serialized like any other page plus {@code "totalExact": false}. Its total
+     * is a lower bound: the rows up to the end of this page, plus one when there is a next page, so clients that
+     * page by {@code totalPages} can still move on to it.
+     */
+    public static class UncountedPage<T> extends PageImpl<T> {
+        UncountedPage(Slice<T> slice) {
+            super(slice.getContent(), slice.getPageable(),
+                slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0));
+        }
+
+        public boolean isTotalExact() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.repository.ProductSearchCriteria;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Total counts of product searches keyed by their normalized {@link ProductSearchCriteria}, so flipping
+ * through the pages of one search counts its rows once. {@link #invalidate()} drops every count; a count
+ * that was running while it was called is not cached.
+ */
+@Component
+public class ProductCountCache {
+    private final Map<ProductSearchCriteria, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public ProductCountCache(SearchProperties searchProperties) {
+        this.ttlNanos = searchProperties.getCountCacheTtl().toNanos();
+        this.maxEntries = searchProperties.getCountCacheSize();
+    }
+
+    public long get(ProductSearchCriteria criteria, LongSupplier count) {
+        var currentGeneration = generation.get();
+        var entry = counts.get(criteria);
+        if (entry != null && entry.generation() == currentGeneration && entry.expiresAtNanos() - System.nanoTime() > 0) {
+            return entry.count();
+        }
+
+        var total = count.getAsLong();
+        if (counts.size() >= maxEntries) {
+            counts.clear();
+        }
+        counts.put(criteria, new Entry(total, currentGeneration, System.nanoTime() + ttlNanos));
+        return total;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    private record Entry(long count, long generation, long expiresAtNanos) {
+    }
+}
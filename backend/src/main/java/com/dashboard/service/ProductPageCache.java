@@ -0,0 +1,235 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.repository.CountMode;
+import com.dashboard.repository.ProductSearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded cache of product search results keyed by normalized filter, page, sort and count mode. Entries
+ * expire after {@code app.search.result-cache.ttl} and belong to the {@link CatalogVersion} they were read
+ * under; a write bumps the version, which makes every older entry a miss at once.
+ * <p>
+ * Eviction follows W-TinyLFU: new entries land in a small LRU window, and one leaving the window only takes
+ * the place of the least recently used main entry if it was asked for more often, going by a small
+ * count-min sketch of recent lookups that halves itself periodically. A burst of one-off searches thus
+ * passes through the window without pushing out the handful of pages the dashboards keep asking for.
+ * Stale and expired entries are evicted first.
+ */
+@Component
+public final class ProductPageCache {
+    private final SearchProperties.ResultCache properties;
+    private final CatalogVersion catalogVersion;
+    private final LinkedHashMap<Key, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Key, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long bytes;
+
+    public ProductPageCache(SearchProperties searchProperties, CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        this.properties = searchProperties.getResultCache();
+        this.catalogVersion = catalogVersion;
+        this.sketch = new FrequencySketch(Math.max(1, properties.getMaxEntries()));
+        this.hits = meterRegistry.counter("product.search.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("product.search.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("product.search.cache.evictions");
+        meterRegistry.gauge("product.search.cache.hit.ratio", this, ProductPageCache::hitRatio);
+        meterRegistry.gauge("product.search.cache.size", this, ProductPageCache::size);
+        meterRegistry.gauge("product.search.cache.bytes", this, ProductPageCache::estimatedBytes);
+    }
+
+    /**
+     * The entry for {@code key} if it is current and has not expired, otherwise {@code null}.
+     */
+    Entry get(Key key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        synchronized (this) {
+            sketch.increment(key);
+            var entry = window.get(key);
+            if (entry == null) {
+                entry = main.get(key);
+            }
+            if (entry != null && !isLive(entry, System.nanoTime())) {
+                remove(key);
+                entry = null;
+            }
+            (entry != null ? hits : misses).increment();
+            return entry;
+        }
+    }
+
+    /**
+     * Remembers {@code result}, read under catalog {@code version} in {@code computeNanos}. Results of an
+     * older version are dropped.
+     */
+    void put(Key key, long version, Slice<ProductResponseDTO> result, long computeNanos) {
+        if (!isEnabled() || version != catalogVersion.current()) {
+            return;
+        }
+        var now = System.nanoTime();
+        var entry = new Entry(result, version, computeNanos, now + properties.getTtl().toNanos(), estimateBytes(result));
+        synchronized (this) {
+            remove(key);
+            window.put(key, entry);
+            bytes += entry.bytes();
+            var windowSize = Math.max(1, properties.getMaxEntries() / 100);
+            var mainSize = Math.max(0, properties.getMaxEntries() - windowSize);
+            while (window.size() > windowSize) {
+                var candidate = window.entrySet().iterator().next();
+                window.remove(candidate.getKey());
+                if (main.size() < mainSize) {
+                    main.put(candidate.getKey(), candidate.getValue());
+                    continue;
+                }
+                var victim = main.isEmpty() ? null : main.entrySet().iterator().next();
+                if (victim != null && (!isLive(victim.getValue(), now) || sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey()))) {
+                    main.remove(victim.getKey());
+                    evict(victim.getValue());
+                    main.put(candidate.getKey(), candidate.getValue());
+                } else {
+                    evict(candidate.getValue());
+                }
+            }
+        }
+    }
+
+    private boolean isEnabled() {
+        return properties.isEnabled() && properties.getMaxEntries() > 0;
+    }
+
+    private boolean isLive(Entry entry, long now) {
+        return entry.version() == catalogVersion.current() && entry.expiresAtNanos() - now > 0;
+    }
+
+    private void remove(Key key) {
+        var removed = window.remove(key);
+        if (removed == null) {
+            removed = main.remove(key);
+        }
+        if (removed != null) {
+            bytes -= removed.bytes();
+        }
+    }
+
+    private void evict(Entry entry) {
+        bytes -= entry.bytes();
+        evictions.increment();
+    }
+
+    synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    /**
+     * Rough heap footprint of the cached results: the response objects with their strings and boxed numbers,
+     * plus a fixed overhead per entry.
+     */
+    synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    double hitRatio() {
+        var total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    static long estimateBytes(Slice<ProductResponseDTO> result) {
+        // entry, key, criteria, pageable, map node and page: about 300 bytes
+        long total = 300 + 16 + 4L * result.getNumberOfElements();
+        for (ProductResponseDTO product : result.getContent()) {
+            // object with five references, and the id, quantity and price boxes
+            total += 40 + 3 * 16 + stringBytes(product.getName()) + stringBytes(product.getBrandName());
+        }
+        return total;
+    }
+
+    private static long stringBytes(String value) {
+        // String object plus its byte array, two bytes a character to be safe
+        return value == null ? 0 : 24 + ((16 + 2L * value.length() + 7) & ~7);
+    }
+
+    record Key(ProductSearchCriteria criteria, Pageable pageable, CountMode count) {
+    }
+
+    record Entry(Slice<ProductResponseDTO> result, long version, long computeNanos, long expiresAtNanos, long bytes) {
+        /**
+         * Probabilistic early expiration: refresh once {@code now - computeNanos * beta * ln(random)} passes the
+         * expiry, which gets likelier as the expiry nears and the search takes longer.
+         */
+        boolean refreshEarly(long now, double beta) {
+            var random = ThreadLocalRandom.current().nextDouble();
+            return now - (long) (computeNanos * beta * Math.log(random)) - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Count-min sketch of how often keys were looked up, with four 4-bit counters per key packed into longs.
+     * After ten lookups per cache entry all counters are halved, so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0x97cb3127L, 0xb492b66fL, 0x9ae16a3bL, 0xcbf29ce4L};
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxEntries) {
+            // one long, sixteen counters, per cache entry keeps collisions rare
+            this.table = new long[Integer.highestOneBit(Math.max(1, maxEntries - 1)) << 1];
+            this.sampleSize = 10 * maxEntries;
+        }
+
+        void increment(Object key) {
+            var hash = spread(key.hashCode());
+            var added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                var counter = counter(hash, i);
+                var word = counter >>> 4;
+                var shift = (counter & 15) << 2;
+                if (((table[word] >>> shift) & 15) < 15) {
+                    table[word] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(Object key) {
+            var hash = spread(key.hashCode());
+            var frequency = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                var counter = counter(hash, i);
+                frequency = Math.min(frequency, (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 15));
+            }
+            return frequency;
+        }
+
+        private int counter(int hash, int i) {
+            var mixed = (hash + SEEDS[i]) * SEEDS[i];
+            mixed += mixed >>> 32;
+            return (int) mixed & (table.length * 16 - 1);
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.repository.CountMode;
+import com.dashboard.repository.ProductSearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets identical product searches running at the same time share one database round trip. Searches are keyed
+ * by their normalized {@link ProductSearchCriteria}, page, sort and count mode; the first caller runs the
+ * search and the ones arriving while it runs wait for its result instead of running their own.
+ * <p>
+ * Finished results go to the {@link ProductPageCache}, except counted ones that came back without their total.
+ * Shortly before a cached result expires, callers start refreshing it early at random (the sooner the slower
+ * the search was), so one of them re-runs it while the rest are still served, instead of all of them missing
+ * at once when it expires. Searches belong to the {@link CatalogVersion} they started under; one started
+ * before a write is not joined after it.
+ */
+@Component
+public final class ProductSearchCoalescer {
+    private final Map<Flight, CompletableFuture<Slice<ProductResponseDTO>>> inFlight = new ConcurrentHashMap<>();
+    private final ProductPageCache productPageCache;
+    private final CatalogVersion catalogVersion;
+    private final SearchProperties.Coalescing properties;
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter reused;
+
+    public ProductSearchCoalescer(
+        ProductPageCache productPageCache,
+        CatalogVersion catalogVersion,
+        SearchProperties searchProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.productPageCache = productPageCache;
+        this.catalogVersion = catalogVersion;
+        this.properties = searchProperties.getCoalescing();
+        this.executed = meterRegistry.counter("product.search.requests", "outcome", "executed");
+        this.joined = meterRegistry.counter("product.search.requests", "outcome", "joined");
+        this.reused = meterRegistry.counter("product.search.requests", "outcome", "reused");
+        meterRegistry.gauge("product.search.coalescing.ratio", this, ProductSearchCoalescer::coalescingRatio);
+    }
+
+    public Slice<ProductResponseDTO> get(ProductSearchCriteria criteria, Pageable pageable, CountMode count, Supplier<Slice<ProductResponseDTO>> search) {
+        var key = new ProductPageCache.Key(criteria, pageable, count);
+        var version = catalogVersion.current();
+        var cached = productPageCache.get(key);
+        if (cached != null && !cached.refreshEarly(System.nanoTime(), properties.getEarlyRefreshBeta())) {
+            reused.increment();
+            return cached.result();
+        }
+        if (!properties.isEnabled()) {
+            executed.increment();
+            return run(key, version, search);
+        }
+
+        var flight = new CompletableFuture<Slice<ProductResponseDTO>>();
+        var running = inFlight.putIfAbsent(new Flight(key, version), flight);
+        if (running != null) {
+            // someone is already refreshing it; a result that has not expired yet is still good to serve
+            if (cached != null) {
+                reused.increment();
+                return cached.result();
+            }
+            joined.increment();
+            return join(running);
+        }
+
+        executed.increment();
+        try {
+            var result = run(key, version, search);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(new Flight(key, version), flight);
+        }
+    }
+
+    private Slice<ProductResponseDTO> run(ProductPageCache.Key key, long version, Supplier<Slice<ProductResponseDTO>> search) {
+        var startNanos = System.nanoTime();
+        var result = search.get();
+        // a counted search comes back without its total when the count timed out; ask again next time
+        if (key.count() == CountMode.NONE || (result instanceof Page && !(result instanceof ParallelPageLoader.UncountedPage))) {
+            productPageCache.put(key, version, result, System.nanoTime() - startNanos);
+        }
+        return result;
+    }
+
+    /**
+     * Share of searches answered without running them: joined to a running one or served from the cache.
+     */
+    double coalescingRatio() {
+        var total = executed.count() + joined.count() + reused.count();
+        return total == 0 ? 0 : (joined.count() + reused.count()) / total;
+    }
+
+    private static Slice<ProductResponseDTO> join(CompletableFuture<Slice<ProductResponseDTO>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Flight(ProductPageCache.Key key, long version) {
+    }
+}
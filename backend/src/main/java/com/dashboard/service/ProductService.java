@@ -1,22 +1,39 @@
 package com.dashboard.service;
 
+import com.dashboard.config.SearchProperties;
 import com.dashboard.dto.BrandProductCountDTO;
+import com.dashboard.dto.CursorPageDTO;
 import com.dashboard.dto.ProductRequestDTO;
 import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.dto.ProductSearchResultDTO;
 import com.dashboard.exception.ConflictException;
 import com.dashboard.exception.NotFoundException;
 import com.dashboard.exception.ValidationException;
 import com.dashboard.model.Brand;
 import com.dashboard.model.Product;
 import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.CountMode;
+import com.dashboard.repository.ProductFacet;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductSearchCriteria;
+import com.dashboard.search.CatalogSuggestions;
+import com.dashboard.search.ProductNameIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,6 +42,13 @@ import java.util.stream.Collectors;
 public class ProductService {
     private final ProductRepository productRepository;
     private final BrandRepository brandRepository;
+    private final ProductCountCache productCountCache;
+    private final ProductSearchCoalescer productSearchCoalescer;
+    private final ParallelPageLoader parallelPageLoader;
+    private final CatalogVersion catalogVersion;
+    private final ProductNameIndex productNameIndex;
+    private final CatalogSuggestions catalogSuggestions;
+    private final SearchProperties searchProperties;
 
     private Product getOrThrowProduct(Long id) {
         return productRepository.findByIdAndDeleted(id, false)
@@ -49,19 +73,161 @@ public class ProductService {
         }
     }
 
-    public Page<ProductResponseDTO> getFilteredProducts(
+    public Slice<ProductResponseDTO> getFilteredProducts(
         boolean deleted,
         String name,
         String brand,
         Double minPrice,
         Double maxPrice,
-        Pageable pageable
+        Pageable pageable,
+        CountMode count
     ) {
-        log.info("Fetching product with deleted = {}. Page {}, size {}, name {}, brand {}, minPrice {}, maxPrice {}", deleted, pageable.getPageNumber(), pageable.getPageSize(), name, brand, minPrice, maxPrice);
-        name = (name == null) ? "" : name.trim();
-        brand = (brand == null) ? "" : brand.trim();
-        return productRepository.searchProducts(deleted, name, brand, minPrice, maxPrice, pageable)
-            .map(this::mapToResponseDTO);
+        log.info("Fetching product with deleted = {}. Page {}, size {}, count {}, name {}, brand {}, minPrice {}, maxPrice {}", deleted, pageable.getPageNumber(), pageable.getPageSize(), count, name, brand, minPrice, maxPrice);
+        var criteria = new ProductSearchCriteria(deleted, name, brand, minPrice, maxPrice);
+        return productSearchCoalescer.get(criteria, pageable, count, () -> search(criteria, findNameMatches(criteria), pageable, count));
+    }
+
+    /**
+     * A page of products plus the requested facet counts for the same filters. The name is resolved once for
+     * both, despite typos when {@code fuzzy} is set (see {@link #getSimilarProducts}), and the facets take one
+     * grouped query.
+     */
+    public ProductSearchResultDTO getFacetedProducts(
+        boolean deleted,
+        String name,
+        String brand,
+        Double minPrice,
+        Double maxPrice,
+        Pageable pageable,
+        CountMode count,
+        boolean fuzzy,
+        Collection<String> facetNames
+    ) {
+        var facets = ProductFacet.parse(facetNames);
+        log.info("Fetching product with deleted = {} and facets {}. Page {}, size {}, count {}, name {}, fuzzy {}, brand {}, minPrice {}, maxPrice {}", deleted, facets, pageable.getPageNumber(), pageable.getPageSize(), count, name, fuzzy, brand, minPrice, maxPrice);
+        var criteria = new ProductSearchCriteria(deleted, name, brand, minPrice, maxPrice);
+        var similar = fuzzy ? findSimilarMatches(criteria) : Optional.<List<Long>>empty();
+        var nameMatches = similar.isPresent() ? similar : findNameMatches(criteria);
+        var page = similar.isPresent()
+            ? rankBySimilarity(criteria, similar.get(), pageable, count)
+            : search(criteria, nameMatches, pageable, count);
+        var facetCriteria = nameMatches.map(criteria::withProductIds).orElse(criteria);
+        return new ProductSearchResultDTO(page, productRepository.facetProductResponses(facetCriteria, facets, searchProperties.getPriceBuckets()));
+    }
+
+    private Optional<List<Long>> findNameMatches(ProductSearchCriteria criteria) {
+        return !criteria.deleted() && criteria.name() != null ? productNameIndex.find(criteria.name()) : Optional.empty();
+    }
+
+    private Optional<List<Long>> findSimilarMatches(ProductSearchCriteria criteria) {
+        return !criteria.deleted() && criteria.name() != null ? productNameIndex.findSimilar(criteria.name()) : Optional.empty();
+    }
+
+    private Slice<ProductResponseDTO> search(ProductSearchCriteria criteria, Optional<List<Long>> nameMatches, Pageable pageable, CountMode count) {
+        if (nameMatches.isPresent()) {
+            return getProductsByIds(criteria, nameMatches.get(), pageable, count);
+        }
+        return switch (count) {
+            case EXACT -> page(criteria, pageable, () -> productCountCache.get(criteria, () -> productRepository.countProductResponses(criteria)));
+            case ESTIMATE -> page(criteria, pageable, () -> productRepository.estimateProductResponses(criteria));
+            case NONE -> productRepository.searchProductResponseSlice(criteria, pageable);
+        };
+    }
+
+    /**
+     * A page with its total, counted while the rows are read when parallel counts are on; a count that misses
+     * its timeout leaves a page with only a lower bound, see {@link ParallelPageLoader.UncountedPage}.
+     */
+    private Slice<ProductResponseDTO> page(ProductSearchCriteria criteria, Pageable pageable, LongSupplier total) {
+        return parallelPageLoader.isEnabled()
+            ? parallelPageLoader.load(pageable, () -> productRepository.searchProductResponseSlice(criteria, pageable), total)
+            : productRepository.searchProductResponses(criteria, pageable, total);
+    }
+
+    /**
+     * Serves a name search whose matches the name index already resolved, so the database only reads the
+     * page rows by id. When the name is the only filter, the matches are the total.
+     */
+    private Slice<ProductResponseDTO> getProductsByIds(ProductSearchCriteria criteria, List<Long> ids, Pageable pageable, CountMode count) {
+        if (ids.isEmpty()) {
+            return count == CountMode.NONE ? new SliceImpl<>(List.of(), pageable, false) : Page.empty(pageable);
+        }
+        var byIds = criteria.withProductIds(ids);
+        return switch (count) {
+            case EXACT, ESTIMATE -> byIds.filtersOnlyByName()
+                ? productRepository.searchProductResponses(byIds, pageable, ids::size)
+                : page(byIds, pageable, () -> productCountCache.get(criteria, () -> productRepository.countProductResponses(byIds)));
+            case NONE -> productRepository.searchProductResponseSlice(byIds, pageable);
+        };
+    }
+
+    /**
+     * Like {@link #getFilteredProducts}, with the name matched despite typos and the results ranked by
+     * similarity unless another sort is asked for. Falls back to the plain name filter when there is no name,
+     * deleted products are listed or the name index is not loaded yet.
+     */
+    public Slice<ProductResponseDTO> getSimilarProducts(
+        boolean deleted,
+        String name,
+        String brand,
+        Double minPrice,
+        Double maxPrice,
+        Pageable pageable,
+        CountMode count
+    ) {
+        var criteria = new ProductSearchCriteria(deleted, name, brand, minPrice, maxPrice);
+        var similar = findSimilarMatches(criteria);
+        if (similar.isEmpty()) {
+            return getFilteredProducts(deleted, name, brand, minPrice, maxPrice, pageable, count);
+        }
+        log.info("Fetching products similar to {}. Page {}, size {}, brand {}, minPrice {}, maxPrice {}: {} candidates", name, pageable.getPageNumber(), pageable.getPageSize(), brand, minPrice, maxPrice, similar.get().size());
+        return rankBySimilarity(criteria, similar.get(), pageable, count);
+    }
+
+    /**
+     * The page of {@code ids}, most similar first, that also match the other filters of {@code criteria}.
+     */
+    private Slice<ProductResponseDTO> rankBySimilarity(ProductSearchCriteria criteria, List<Long> ids, Pageable pageable, CountMode count) {
+        if (ids.isEmpty()) {
+            return count == CountMode.NONE ? new SliceImpl<>(List.of(), pageable, false) : Page.empty(pageable);
+        }
+        // the candidates are capped, so all of their rows are read at once and the page is cut here
+        var rows = productRepository.searchProductResponses(criteria.withProductIds(ids), Pageable.unpaged(pageable.getSort()), () -> 0).getContent();
+        if (pageable.getSort().isUnsorted()) {
+            var rank = new HashMap<Long, Integer>(ids.size() * 2);
+            for (int i = 0; i < ids.size(); i++) {
+                rank.put(ids.get(i), i);
+            }
+            rows = rows.stream().sorted(Comparator.comparing(row -> rank.get(row.getId()))).toList();
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows, pageable, rows.size());
+        }
+        var from = (int) Math.min(pageable.getOffset(), rows.size());
+        var to = Math.min(from + pageable.getPageSize(), rows.size());
+        return count == CountMode.NONE
+            ? new SliceImpl<>(rows.subList(from, to), pageable, to < rows.size())
+            : new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+    }
+
+    public CursorPageDTO<ProductResponseDTO> getFilteredProductsAfter(
+        boolean deleted,
+        String name,
+        String brand,
+        Double minPrice,
+        Double maxPrice,
+        String cursor,
+        int size,
+        Sort sort,
+        boolean fuzzy
+    ) {
+        if (fuzzy) {
+            // similarity ranks have no key to continue from
+            throw new ValidationException("Fuzzy search cannot be paged with a cursor; use page and size instead");
+        }
+        log.info("Fetching product with deleted = {}. Cursor {}, size {}, name {}, brand {}, minPrice {}, maxPrice {}", deleted, cursor, size, name, brand, minPrice, maxPrice);
+        var criteria = new ProductSearchCriteria(deleted, name, brand, minPrice, maxPrice);
+        return productRepository.searchProductResponsesAfter(criteria, cursor, size, sort);
     }
 
     public ProductResponseDTO getOneById(Long id) {
@@ -69,10 +235,14 @@ public class ProductService {
 
         validateProductId(id);
 
-        var product = getOrThrowProduct(id);
+        var product = productRepository.findResponseByIdAndDeleted(id, false)
+            .orElseThrow(() -> {
+                log.error("Product not found with ID: {}", id);
+                throw new NotFoundException("Product not found with ID: " + id);
+            });
 
         log.info("Get product: {} (id: {})", product.getName(), product.getId());
-        return mapToResponseDTO(product);
+        return product;
     }
 
     public ProductResponseDTO create(ProductRequestDTO productRequestDTO) {
@@ -94,6 +264,10 @@ public class ProductService {
             .build();
 
         var createdProduct = productRepository.save(productToCreate);
+        productCountCache.invalidate();
+        catalogVersion.bump();
+        productNameIndex.put(createdProduct.getId(), createdProduct.getName());
+        catalogSuggestions.productChanged(createdProduct.getId(), createdProduct.getName());
 
         log.info("Product created: {} (id: {})", createdProduct.getName(), createdProduct.getId());
         return mapToResponseDTO(createdProduct);
@@ -120,6 +294,10 @@ public class ProductService {
         existingProduct.setPrice(productRequestDTO.getPrice());
 
         var updatedProduct = productRepository.save(existingProduct);
+        productCountCache.invalidate();
+        catalogVersion.bump();
+        productNameIndex.put(updatedProduct.getId(), updatedProduct.getName());
+        catalogSuggestions.productChanged(updatedProduct.getId(), updatedProduct.getName());
 
         log.debug("After update: {}", updatedProduct);
         log.info("Product updated: {} (id {})", updatedProduct.getName(), updatedProduct.getId());
@@ -133,9 +311,17 @@ public class ProductService {
         var product = getOrThrowProduct(id);
 
         productRepository.setDeletedTrueById(product.getId());
+        productCountCache.invalidate();
+        catalogVersion.bump();
+        productNameIndex.remove(product.getId());
+        catalogSuggestions.productRemoved(product.getId());
         log.info("Product ID {} deleted", id);
     }
 
+    public List<String> suggestNames(String prefix, int limit) {
+        return catalogSuggestions.suggestProducts(prefix, limit);
+    }
+
     public List<BrandProductCountDTO> getProductCountByBrand() {
         List<Object[]> objects = productRepository.countProductsGroupedByBrand();
         return objects.stream()
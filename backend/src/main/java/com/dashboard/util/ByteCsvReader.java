@@ -0,0 +1,206 @@
+package com.dashboard.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * RFC 4180 tokenizer that works on UTF-8 bytes instead of decoded characters. Input comes either from a
+ * channel read through a direct {@link ByteBuffer}, or from a buffer that already holds the whole input
+ * (e.g. a memory-mapped file).
+ * <p>
+ * Fields are separated by commas and records by LF or CRLF. A quoted field may contain commas, line breaks
+ * and doubled quotes ({@code ""}), which are unescaped while the field is read. Each record's field bytes are
+ * copied once into an append-only slab and exposed as a {@link CsvRecord}; no {@code String} is created until
+ * a parser asks for one. A leading UTF-8 byte order mark is skipped.
+ */
+public final class ByteCsvReader implements Iterator<CsvRecord>, Closeable {
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int SLAB_SIZE = 1 << 18;
+    private static final int END_OF_INPUT = -1;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] slab = new byte[SLAB_SIZE];
+    private int slabPosition;
+    private int recordStart;
+    private int[] ends = new int[16];
+    private int pushedBack = Integer.MIN_VALUE;
+    private boolean started;
+    private CsvRecord next;
+
+    private ByteCsvReader(ReadableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads from {@code channel} through a direct buffer; closing the reader closes the channel.
+     */
+    public static ByteCsvReader of(ReadableByteChannel channel) {
+        return new ByteCsvReader(channel, ByteBuffer.allocateDirect(READ_BUFFER_SIZE).flip());
+    }
+
+    /**
+     * Reads the remaining bytes of {@code buffer}, e.g. a {@link java.nio.MappedByteBuffer}.
+     */
+    public static ByteCsvReader of(ByteBuffer buffer) {
+        return new ByteCsvReader(null, buffer);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public CsvRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private CsvRecord readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            skipByteOrderMark();
+        }
+        var b = nextByte();
+        if (b == END_OF_INPUT) {
+            return null;
+        }
+
+        recordStart = slabPosition;
+        var fieldCount = 0;
+        while (true) {
+            if (b == '"') {
+                b = readQuoted();
+            }
+            while (b != ',' && b != '\n' && b != '\r' && b != END_OF_INPUT) {
+                append(b);
+                b = nextByte();
+            }
+
+            if (fieldCount == ends.length) {
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+            }
+            ends[fieldCount++] = slabPosition;
+
+            if (b != ',') {
+                break;
+            }
+            b = nextByte();
+        }
+        if (b == '\r') {
+            var afterCarriageReturn = nextByte();
+            if (afterCarriageReturn != '\n') {
+                pushBack(afterCarriageReturn);
+            }
+        }
+        return new ByteCsvRecord(slab, recordStart, Arrays.copyOf(ends, fieldCount));
+    }
+
+    /**
+     * Reads a quoted field after its opening quote and returns the first byte after the closing quote.
+     */
+    private int readQuoted() throws IOException {
+        while (true) {
+            var b = nextByte();
+            if (b == END_OF_INPUT) {
+                return b;
+            }
+            if (b == '"') {
+                b = nextByte();
+                if (b != '"') {
+                    return b;
+                }
+            }
+            append(b);
+        }
+    }
+
+    private void append(int b) {
+        if (slabPosition == slab.length) {
+            growSlab();
+        }
+        slab[slabPosition++] = (byte) b;
+    }
+
+    /**
+     * Moves the record being read to a fresh slab. Earlier slabs stay untouched because records that were
+     * already returned still point into them.
+     */
+    private void growSlab() {
+        var recordLength = slabPosition - recordStart;
+        var newSlab = new byte[Math.max(SLAB_SIZE, recordLength * 2)];
+        System.arraycopy(slab, recordStart, newSlab, 0, recordLength);
+        for (int i = 0; i < ends.length; i++) {
+            ends[i] -= recordStart;
+        }
+        slab = newSlab;
+        slabPosition = recordLength;
+        recordStart = 0;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        var first = nextByte();
+        if (first != 0xEF) {
+            pushBack(first);
+            return;
+        }
+        // a lone 0xEF is not valid UTF-8 at the start of a CSV, so the next two bytes complete the mark
+        nextByte();
+        nextByte();
+    }
+
+    private void pushBack(int b) {
+        pushedBack = b;
+    }
+
+    private int nextByte() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            var b = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return b;
+        }
+        if (!buffer.hasRemaining() && !refill()) {
+            return END_OF_INPUT;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private boolean refill() throws IOException {
+        if (channel == null) {
+            return false;
+        }
+        buffer.clear();
+        var read = 0;
+        while (read == 0) {
+            read = channel.read(buffer);
+        }
+        buffer.flip();
+        return read > 0;
+    }
+}
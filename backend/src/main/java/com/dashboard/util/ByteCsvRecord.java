@@ -0,0 +1,146 @@
+package com.dashboard.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A record produced by {@link ByteCsvReader}: field bytes (already unquoted, UTF-8) live in a shared slab
+ * that is never written again once the record has been read, so records can be handed to other threads.
+ */
+final class ByteCsvRecord implements CsvRecord {
+    /**
+     * Largest mantissa and power of ten for which {@code mantissa / 10^scale} is exact in double arithmetic
+     * and therefore rounds the same way as {@link Double#parseDouble}.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final byte[] data;
+    private final int start;
+    private final int[] ends;
+
+    ByteCsvRecord(byte[] data, int start, int[] ends) {
+        this.data = data;
+        this.start = start;
+        this.ends = ends;
+    }
+
+    @Override
+    public int size() {
+        return ends.length;
+    }
+
+    @Override
+    public String get(int index) {
+        var from = from(index);
+        return new String(data, from, ends[index] - from, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isBlank(int index) {
+        for (int i = from(index); i < ends[index]; i++) {
+            if (!isWhitespace(data[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long parseNonNegativeInt(int index) {
+        var from = trimStart(index);
+        var to = trimEnd(index, from);
+        if (from == to) {
+            return NOT_A_NUMBER;
+        }
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            var digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_NUMBER;
+            }
+            if (result <= Integer.MAX_VALUE) {
+                result = result * 10 + digit;
+            }
+        }
+        return result > Integer.MAX_VALUE ? OUT_OF_RANGE : result;
+    }
+
+    @Override
+    public double parseDecimal(int index) {
+        var from = trimStart(index);
+        var to = trimEnd(index, from);
+        var i = from;
+        var negative = false;
+        if (i < to && (data[i] == '-' || data[i] == '+')) {
+            negative = data[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean exact = true;
+        for (; i < to; i++) {
+            var b = data[i];
+            if (b == '.') {
+                if (scale >= 0) {
+                    return Double.NaN;
+                }
+                scale = 0;
+                continue;
+            }
+            var digit = b - '0';
+            if (digit < 0 || digit > 9) {
+                return Double.NaN;
+            }
+            digits++;
+            if (scale >= 0) {
+                scale++;
+            }
+            if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + digit;
+            } else {
+                exact = false;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        scale = Math.max(scale, 0);
+        if (!exact || scale >= POWERS_OF_TEN.length) {
+            // rare: too many significant digits for the exact fast path
+            return Double.parseDouble(new String(data, from, to - from, StandardCharsets.US_ASCII));
+        }
+        var value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private int from(int index) {
+        return index == 0 ? start : ends[index - 1];
+    }
+
+    private int trimStart(int index) {
+        var i = from(index);
+        while (i < ends[index] && isWhitespace(data[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private int trimEnd(int index, int from) {
+        var i = ends[index];
+        while (i > from && isWhitespace(data[i - 1])) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        // same set as String.trim(); UTF-8 multi-byte sequences are negative and never match
+        return b >= 0 && b <= ' ';
+    }
+}
@@ -0,0 +1,105 @@
+package com.dashboard.util;
+
+/**
+ * One CSV row as seen by the parsers. Fields are read by index; numeric columns can be parsed straight
+ * from the underlying characters or bytes, so a parser only creates a {@code String} for fields it keeps as
+ * text (or for the offending value when it reports an error).
+ */
+public interface CsvRecord {
+    /**
+     * Returned by {@link #parseNonNegativeInt} when the field is not a plain run of ASCII digits.
+     */
+    long NOT_A_NUMBER = -1;
+    /**
+     * Returned by {@link #parseNonNegativeInt} when the digits do not fit in an {@code int}.
+     */
+    long OUT_OF_RANGE = -2;
+
+    int size();
+
+    /**
+     * The raw field value, not trimmed.
+     */
+    String get(int index);
+
+    /**
+     * True when the field is empty or only contains whitespace.
+     */
+    boolean isBlank(int index);
+
+    /**
+     * Parses the trimmed field as a non-negative {@code int}, returning {@link #NOT_A_NUMBER} or
+     * {@link #OUT_OF_RANGE} instead of throwing.
+     */
+    long parseNonNegativeInt(int index);
+
+    /**
+     * Parses the trimmed field as a plain decimal ({@code [+-]digits[.digits]}, no exponent), returning
+     * {@link Double#NaN} when it is not one.
+     */
+    double parseDecimal(int index);
+
+    static CsvRecord of(String... fields) {
+        return new StringArrayRecord(fields);
+    }
+
+    final class StringArrayRecord implements CsvRecord {
+        private final String[] fields;
+
+        private StringArrayRecord(String[] fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public int size() {
+            return fields.length;
+        }
+
+        @Override
+        public String get(int index) {
+            return fields[index];
+        }
+
+        @Override
+        public boolean isBlank(int index) {
+            return fields[index].isBlank();
+        }
+
+        @Override
+        public long parseNonNegativeInt(int index) {
+            var value = fields[index].trim();
+            if (value.isEmpty()) {
+                return NOT_A_NUMBER;
+            }
+            long result = 0;
+            for (int i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return NOT_A_NUMBER;
+                }
+                if (result <= Integer.MAX_VALUE) {
+                    result = result * 10 + (c - '0');
+                }
+            }
+            return result > Integer.MAX_VALUE ? OUT_OF_RANGE : result;
+        }
+
+        @Override
+        public double parseDecimal(int index) {
+            var value = fields[index].trim();
+            var digits = 0;
+            var dots = 0;
+            for (int i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digits++;
+                } else if (c == '.') {
+                    dots++;
+                } else if (i != 0 || (c != '-' && c != '+')) {
+                    return Double.NaN;
+                }
+            }
+            return digits > 0 && dots <= 1 ? Double.parseDouble(value) : Double.NaN;
+        }
+    }
+}
@@ -2,13 +2,30 @@ package com.dashboard.util;
 
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+@Slf4j
 public class CsvUtils {
     public static List<String[]> readCsvFromResource(String resourcePath) {
         List<String[]> records = new ArrayList<>();
@@ -16,7 +33,7 @@ public class CsvUtils {
         try {
             InputStream inputStream = CsvUtils.class.getClassLoader().getResourceAsStream(resourcePath);
             if (inputStream == null) {
-                System.out.println(resourcePath + " not found in resources/");
+                log.warn("{} not found in resources/", resourcePath);
                 return records;
             }
 
@@ -26,10 +43,157 @@ public class CsvUtils {
                 records = csvReader.readAll();
             }
         } catch (Exception e) {
-            System.err.println("Error reading CSV file: " + resourcePath);
-            e.printStackTrace();
+            log.error("Error reading CSV file: {}", resourcePath, e);
         }
 
         return records;
     }
+
+    /**
+     * Lazily reads a classpath CSV one row at a time. The returned stream holds the underlying
+     * reader open, so callers must close it (try-with-resources).
+     */
+    public static Stream<String[]> streamCsvFromResource(String resourcePath) {
+        InputStream inputStream = CsvUtils.class.getClassLoader().getResourceAsStream(resourcePath);
+        if (inputStream == null) {
+            log.warn("{} not found in resources/", resourcePath);
+            return Stream.empty();
+        }
+        return streamCsv(inputStream);
+    }
+
+    /**
+     * Lazily tokenizes a classpath CSV with {@link ByteCsvReader}, skipping the header line and reporting
+     * the total number of bytes consumed so far to {@code bytesRead}. Callers must close the stream.
+     */
+    public static Stream<CsvRecord> streamRecordsFromResource(String resourcePath, LongConsumer bytesRead) {
+        InputStream inputStream = CsvUtils.class.getClassLoader().getResourceAsStream(resourcePath);
+        if (inputStream == null) {
+            log.warn("{} not found in resources/", resourcePath);
+            return Stream.empty();
+        }
+        return streamRecords(ByteCsvReader.of(Channels.newChannel(new CountingInputStream(inputStream, bytesRead))));
+    }
+
+    /**
+     * Lazily tokenizes a CSV file with {@link ByteCsvReader}, skipping the header line. Callers must close
+     * the stream.
+     */
+    public static Stream<CsvRecord> streamRecords(Path file) throws IOException {
+        return streamRecords(ByteCsvReader.of(FileChannel.open(file, StandardOpenOption.READ)));
+    }
+
+    /**
+     * Lazily tokenizes UTF-8 CSV from {@code inputStream} with {@link ByteCsvReader}, skipping the header
+     * line. Closing the returned stream closes the input stream.
+     */
+    public static Stream<CsvRecord> streamRecords(InputStream inputStream) {
+        return streamRecords(ByteCsvReader.of(Channels.newChannel(inputStream)));
+    }
+
+    /**
+     * Like {@link #streamRecords(Path)}, but reads the file through a read-only memory mapping. Only for
+     * files below 2 GB; the mapping is released when the buffer is garbage collected.
+     */
+    public static Stream<CsvRecord> streamRecordsMapped(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return streamRecords(ByteCsvReader.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+        }
+    }
+
+    private static Stream<CsvRecord> streamRecords(ByteCsvReader reader) {
+        var spliterator = Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+            .skip(1)
+            .onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    log.warn("Error closing CSV reader", e);
+                }
+            });
+    }
+
+    /**
+     * Size of a classpath resource in bytes, or -1 if it does not exist or its size is unknown.
+     */
+    public static long resourceSize(String resourcePath) {
+        var url = CsvUtils.class.getClassLoader().getResource(resourcePath);
+        if (url == null) {
+            return -1;
+        }
+        try {
+            return url.openConnection().getContentLengthLong();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * SHA-256 of a classpath resource as lowercase hex, or {@code null} if the resource does not exist.
+     */
+    public static String sha256OfResource(String resourcePath) {
+        try (InputStream inputStream = CsvUtils.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (inputStream == null) {
+                return null;
+            }
+            var digest = MessageDigest.getInstance("SHA-256");
+            var buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can not compute checksum of " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Lazily reads UTF-8 CSV rows from the given stream, skipping the header line.
+     * Closing the returned stream closes the input stream.
+     */
+    public static Stream<String[]> streamCsv(InputStream inputStream) {
+        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        CSVReader csvReader = new CSVReaderBuilder(reader).withSkipLines(1).build();
+        var spliterator = Spliterators.spliteratorUnknownSize(csvReader.iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false)
+            .onClose(() -> {
+                try {
+                    csvReader.close();
+                } catch (IOException e) {
+                    log.warn("Error closing CSV reader", e);
+                }
+            });
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongConsumer bytesRead;
+        private long count;
+
+        CountingInputStream(InputStream in, LongConsumer bytesRead) {
+            super(in);
+            this.bytesRead = bytesRead;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = super.read();
+            if (b != -1) {
+                bytesRead.accept(++count);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+                bytesRead.accept(count);
+            }
+            return read;
+        }
+    }
 }
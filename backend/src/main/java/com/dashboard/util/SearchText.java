@@ -0,0 +1,15 @@
+package com.dashboard.util;
+
+import java.util.Locale;
+
+/**
+ * Normalization shared by the {@code name_lower} columns and the search filters that query them.
+ */
+public final class SearchText {
+    private SearchText() {
+    }
+
+    public static String normalize(String text) {
+        return text == null ? null : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -30,4 +30,26 @@ CREATE TABLE IF NOT EXISTS users (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     deleted BOOLEAN NOT NULL DEFAULT FALSE
-    );
\ No newline at end of file
+    );
+
+CREATE TABLE IF NOT EXISTS seed_metadata (
+    file_name VARCHAR(255) PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL,
+    applied_at TIMESTAMP NOT NULL
+    );
+
+-- lower-cased names for case-insensitive search; written by the application, backfilled here for older rows
+ALTER TABLE brand ADD COLUMN IF NOT EXISTS name_lower VARCHAR(255);
+ALTER TABLE product ADD COLUMN IF NOT EXISTS name_lower VARCHAR(255);
+UPDATE brand SET name_lower = LOWER(TRIM(name)) WHERE name_lower IS NULL;
+UPDATE product SET name_lower = LOWER(TRIM(name)) WHERE name_lower IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_product_brand_id_name ON product (brand_id, name);
+CREATE INDEX IF NOT EXISTS idx_product_brand_deleted_price ON product (brand_id, deleted, price);
+
+-- searches only ever read active rows, so these indexes leave soft-deleted ones out; the (sort key, id)
+-- ones also let keyset pages seek straight to the last row of the previous page
+CREATE INDEX IF NOT EXISTS idx_product_active_price_id ON product (price, id) WHERE NOT deleted;
+CREATE INDEX IF NOT EXISTS idx_product_active_name_id ON product (name, id) WHERE NOT deleted;
+CREATE INDEX IF NOT EXISTS idx_product_active_name_lower ON product (name_lower) WHERE NOT deleted;
+CREATE INDEX IF NOT EXISTS idx_brand_active_name_lower ON brand (name_lower) WHERE NOT deleted;
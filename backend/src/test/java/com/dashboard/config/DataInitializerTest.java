@@ -1,25 +1,44 @@
 package com.dashboard.config;
 
+import com.dashboard.importer.BulkLoader;
+import com.dashboard.importer.CsvImporter;
+import com.dashboard.importer.ImportProperties;
+import com.dashboard.importer.LoaderMode;
+import com.dashboard.importer.UpsertLoader;
 import com.dashboard.model.Brand;
 import com.dashboard.model.Product;
+import com.dashboard.model.SeedMetadata;
+import com.dashboard.model.Users;
 import com.dashboard.repository.BrandRepository;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.SeedMetadataRepository;
 import com.dashboard.repository.UsersRepository;
+import com.dashboard.service.CatalogRefresher;
+import com.dashboard.util.CsvRecord;
 import com.dashboard.util.CsvUtils;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,13 +50,40 @@ class DataInitializerTest {
     private ProductRepository productRepository;
     @Mock
     private UsersRepository usersRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private BulkLoader bulkLoader;
+    @Mock
+    private UpsertLoader upsertLoader;
+    @Mock
+    private SeedMetadataRepository seedMetadataRepository;
+    @Mock
+    private SeedLock seedLock;
+    @Mock
+    private CatalogRefresher catalogRefresher;
+    @Captor
+    private ArgumentCaptor<List<Brand>> brandCaptor;
+    @Captor
+    private ArgumentCaptor<List<Product>> productCaptor;
+    private final SeedingState seedingState = new SeedingState();
     private MockedStatic<CsvUtils> csvUtilsMock;
+    private SeedProperties seedProperties;
     private DataInitializer dataInitializer;
 
     @BeforeEach
     void setUp() {
-        dataInitializer = new DataInitializer(productRepository, brandRepository, usersRepository);
+        var importProperties = new ImportProperties();
+        importProperties.setLoader(LoaderMode.JPA);
+        seedProperties = new SeedProperties();
+        seedProperties.setAsync(false);
+        var csvImporter = new CsvImporter(entityManager, transactionManager, importProperties);
+        dataInitializer = new DataInitializer(productRepository, brandRepository, usersRepository, seedMetadataRepository,
+            csvImporter, bulkLoader, upsertLoader, importProperties, seedProperties, seedingState, seedLock, catalogRefresher, new BCryptPasswordEncoder(4));
         csvUtilsMock = mockStatic(CsvUtils.class);
+        lenient().when(seedLock.tryAcquire()).thenReturn(Optional.of(new SeedLock.Handle(mock(Connection.class))));
     }
 
     @AfterEach
@@ -49,6 +95,8 @@ class DataInitializerTest {
     void givenEmptyTables_whenRun_thenInsertAllValidRows() throws Exception {
         when(brandRepository.count()).thenReturn(0L);
         when(productRepository.count()).thenReturn(0L);
+        csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/brands.csv")).thenReturn("brands-v1");
+        csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/products.csv")).thenReturn("products-v1");
 
         List<String[]> mockBrandRows = Arrays.asList(
             new String[]{"Apple", "USA", "1976", "apple.com", ""},
@@ -59,20 +107,17 @@ class DataInitializerTest {
             new String[]{"laptop", "HP", "10", "1299.99"}
         );
 
-        csvUtilsMock.when(() -> CsvUtils.readCsvFromResource("data/brands.csv"))
-            .thenReturn(mockBrandRows);
-        csvUtilsMock.when(() -> CsvUtils.readCsvFromResource("data/products.csv"))
-            .thenReturn(mockProductRows);
-        when(brandRepository.findByNameAndDeleted("Apple", false))
-            .thenReturn(Optional.of(Brand.builder().id(1L).name("Apple").build()));
-        when(brandRepository.findByNameAndDeleted("HP", false))
-            .thenReturn(Optional.of(Brand.builder().id(2L).name("HP").build()));
+        csvUtilsMock.when(() -> CsvUtils.streamRecordsFromResource(eq("data/brands.csv"), any()))
+            .thenReturn(mockBrandRows.stream().map(CsvRecord::of));
+        csvUtilsMock.when(() -> CsvUtils.streamRecordsFromResource(eq("data/products.csv"), any()))
+            .thenReturn(mockProductRows.stream().map(CsvRecord::of));
+        when(brandRepository.findIdAndNameByDeleted(false))
+            .thenReturn(List.of(new Object[]{1L, "Apple"}, new Object[]{2L, "HP"}));
+        when(brandRepository.getReferenceById(1L)).thenReturn(Brand.builder().id(1L).name("Apple").build());
+        when(brandRepository.getReferenceById(2L)).thenReturn(Brand.builder().id(2L).name("HP").build());
 
         dataInitializer.run();
 
-        ArgumentCaptor<List<Brand>> brandCaptor = ArgumentCaptor.forClass(List.class);
-        ArgumentCaptor<List<Product>> productCaptor = ArgumentCaptor.forClass(List.class);
-
         verify(brandRepository).saveAll(brandCaptor.capture());
         verify(productRepository).saveAll(productCaptor.capture());
 
@@ -81,40 +126,129 @@ class DataInitializerTest {
 
         List<Product> savedProducts = productCaptor.getValue();
         assertEquals(2, savedProducts.size());
+        verify(brandRepository, never()).findByNameAndDeleted(any(), any());
+
+        ArgumentCaptor<SeedMetadata> metadataCaptor = ArgumentCaptor.forClass(SeedMetadata.class);
+        verify(seedMetadataRepository, times(2)).save(metadataCaptor.capture());
+        assertEquals(List.of("brands.csv", "products.csv"), metadataCaptor.getAllValues().stream().map(SeedMetadata::getFileName).toList());
+        assertEquals("brands-v1", metadataCaptor.getAllValues().get(0).getChecksum());
+        assertEquals(SeedingState.Status.COMPLETED, seedingState.getStatus());
+        assertEquals(100, seedingState.getPercent());
+        verify(catalogRefresher).seedFinished();
     }
 
     @Test
     void givenInvalidCsvRows_whenRun_thenSkipInvalidRows() throws Exception {
 
         when(brandRepository.count()).thenReturn(0L);
+        csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/brands.csv")).thenReturn("brands-v1");
 
         List<String[]> mockBrandRows = Arrays.asList(
             new String[]{"Apple", "USA", "1976", "apple.com", ""},
             new String[]{"", "", "", "", ""}
         );
 
-        csvUtilsMock.when(() -> CsvUtils.readCsvFromResource("data/brands.csv"))
-            .thenReturn(mockBrandRows);
+        csvUtilsMock.when(() -> CsvUtils.streamRecordsFromResource(eq("data/brands.csv"), any()))
+            .thenReturn(mockBrandRows.stream().map(CsvRecord::of));
 
         dataInitializer.run();
 
-        ArgumentCaptor<List<Brand>> captor = ArgumentCaptor.forClass(List.class);
-        verify(brandRepository).saveAll(captor.capture());
+        verify(brandRepository).saveAll(brandCaptor.capture());
 
-        List<Brand> savedBrands = captor.getValue();
+        List<Brand> savedBrands = brandCaptor.getValue();
         assertEquals(1, savedBrands.size());
         assertEquals("Apple", savedBrands.get(0).getName());
     }
 
     @Test
-    void givenTablesNotEmpty_whenRun_thenSkipImport() {
+    void givenUnchangedSeedFiles_whenRun_thenSkipWithoutTouchingTables() {
+        for (var fileName : List.of("brands.csv", "products.csv", "users.csv")) {
+            csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/" + fileName)).thenReturn(fileName + "-v1");
+            when(seedMetadataRepository.findById(fileName))
+                .thenReturn(Optional.of(new SeedMetadata(fileName, fileName + "-v1", LocalDateTime.now())));
+        }
+
+        dataInitializer.run();
+
+        csvUtilsMock.verify(() -> CsvUtils.streamRecordsFromResource(any(), any()), never());
+        verify(brandRepository, never()).count();
+        verify(productRepository, never()).count();
+        verify(usersRepository, never()).count();
+        verify(seedMetadataRepository, never()).save(any());
+    }
+
+    @Test
+    void givenChangedSeedFile_whenRun_thenUpsertInsteadOfInsert() {
+        csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/users.csv")).thenReturn("users-v2");
+        when(seedMetadataRepository.findById("users.csv"))
+            .thenReturn(Optional.of(new SeedMetadata("users.csv", "users-v1", LocalDateTime.now())));
+        csvUtilsMock.when(() -> CsvUtils.streamRecordsFromResource(eq("data/users.csv"), any()))
+            .thenReturn(Stream.of(CsvRecord.of("alice", "secret", "role_admin")));
+        List<Users> upserted = new ArrayList<>();
+        when(upsertLoader.usersWriter()).thenReturn(upserted::addAll);
+
+        dataInitializer.run();
+
+        assertEquals(List.of("alice"), upserted.stream().map(Users::getUsername).toList());
+        verify(usersRepository, never()).count();
+        verify(usersRepository, never()).saveAll(any());
+        verify(seedMetadataRepository).save(argThat(metadata -> metadata.getChecksum().equals("users-v2")));
+    }
 
+    @Test
+    void givenTablesNotEmptyWithoutSeedMetadata_whenRun_thenUpsert() {
         when(brandRepository.count()).thenReturn(10L);
-        when(productRepository.count()).thenReturn(5L);
+        csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/brands.csv")).thenReturn("brands-v1");
+        csvUtilsMock.when(() -> CsvUtils.streamRecordsFromResource(eq("data/brands.csv"), any()))
+            .thenReturn(Stream.of(CsvRecord.of("Apple", "USA", "1976", "apple.com", "")));
+        List<Brand> upserted = new ArrayList<>();
+        when(upsertLoader.brandWriter()).thenReturn(upserted::addAll);
 
         dataInitializer.run();
 
+        assertEquals(1, upserted.size());
         verify(brandRepository, never()).saveAll(any());
-        verify(productRepository, never()).saveAll(any());
+        verify(brandRepository, never()).deleteAll();
+    }
+
+    @Test
+    void givenImportError_whenRun_thenMarkSeedingFailed() {
+        csvUtilsMock.when(() -> CsvUtils.sha256OfResource("data/users.csv")).thenReturn("users-v1");
+        when(usersRepository.count()).thenThrow(new IllegalStateException("database unavailable"));
+
+        dataInitializer.run();
+
+        assertEquals(SeedingState.Status.FAILED, seedingState.getStatus());
+        assertEquals("database unavailable", seedingState.getFailureMessage());
+        assertFalse(seedingState.isSeeding());
+        verify(catalogRefresher).seedFinished();
+    }
+
+    @Test
+    void givenLockHeldByOtherNodeAndSkipMode_whenRun_thenCompleteWithoutSeeding() {
+        seedProperties.setLockMode(SeedProperties.LockMode.SKIP);
+        when(seedLock.tryAcquire()).thenReturn(Optional.empty());
+
+        dataInitializer.run();
+
+        assertEquals(SeedingState.Status.COMPLETED, seedingState.getStatus());
+        csvUtilsMock.verify(() -> CsvUtils.sha256OfResource(any()), never());
+        verifyNoInteractions(seedMetadataRepository);
+    }
+
+    @Test
+    void givenLockHeldByOtherNode_whenRun_thenWaitForItAndSeed() throws Exception {
+        when(seedLock.tryAcquire()).thenReturn(Optional.empty());
+        var connection = mock(Connection.class);
+        when(seedLock.acquire()).thenAnswer(invocation -> {
+            assertEquals(SeedingState.Status.WAITING, seedingState.getStatus());
+            return new SeedLock.Handle(connection);
+        });
+
+        dataInitializer.run();
+
+        assertEquals(SeedingState.Status.COMPLETED, seedingState.getStatus());
+        csvUtilsMock.verify(() -> CsvUtils.sha256OfResource("data/users.csv"));
+        verify(connection).close();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.dashboard.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeedLockTest {
+
+    @Test
+    void givenH2_whenLockHeld_thenOtherNodesCannotTakeItUntilReleased() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var firstNode = new SeedLock(dataSource);
+        var secondNode = new SeedLock(dataSource);
+
+        var held = firstNode.tryAcquire();
+        assertThat(held).isPresent();
+        assertThat(secondNode.tryAcquire()).isEmpty();
+
+        held.get().close();
+        var taken = secondNode.tryAcquire();
+        assertThat(taken).isPresent();
+        taken.get().close();
+    }
+}
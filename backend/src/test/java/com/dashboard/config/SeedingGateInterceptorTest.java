@@ -0,0 +1,56 @@
+package com.dashboard.config;
+
+import com.dashboard.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeedingGateInterceptorTest {
+
+    private final SeedingState seedingState = new SeedingState();
+    private final SeedProperties seedProperties = new SeedProperties();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private SeedingGateInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        seedProperties.setRetryAfterSeconds(7);
+        interceptor = new SeedingGateInterceptor(seedingState, seedProperties);
+        seedingState.start(200);
+        seedingState.startFile("product");
+        seedingState.updateFile(50);
+    }
+
+    @Test
+    void givenSeedingAndRejectGate_whenGet_thenThrowServiceUnavailableWithRetryAfter() {
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"), response, null))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessageContaining("25%")
+            .extracting("retryAfterSeconds").isEqualTo(7);
+    }
+
+    @Test
+    void givenSeedingAndServeGate_whenGet_thenServeWithProgressHeader() {
+        seedProperties.setReadGate(SeedProperties.ReadGate.SERVE);
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"), response, null)).isTrue();
+        assertThat(response.getHeader(SeedingGateInterceptor.SEED_PROGRESS_HEADER)).isEqualTo("25");
+    }
+
+    @Test
+    void givenSeedingCompleted_whenGet_thenPassThrough() {
+        seedingState.complete();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"), response, null)).isTrue();
+        assertThat(response.getHeader(SeedingGateInterceptor.SEED_PROGRESS_HEADER)).isNull();
+    }
+
+    @Test
+    void givenSeeding_whenWrite_thenPassThrough() {
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/products"), response, null)).isTrue();
+    }
+}
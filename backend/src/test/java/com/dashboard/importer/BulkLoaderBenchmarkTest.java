@@ -0,0 +1,111 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the BULK loader against row-by-row INSERTs with generated keys, which is what
+ * {@code saveAll} does for IDENTITY ids. Runs on H2 (batched JDBC fallback) by default and also on
+ * PostgreSQL (COPY) when {@code -Dbenchmark.postgres.url=...} is set; the PostgreSQL tables are
+ * truncated. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BulkLoaderBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int CHUNK_SIZE = 5_000;
+
+    @Test
+    void givenH2_whenLoadProducts_thenBulkLoaderIsFasterThanRowByRowInserts() {
+        var dataSource = BulkLoaderTest.h2DataSource();
+        new JdbcTemplate(dataSource).execute(BulkLoaderTest.H2_SCHEMA);
+
+        runComparison("H2", dataSource);
+    }
+
+    @Test
+    void givenPostgres_whenLoadProducts_thenCopyIsFasterThanRowByRowInserts() {
+        var url = System.getProperty("benchmark.postgres.url");
+        assumeTrue(url != null, "benchmark.postgres.url not set");
+        var dataSource = new DriverManagerDataSource(url,
+            System.getProperty("benchmark.postgres.username", "postgres"),
+            System.getProperty("benchmark.postgres.password", "123456"));
+        new JdbcTemplate(dataSource).execute("TRUNCATE product, brand RESTART IDENTITY CASCADE");
+
+        runComparison("PostgreSQL", dataSource);
+    }
+
+    private void runComparison(String database, DataSource dataSource) {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        var bulkLoader = new BulkLoader(dataSource, transactionManager);
+        bulkLoader.brandWriter().write(List.of(Brand.builder().name("Benchmark").deleted(false).build()));
+        var brand = Brand.builder().id(jdbcTemplate.queryForObject("SELECT id FROM brand WHERE name = 'Benchmark'", Long.class)).build();
+        var products = new ArrayList<Product>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(Product.builder().name("Product " + i).brand(brand).quantity(i % 100).price(10 + i % 1000 / 100.0).deleted(false).build());
+        }
+
+        var rowByRowMillis = time(() -> insertRowByRow(products, jdbcTemplate, new TransactionTemplate(transactionManager)));
+        jdbcTemplate.update("DELETE FROM product");
+        var bulkMillis = time(() -> {
+            for (int from = 0; from < products.size(); from += CHUNK_SIZE) {
+                bulkLoader.productWriter().write(products.subList(from, Math.min(products.size(), from + CHUNK_SIZE)));
+            }
+        });
+
+        System.out.printf("%s, %d products: row-by-row %d ms (%d rows/s), bulk %d ms (%d rows/s), speedup %.1fx%n",
+            database, ROWS, rowByRowMillis, ROWS * 1000L / Math.max(1, rowByRowMillis),
+            bulkMillis, ROWS * 1000L / Math.max(1, bulkMillis), (double) rowByRowMillis / Math.max(1, bulkMillis));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product", Long.class)).isEqualTo(ROWS);
+        assertThat(bulkMillis).isLessThan(rowByRowMillis);
+    }
+
+    private void insertRowByRow(List<Product> products, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < products.size(); from += CHUNK_SIZE) {
+            var chunk = products.subList(from, Math.min(products.size(), from + CHUNK_SIZE));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((java.sql.Connection connection) -> {
+                try (var statement = connection.prepareStatement(
+                    "INSERT INTO product (name, brand_id, quantity, price, deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                    for (Product product : chunk) {
+                        statement.setString(1, product.getName());
+                        statement.setLong(2, product.getBrand().getId());
+                        statement.setInt(3, product.getQuantity());
+                        statement.setDouble(4, product.getPrice());
+                        statement.setBoolean(5, false);
+                        statement.setTimestamp(6, now);
+                        statement.setTimestamp(7, now);
+                        statement.executeUpdate();
+                        try (var keys = statement.getGeneratedKeys()) {
+                            keys.next();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+    }
+
+    private static long time(Runnable runnable) {
+        var start = System.nanoTime();
+        runnable.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkLoaderTest {
+    static final String H2_SCHEMA = """
+        CREATE TABLE brand (
+            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+            name VARCHAR(255) NOT NULL UNIQUE,
+            name_lower VARCHAR(255),
+            country VARCHAR(255),
+            founded_year INT,
+            website VARCHAR(255),
+            description CLOB,
+            created_at TIMESTAMP,
+            updated_at TIMESTAMP,
+            deleted BOOLEAN NOT NULL DEFAULT FALSE
+        );
+        CREATE TABLE product (
+            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+            name VARCHAR(255) NOT NULL,
+            name_lower VARCHAR(255),
+            brand_id BIGINT NOT NULL REFERENCES brand(id),
+            quantity INT NOT NULL,
+            price NUMERIC(10, 2) NOT NULL,
+            created_at TIMESTAMP,
+            updated_at TIMESTAMP,
+            deleted BOOLEAN NOT NULL DEFAULT FALSE
+        );
+        """;
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkLoader bulkLoader;
+
+    static DriverManagerDataSource h2DataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = h2DataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(H2_SCHEMA);
+        bulkLoader = new BulkLoader(dataSource, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void givenH2_whenWriteBrandsAndProducts_thenInsertWithBatchedJdbc() {
+        bulkLoader.brandWriter().write(List.of(
+            Brand.builder().name("Dell").country("USA").foundedYear(1984).description("Says \"hi\", twice").deleted(false).build(),
+            Brand.builder().name("HP").deleted(false).build()
+        ));
+        var dellId = jdbcTemplate.queryForObject("SELECT id FROM brand WHERE name = 'Dell'", Long.class);
+
+        bulkLoader.productWriter().write(List.of(
+            Product.builder().name("Laptop").brand(Brand.builder().id(dellId).build()).quantity(3).price(999.99).deleted(false).build(),
+            Product.builder().name("Mouse").brand(Brand.builder().id(dellId).build()).quantity(10).price(19.5).deleted(false).build()
+        ));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM brand WHERE created_at IS NOT NULL", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM brand WHERE name = 'Dell'", String.class)).isEqualTo("Says \"hi\", twice");
+        assertThat(jdbcTemplate.queryForObject("SELECT founded_year FROM brand WHERE name = 'HP'", Integer.class)).isNull();
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM product WHERE brand_id = ? ORDER BY id", String.class, dellId))
+            .containsExactly("Laptop", "Mouse");
+        assertThat(jdbcTemplate.queryForList("SELECT name_lower FROM product ORDER BY id", String.class)).containsExactly("laptop", "mouse");
+        assertThat(jdbcTemplate.queryForObject("SELECT name_lower FROM brand WHERE name = 'HP'", String.class)).isEqualTo("hp");
+    }
+}
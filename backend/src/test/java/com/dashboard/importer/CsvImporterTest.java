@@ -0,0 +1,144 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.parser.BrandCsvParser;
+import com.dashboard.parser.UsersCsvParser;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.UsersRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CsvImporterTest {
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private UsersRepository usersRepository;
+    @Captor
+    private ArgumentCaptor<List<Brand>> brandCaptor;
+    private CsvImporter csvImporter;
+
+    @BeforeEach
+    void setUp() {
+        var importProperties = new ImportProperties();
+        importProperties.setBatchSize(2);
+        csvImporter = new CsvImporter(entityManager, transactionManager, importProperties);
+    }
+
+    @Test
+    void givenRowsLargerThanBatchSize_whenImportRows_thenWriteInChunksAndClearBetweenChunks() {
+        Stream<String[]> rows = IntStream.rangeClosed(1, 5)
+            .mapToObj(i -> new String[]{"Brand" + i, "USA", "2000", "", ""});
+
+        var report = csvImporter.importRows("brand", rows, new BrandCsvParser(), brandRepository);
+
+        verify(brandRepository, times(3)).saveAll(brandCaptor.capture());
+        assertThat(brandCaptor.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(transactionManager, times(3)).commit(any());
+
+        assertThat(report.getImported()).isEqualTo(5);
+        assertThat(report.getSkipped()).isZero();
+        assertThat(report.getPeakHeapBytes()).isPositive();
+    }
+
+    @Test
+    void givenInvalidRows_whenImportRows_thenSkipThemWithoutWriting() {
+        Stream<String[]> rows = Stream.of(
+            new String[]{"Dell", "USA", "1984", "", ""},
+            new String[]{"", "", "", "", ""},
+            new String[]{"HP", "USA", "year", "", ""}
+        );
+
+        var report = csvImporter.importRows("brand", rows, new BrandCsvParser(), brandRepository);
+
+        verify(brandRepository).saveAll(brandCaptor.capture());
+        assertThat(brandCaptor.getValue()).extracting(Brand::getName).containsExactly("Dell");
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getSkipped()).isEqualTo(2);
+    }
+
+    @Test
+    void givenNoRows_whenImportRows_thenNothingIsWritten() {
+        var report = csvImporter.importRows("brand", Stream.empty(), new BrandCsvParser(), brandRepository);
+
+        verifyNoInteractions(brandRepository, entityManager, transactionManager);
+        assertThat(report.getImported()).isZero();
+    }
+
+    @Test
+    void givenSeveralParseWorkers_whenImportRows_thenKeepFileOrderAcrossChunks() {
+        var importProperties = new ImportProperties();
+        importProperties.setBatchSize(7);
+        importProperties.setParseWorkers(4);
+        var parallelImporter = new CsvImporter(entityManager, transactionManager, importProperties);
+        Stream<String[]> rows = IntStream.rangeClosed(1, 100)
+            .mapToObj(i -> i % 10 == 0
+                ? new String[]{"", "", "", "", ""}
+                : new String[]{"Brand" + i, "USA", "2000", "", ""});
+
+        var report = parallelImporter.importRows("brand", rows, new BrandCsvParser(), brandRepository);
+
+        verify(brandRepository, atLeastOnce()).saveAll(brandCaptor.capture());
+        var expectedNames = IntStream.rangeClosed(1, 100).filter(i -> i % 10 != 0).mapToObj(i -> "Brand" + i).toList();
+        assertThat(brandCaptor.getAllValues().stream().flatMap(List::stream).map(Brand::getName)).containsExactlyElementsOf(expectedNames);
+        assertThat(report.getImported()).isEqualTo(90);
+        assertThat(report.getSkipped()).isEqualTo(10);
+    }
+
+    @Test
+    void givenSeveralParseWorkers_whenImportUsers_thenHashPasswordsConcurrently() {
+        var importProperties = new ImportProperties();
+        importProperties.setBatchSize(16);
+        importProperties.setParseWorkers(4);
+        var parallelImporter = new CsvImporter(entityManager, transactionManager, importProperties);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hashed-" + rawPassword);
+            }
+        };
+        Stream<String[]> rows = IntStream.rangeClosed(1, 32).mapToObj(i -> new String[]{"user" + i, "pw" + i, "ROLE_USER"});
+
+        var report = parallelImporter.importRows("users", rows, new UsersCsvParser(slowEncoder), usersRepository);
+
+        assertThat(report.getImported()).isEqualTo(32);
+        assertThat(maxRunning.get()).isGreaterThan(1).isLessThanOrEqualTo(4);
+    }
+}
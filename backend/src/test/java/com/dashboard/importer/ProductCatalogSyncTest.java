@@ -0,0 +1,98 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.util.CsvRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogSyncTest {
+    private JdbcTemplate jdbcTemplate;
+    private ProductCatalogSync productCatalogSync;
+    private BrandResolver brandResolver;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = BulkLoaderTest.h2DataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(BulkLoaderTest.H2_SCHEMA);
+        jdbcTemplate.update("INSERT INTO brand (id, name) VALUES (1, 'Dell'), (2, 'HP')");
+        jdbcTemplate.update("""
+            INSERT INTO product (id, name, brand_id, quantity, price, deleted) VALUES
+                (1, 'Laptop', 1, 10, 999.99, false),
+                (2, 'Mouse', 1, 5, 19.99, false),
+                (3, 'Printer', 2, 2, 149.00, false),
+                (4, 'Scanner', 2, 1, 89.00, false),
+                (5, 'Laptop', 1, 10, 999.99, false),
+                (6, 'Dock', 1, 3, 59.00, true)
+            """);
+        jdbcTemplate.execute("ALTER TABLE product ALTER COLUMN id RESTART WITH 100");
+
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        var importProperties = new ImportProperties();
+        importProperties.setBatchSize(2);
+        importProperties.setParseWorkers(1);
+        var csvImporter = new CsvImporter(null, transactionManager, importProperties);
+        productCatalogSync = new ProductCatalogSync(csvImporter, new BulkLoader(dataSource, transactionManager), dataSource, transactionManager);
+        brandResolver = new BrandResolver(Map.of(
+            "Dell", Brand.builder().id(1L).name("Dell").build(),
+            "HP", Brand.builder().id(2L).name("HP").build()
+        ));
+    }
+
+    @Test
+    void givenChangedFeed_whenSync_thenWriteOnlyTheDifference() {
+        var result = productCatalogSync.sync(Stream.of(
+            CsvRecord.of("Laptop", "Dell", "10", "999.99"),
+            CsvRecord.of("Mouse", "Dell", "7", "19.99"),
+            CsvRecord.of("Printer", "HP", "2", "149.001"),
+            CsvRecord.of("Keyboard", "HP", "4", "29.50"),
+            CsvRecord.of("Keyboard", "HP", "6", "29.50")
+        ), brandResolver, ImportListener.NONE);
+
+        var summary = result.summary();
+        assertThat(summary.getInserted()).isEqualTo(1);
+        assertThat(summary.getUpdated()).isEqualTo(2);
+        assertThat(summary.getUnchanged()).isEqualTo(2);
+        assertThat(summary.getDeleted()).isEqualTo(2);
+        assertThat(summary.getKept()).isZero();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM product WHERE deleted = false ORDER BY id", Long.class))
+            .containsExactly(1L, 2L, 3L, 100L);
+        assertThat(jdbcTemplate.queryForObject("SELECT quantity FROM product WHERE id = 2", Integer.class)).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM product WHERE id = 1", Object.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM product WHERE id = 3", Object.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT quantity FROM product WHERE id = 100", Integer.class)).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForObject("SELECT deleted FROM product WHERE id = 6", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void givenInvalidRowForExistingProduct_whenSync_thenKeepIt() {
+        var result = productCatalogSync.sync(Stream.of(
+            CsvRecord.of("Laptop", "Dell", "10", "999.99"),
+            CsvRecord.of("Mouse", "Dell", "many", "19.99"),
+            CsvRecord.of("Printer", "HP", "2", "149.00")
+        ), brandResolver, ImportListener.NONE);
+
+        assertThat(result.summary().getKept()).isEqualTo(1);
+        assertThat(result.report().getSkipped()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM product WHERE deleted = false ORDER BY id", Long.class))
+            .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void givenFeedWithoutValidRows_whenSync_thenDeleteNothing() {
+        var result = productCatalogSync.sync(Stream.of(
+            CsvRecord.of("Laptop", "Acme", "10", "999.99")
+        ), brandResolver, ImportListener.NONE);
+
+        assertThat(result.summary().getDeleted()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product WHERE deleted = false", Long.class)).isEqualTo(5);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dashboard.importer;
+
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.UsersRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpsertLoaderTest {
+
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private UsersRepository usersRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<Brand>> brandCaptor;
+    @Captor
+    private ArgumentCaptor<List<Product>> productCaptor;
+    private UpsertLoader upsertLoader;
+
+    @BeforeEach
+    void setUp() {
+        upsertLoader = new UpsertLoader(brandRepository, productRepository, usersRepository, entityManager, transactionManager);
+    }
+
+    @Test
+    void givenExistingAndNewBrands_whenWrite_thenUpdateChangedAndInsertOnlyNew() {
+        var existing = Brand.builder().id(1L).name("Apple").country("USA").deleted(true).build();
+        when(brandRepository.findByNameIn(any())).thenReturn(List.of(existing));
+
+        upsertLoader.brandWriter().write(List.of(
+            Brand.builder().name("Apple").country("United States").deleted(false).build(),
+            Brand.builder().name("HP").country("USA").deleted(false).build()
+        ));
+
+        assertThat(existing.getCountry()).isEqualTo("United States");
+        assertThat(existing.getDeleted()).isTrue();
+        verify(brandRepository).saveAll(brandCaptor.capture());
+        assertThat(brandCaptor.getValue()).extracting(Brand::getName).containsExactly("HP");
+        verify(entityManager).flush();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void givenSameProductNameUnderDifferentBrand_whenWrite_thenMatchByBrandAndName() {
+        var apple = Brand.builder().id(1L).name("Apple").build();
+        var hp = Brand.builder().id(2L).name("HP").build();
+        var existing = Product.builder().id(10L).name("Laptop").brand(apple).quantity(1).price(999.0).deleted(false).build();
+        when(productRepository.findActiveByBrandIdInAndNameIn(any(), any())).thenReturn(List.of(existing));
+
+        upsertLoader.productWriter().write(List.of(
+            Product.builder().name("Laptop").brand(apple).quantity(5).price(999.0).deleted(false).build(),
+            Product.builder().name("Laptop").brand(hp).quantity(2).price(799.0).deleted(false).build()
+        ));
+
+        assertThat(existing.getQuantity()).isEqualTo(5);
+        verify(productRepository).saveAll(productCaptor.capture());
+        assertThat(productCaptor.getValue()).extracting(product -> product.getBrand().getId()).containsExactly(2L);
+    }
+}
@@ -1,13 +1,13 @@
 package com.dashboard.parser;
 
-import com.dashboard.exception.InvalidFormatException;
-import com.dashboard.exception.ValidationException;
 import com.dashboard.model.Brand;
+import com.dashboard.parser.ParseResult.ErrorCode;
+import com.dashboard.parser.ParseResult.FieldError;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 class BrandCsvParserTest {
 
@@ -24,7 +24,7 @@ class BrandCsvParserTest {
             "Dell", "USA", "1984", "https://www.dell.com", "Global tech company"
         };
 
-        var result = parser.parse(row);
+        var result = parser.parse(row).getValue();
 
         assertThat(result.getName()).isEqualTo("Dell");
         assertThat(result.getCountry()).isEqualTo("USA");
@@ -34,37 +34,51 @@ class BrandCsvParserTest {
     }
 
     @Test
-    void givenRowMissingFields_whenParse_thenThrowsInvalidFormatException() {
+    void givenRowMissingFields_whenParse_thenReturnColumnCountError() {
         String[] row = { "Dell", "USA", "1984" };
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(InvalidFormatException.class)
-            .hasMessageContaining("Invalid brand column number");
+        var result = parser.parse(row);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors()).containsExactly(new FieldError("row", ErrorCode.COLUMN_COUNT, "3 of 5"));
+        assertThat(result.getMessage()).isEqualTo("row has too few columns '3 of 5'");
     }
 
     @Test
-    void givenBlankName_whenParse_thenThrowsValidationException() {
+    void givenBlankName_whenParse_thenReturnRequiredError() {
         String[] row = { "  ", "USA", "1984", "url", "desc" };
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(ValidationException.class)
-            .hasMessageContaining("Brand name cannot be blank");
+        var result = parser.parse(row);
+
+        assertThat(result.getValue()).isNull();
+        assertThat(result.getMessage()).isEqualTo("name cannot be blank");
     }
 
     @Test
-    void givenNonNumericFoundedYear_whenParse_thenThrowsInvalidFormatException() {
+    void givenNonNumericFoundedYear_whenParse_thenReturnNotANumberError() {
         String[] row = { "Dell", "USA", "Nineteen84", "url", "desc" };
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(InvalidFormatException.class)
-            .hasMessageContaining("Invalid brand founded year");
+        var result = parser.parse(row);
+
+        assertThat(result.getErrors()).extracting(FieldError::field, FieldError::code)
+            .containsExactly(tuple("foundedYear", ErrorCode.NOT_A_NUMBER));
+    }
+
+    @Test
+    void givenBlankNameAndTooLongYear_whenParse_thenReturnAllErrors() {
+        String[] row = { "", "USA", "1234567890123", "url", "desc" };
+
+        var result = parser.parse(row);
+
+        assertThat(result.getErrors()).extracting(FieldError::code)
+            .containsExactly(ErrorCode.REQUIRED, ErrorCode.OUT_OF_RANGE);
     }
 
     @Test
     void givenBlankOptionalFields_whenParse_thenAssignsNull() {
         String[] row = { "Dell", "  ", "", "  ", "   " };
 
-        Brand result = parser.parse(row);
+        Brand result = parser.parse(row).getValue();
 
         assertThat(result.getName()).isEqualTo("Dell");
         assertThat(result.getCountry()).isNull();
@@ -72,4 +86,4 @@ class BrandCsvParserTest {
         assertThat(result.getWebsite()).isNull();
         assertThat(result.getDescription()).isNull();
     }
-}
\ No newline at end of file
+}
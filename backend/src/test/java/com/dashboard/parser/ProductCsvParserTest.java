@@ -1,99 +1,113 @@
 package com.dashboard.parser;
 
-import com.dashboard.exception.InvalidFormatException;
-import com.dashboard.exception.NotFoundException;
-import com.dashboard.exception.ValidationException;
+import com.dashboard.importer.BrandResolver;
 import com.dashboard.model.Brand;
-import com.dashboard.repository.BrandRepository;
+import com.dashboard.parser.ParseResult.ErrorCode;
+import com.dashboard.parser.ParseResult.FieldError;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
-import java.util.Optional;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.Mockito.when;
 
 class ProductCsvParserTest {
 
-    private BrandRepository brandRepository;
+    private Brand brand;
+    private BrandResolver brandResolver;
     private ProductCsvParser parser;
 
     @BeforeEach
     void setUp() {
-        brandRepository = Mockito.mock(BrandRepository.class);
-        parser = new ProductCsvParser(brandRepository);
+        brand = Brand.builder().id(1L).name("Dell").build();
+        brandResolver = new BrandResolver(Map.of("Dell", brand));
+        parser = new ProductCsvParser(brandResolver);
     }
 
     @Test
     void givenValidRow_whenParse_thenReturnProduct() {
         String[] row = { "Laptop", "Dell", "10", "999.99" };
-        var brand = Brand.builder().name("Dell").build();
-        when(brandRepository.findByNameAndDeleted("Dell", false)).thenReturn(Optional.of(brand));
 
         var result = parser.parse(row);
 
-        assertThat(result.getName()).isEqualTo("Laptop");
-        assertThat(result.getBrand()).isEqualTo(brand);
-        assertThat(result.getQuantity()).isEqualTo(10);
-        assertThat(result.getPrice()).isEqualTo(999.99);
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getValue().getName()).isEqualTo("Laptop");
+        assertThat(result.getValue().getBrand()).isEqualTo(brand);
+        assertThat(result.getValue().getQuantity()).isEqualTo(10);
+        assertThat(result.getValue().getPrice()).isEqualTo(999.99);
     }
 
     @Test
-    void givenRowMissingPrice_whenParse_thenThrowInvalidFormatException() {
+    void givenRowMissingPrice_whenParse_thenReturnColumnCountError() {
         String[] row = { "Laptop", "Dell", "10" };
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(InvalidFormatException.class)
-            .hasMessageContaining("Invalid product column number");
+        assertThat(parser.parse(row).getErrors()).extracting(FieldError::code).containsExactly(ErrorCode.COLUMN_COUNT);
     }
 
     @Test
-    void givenBlankProductName_whenParse_thenThrowValidationException() {
+    void givenBlankProductName_whenParse_thenReturnRequiredError() {
         String[] row = { "   ", "Dell", "10", "999.99" };
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(ValidationException.class)
-            .hasMessageContaining("Product name cannot be blank");
+        assertThat(parser.parse(row).getMessage()).isEqualTo("name cannot be blank");
     }
 
     @Test
-    void givenBlankBrandName_whenParse_thenThrowValidationException() {
+    void givenBlankBrandName_whenParse_thenReturnRequiredErrorWithoutTallyingUnknownBrand() {
         String[] row = { "Laptop", "   ", "10", "999.99" };
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(ValidationException.class)
-            .hasMessageContaining("Brand name cannot be blank");
+        assertThat(parser.parse(row).getMessage()).isEqualTo("brand cannot be blank");
+        assertThat(brandResolver.getUnknownBrands()).isEmpty();
     }
 
     @Test
-    void givenNotFoundBrand_whenParse_thenThrowNotFoundException() {
+    void givenNotFoundBrand_whenParse_thenReturnBulkReportedErrorAndTallyUnknownBrand() {
         String[] row = { "Laptop", "UnknownBrand", "10", "999.99" };
-        when(brandRepository.findByNameAndDeleted("UnknownBrand", false)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(NotFoundException.class)
-            .hasMessageContaining("Brand not found for name");
+        var first = parser.parse(row);
+        var second = parser.parse(row);
+
+        assertThat(first.isValid()).isFalse();
+        assertThat(first.isReportedInBulk()).isTrue();
+        assertThat(second.getMessage()).isEqualTo("brand does not exist 'UnknownBrand'");
+        assertThat(brandResolver.getUnknownBrands()).containsExactly(Map.entry("UnknownBrand", 2L));
+    }
+
+    @Test
+    void givenBrandNameWithDifferentCase_whenParse_thenTreatAsUnknownBrand() {
+        String[] row = { "Laptop", "dell", "10", "999.99" };
+
+        assertThat(parser.parse(row).isValid()).isFalse();
+        assertThat(brandResolver.getUnknownBrands()).containsOnlyKeys("dell");
     }
 
     @Test
-    void givenNonNumericQuantity_whenParse_thenThrowInvalidFormatException() {
+    void givenNonNumericQuantity_whenParse_thenReturnNotANumberError() {
         String[] row = { "Laptop", "Dell", "abc", "999.99" };
-        when(brandRepository.findByNameAndDeleted("Dell", false)).thenReturn(Optional.of(new Brand()));
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(InvalidFormatException.class)
-            .hasMessageContaining("Invalid quantity");
+        assertThat(parser.parse(row).getMessage()).isEqualTo("quantity is not a number 'abc'");
     }
 
     @Test
-    void givenInvalidPrice_whenParse_thenThrowInvalidFormatException() {
+    void givenQuantityOverflowingInt_whenParse_thenReturnOutOfRangeError() {
+        String[] row = { "Laptop", "Dell", "99999999999", "999.99" };
+
+        assertThat(parser.parse(row).getErrors()).extracting(FieldError::code).containsExactly(ErrorCode.OUT_OF_RANGE);
+    }
+
+    @Test
+    void givenInvalidPrice_whenParse_thenReturnNotANumberError() {
         String[] row = { "Laptop", "Dell", "10", "priceX" };
-        when(brandRepository.findByNameAndDeleted("Dell", false)).thenReturn(Optional.of(new Brand()));
 
-        assertThatThrownBy(() -> parser.parse(row))
-            .isInstanceOf(InvalidFormatException.class)
-            .hasMessageContaining("Invalid price");
+        assertThat(parser.parse(row).getMessage()).isEqualTo("price is not a number 'priceX'");
+    }
+
+    @Test
+    void givenSeveralBadFields_whenParse_thenReportEveryFieldAndNotBulkOnly() {
+        String[] row = { "Laptop", "UnknownBrand", "-1", "abc" };
+
+        var result = parser.parse(row);
+
+        assertThat(result.getErrors()).extracting(FieldError::field).containsExactly("brand", "quantity", "price");
+        assertThat(result.isReportedInBulk()).isFalse();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.dashboard.parser;
+
+import com.dashboard.model.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UsersCsvParserTest {
+
+    private PasswordEncoder passwordEncoder;
+    private UsersCsvParser parser;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        parser = new UsersCsvParser(passwordEncoder);
+    }
+
+    @Test
+    void givenPlainPassword_whenParse_thenHashWithSharedEncoder() {
+        var result = parser.parse(new String[]{"admin1", "123456", "ROLE_ADMIN"}).getValue();
+
+        assertThat(result.getUsername()).isEqualTo("admin1");
+        assertThat(result.getRole()).isEqualTo(UserRole.ROLE_ADMIN);
+        assertThat(passwordEncoder.matches("123456", result.getPassword())).isTrue();
+        verify(passwordEncoder).encode("123456");
+    }
+
+    @Test
+    void givenBcryptHashedPassword_whenParse_thenKeepHashWithoutRehashing() {
+        var hash = new BCryptPasswordEncoder(4).encode("123456");
+
+        var result = parser.parse(new String[]{"user1", hash, "ROLE_USER"}).getValue();
+
+        assertThat(result.getPassword()).isEqualTo(hash);
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    @Test
+    void givenPasswordThatOnlyLooksLikeHashPrefix_whenParse_thenHashIt() {
+        var result = parser.parse(new String[]{"user1", "$2a$10$short", "ROLE_USER"}).getValue();
+
+        assertThat(result.getPassword()).isNotEqualTo("$2a$10$short");
+        verify(passwordEncoder).encode("$2a$10$short");
+    }
+
+    @Test
+    void givenStoredUser_whenParse_thenLeavePasswordOutWithoutHashing() {
+        parser = new UsersCsvParser(passwordEncoder, "admin1"::equals);
+
+        var stored = parser.parse(new String[]{"admin1", "123456", "ROLE_USER"}).getValue();
+        var added = parser.parse(new String[]{"admin2", "654321", "ROLE_USER"}).getValue();
+
+        assertThat(stored.getRole()).isEqualTo(UserRole.ROLE_USER);
+        assertThat(stored.getPassword()).isNull();
+        assertThat(passwordEncoder.matches("654321", added.getPassword())).isTrue();
+        verify(passwordEncoder, never()).encode("123456");
+    }
+
+    @Test
+    void givenInvalidRoleAndBlankPassword_whenParse_thenReturnBothErrorsWithoutHashing() {
+        var result = parser.parse(new String[]{"user1", " ", "ROLE_ROOT"});
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("password cannot be blank; role is not a valid value 'ROLE_ROOT'");
+        verify(passwordEncoder, never()).encode(any());
+    }
+}
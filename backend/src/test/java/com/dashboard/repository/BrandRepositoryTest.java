@@ -0,0 +1,38 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.BrandResponseDTO;
+import com.dashboard.model.Brand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+class BrandRepositoryTest {
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (var name : new String[]{"Lenovo", "Acer", "Dell", "HP", "Asus"}) {
+            brandRepository.save(Brand.builder().name(name).deleted(false).build());
+        }
+        brandRepository.save(Brand.builder().name("Compaq").deleted(true).build());
+    }
+
+    @Test
+    void givenCursor_whenFindResponsesByDeletedAfter_thenContinueByNameUntilLastPage() {
+        var first = brandRepository.findResponsesByDeletedAfter(false, null, 2, Sort.by("name"));
+        var second = brandRepository.findResponsesByDeletedAfter(false, first.getNextCursor(), 2, Sort.unsorted());
+        var last = brandRepository.findResponsesByDeletedAfter(false, second.getNextCursor(), 2, Sort.unsorted());
+
+        assertThat(first.getContent()).extracting(BrandResponseDTO::getName).containsExactly("Acer", "Asus");
+        assertThat(second.getContent()).extracting(BrandResponseDTO::getName).containsExactly("Dell", "HP");
+        assertThat(last.getContent()).extracting(BrandResponseDTO::getName).containsExactly("Lenovo");
+        assertThat(last.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,309 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.BrandProductCountDTO;
+import com.dashboard.dto.PriceBucketCountDTO;
+import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.exception.ValidationException;
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.dashboard.repository.ProductRepositoryTest$SqlCapture"
+})
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // DDL commits in H2, so it runs before any test data is written; H2 has no partial indexes
+        entityManager.createNativeQuery("CREATE INDEX IF NOT EXISTS idx_product_active_price_id ON product (price, id)").executeUpdate();
+        for (int b = 0; b < 3; b++) {
+            var brand = brandRepository.save(Brand.builder().name("Brand " + b).deleted(false).build());
+            for (int p = 0; p < 4; p++) {
+                productRepository.save(Product.builder()
+                    .name("Product " + b + "-" + p)
+                    .brand(brand)
+                    .quantity(p)
+                    .price(10.0 * (p + 1))
+                    .deleted(false)
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenPageOfProducts_whenSearchProductResponses_thenLoadBrandNamesWithoutEntities() {
+        var page = productRepository.searchProductResponses(new ProductSearchCriteria(false, null, null, null, null),
+            PageRequest.of(0, 5, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getContent().get(4).getName()).isEqualTo("Product 1-0");
+        assertThat(page.getContent().get(4).getBrandName()).isEqualTo("Brand 1");
+        // one page query plus one count query, and nothing for the brands
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void givenActiveProduct_whenFindResponseByIdAndDeleted_thenReturnDtoInOneQuery() {
+        var id = productRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        var product = productRepository.findResponseByIdAndDeleted(id, false);
+
+        assertThat(product).get().extracting("brandName").isEqualTo("Brand 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(productRepository.findResponseByIdAndDeleted(id, true)).isEmpty();
+    }
+
+    @Test
+    void givenDifferentFilters_whenSearchProductResponses_thenEmitOnlySuppliedPredicatesAndPlanEachCombination() {
+        var unfiltered = explain(new ProductSearchCriteria(false, null, null, null, null));
+        var byName = explain(new ProductSearchCriteria(false, "product 1", null, null, null));
+        var byPrice = explain(new ProductSearchCriteria(false, null, null, 20.0, 30.0));
+        var byBrand = explain(new ProductSearchCriteria(false, null, "brand 2", null, null));
+
+        assertThat(unfiltered.sql()).doesNotContain("like", "price>=", "price<=", "name_lower", "deleted=?");
+        assertThat(byName.sql()).contains("name_lowerlike").doesNotContain("price>=", "lower(");
+        assertThat(byPrice.sql()).contains("price>=", "price<=").doesNotContain("like");
+        assertThat(byBrand.sql()).contains("name_lower=?").doesNotContain("like", "price>=", "lower(");
+
+        assertThat(byPrice.plan()).containsIgnoringCase("IDX_PRODUCT_ACTIVE_PRICE_ID");
+        assertThat(unfiltered.plan()).doesNotContainIgnoringCase("IDX_PRODUCT_ACTIVE_PRICE_ID");
+        assertThat(List.of(unfiltered.plan(), byName.plan(), byPrice.plan(), byBrand.plan())).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void givenMixedCaseName_whenSaveAndRename_thenKeepNormalizedNameInSync() {
+        var brand = brandRepository.save(Brand.builder().name(" ACME Corp ").deleted(false).build());
+        var product = productRepository.save(Product.builder().name("Road Runner").brand(brand).quantity(1).price(1.0).deleted(false).build());
+        entityManager.flush();
+
+        product.setName("Coyote TRAP");
+        entityManager.flush();
+
+        assertThat(brand.getNameLower()).isEqualTo("acme corp");
+        assertThat(product.getNameLower()).isEqualTo("coyote trap");
+    }
+
+    @Test
+    void givenSliceRequest_whenSearchProductResponseSlice_thenReportNextPageWithoutCounting() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+
+        var first = productRepository.searchProductResponseSlice(criteria, PageRequest.of(0, 6));
+        var last = productRepository.searchProductResponseSlice(criteria, PageRequest.of(1, 6));
+
+        assertThat(first.getContent()).hasSize(6);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(6);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(SqlCapture.STATEMENTS).hasSize(2).noneMatch(sql -> sql.contains("count("));
+    }
+
+    @Test
+    void givenFilters_whenFacetProductResponses_thenCountBrandsAndPriceBucketsInOneStatement() {
+        var facets = productRepository.facetProductResponses(new ProductSearchCriteria(false, "product", null, 20.0, null),
+            EnumSet.allOf(ProductFacet.class), List.of(15.0, 35.0));
+
+        assertThat(facets.getBrands()).extracting(BrandProductCountDTO::getBrandName, BrandProductCountDTO::getProductCount)
+            .containsExactly(tuple("Brand 0", 3L), tuple("Brand 1", 3L), tuple("Brand 2", 3L));
+        assertThat(facets.getPriceBuckets()).containsExactly(
+            new PriceBucketCountDTO(null, 15.0, 0L),
+            new PriceBucketCountDTO(15.0, 35.0, 6L),
+            new PriceBucketCountDTO(35.0, null, 3L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenBrandFilterAndOneFacet_whenFacetProductResponses_thenLeaveOtherFacetOut() {
+        var facets = productRepository.facetProductResponses(new ProductSearchCriteria(false, null, "BRAND 1", null, null),
+            EnumSet.of(ProductFacet.BRAND), List.of(15.0));
+
+        assertThat(facets.getBrands()).containsExactly(new BrandProductCountDTO("Brand 1", 4L));
+        assertThat(facets.getPriceBuckets()).isNull();
+    }
+
+    @Test
+    void givenNoMatchingIds_whenFacetProductResponses_thenReturnZeroCountsWithoutQuery() {
+        var facets = productRepository.facetProductResponses(new ProductSearchCriteria(false, null, null, null, null, List.of()),
+            EnumSet.allOf(ProductFacet.class), List.of(15.0));
+
+        assertThat(facets.getBrands()).isEmpty();
+        assertThat(facets.getPriceBuckets()).extracting(PriceBucketCountDTO::getProductCount).containsExactly(0L, 0L);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void givenProductIds_whenSearchAndFacetProductResponses_thenBindThemAsOneArray() {
+        var ids = productRepository.findAll(Sort.by("id")).stream().map(Product::getId).toList();
+        SqlCapture.STATEMENTS.clear();
+
+        var two = productRepository.searchProductResponses(new ProductSearchCriteria(false, null, null, null, null, ids.subList(0, 2)),
+            PageRequest.of(0, 10));
+        var five = productRepository.searchProductResponses(new ProductSearchCriteria(false, null, null, null, null, ids.subList(3, 8)),
+            PageRequest.of(0, 10));
+        var facets = productRepository.facetProductResponses(new ProductSearchCriteria(false, null, null, null, null, ids.subList(3, 8)),
+            EnumSet.of(ProductFacet.BRAND), List.of());
+
+        assertThat(two.getContent()).extracting(ProductResponseDTO::getId).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(five.getContent()).extracting(ProductResponseDTO::getId).containsExactlyElementsOf(ids.subList(3, 8));
+        assertThat(facets.getBrands()).containsExactly(new BrandProductCountDTO("Brand 1", 4L), new BrandProductCountDTO("Brand 0", 1L));
+        // pages not full, so no count queries; the same statement for any number of ids
+        assertThat(SqlCapture.STATEMENTS).hasSize(3);
+        assertThat(SqlCapture.STATEMENTS.get(0)).isEqualTo(SqlCapture.STATEMENTS.get(1)).contains("= any(?)");
+        assertThat(SqlCapture.STATEMENTS.get(2)).contains("p.id = ANY(?)");
+    }
+
+    @Test
+    void givenH2_whenEstimateProductResponses_thenFallBackToExactCount() {
+        assertThat(productRepository.estimateProductResponses(new ProductSearchCriteria(false, null, "brand 1", 20.0, null))).isEqualTo(3);
+    }
+
+    @Test
+    void givenPostgresJsonPlan_whenPlanRows_thenReadTopNodeEstimate() {
+        var plan = "[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 1234.0, \"Plan Width\": 4}}]";
+
+        assertThat(ProductSearchRepositoryImpl.planRows(plan)).isEqualTo(1234);
+    }
+
+    @Test
+    void givenBrandFilter_whenSearchProductResponses_thenMatchBrandIgnoringCase() {
+        var page = productRepository.searchProductResponses(new ProductSearchCriteria(false, " ", "BRAND 2", 20.0, null),
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")));
+
+        assertThat(page.getContent()).extracting(ProductResponseDTO::getName)
+            .containsExactly("Product 2-3", "Product 2-2", "Product 2-1");
+        // first page not full, so no count query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenWildcardInName_whenSearchProductResponses_thenMatchItLiterally() {
+        var page = productRepository.searchProductResponses(new ProductSearchCriteria(false, "product_1", null, null, null),
+            PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @Test
+    void givenSortByUnlistedProperty_whenSearchProductResponses_thenThrowValidationException() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+
+        assertThatThrownBy(() -> productRepository.searchProductResponses(criteria, PageRequest.of(0, 10, Sort.by("deleted"))))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("Cannot sort products by 'deleted'");
+    }
+
+    @Test
+    void givenCursorPages_whenSearchProductResponsesAfter_thenWalkEveryRowOnceWithoutOffset() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+        List<ProductResponseDTO> rows = new ArrayList<>();
+        String cursor = null;
+        var pages = 0;
+        do {
+            var page = productRepository.searchProductResponsesAfter(criteria, cursor, 5, Sort.by(Sort.Direction.DESC, "price"));
+            rows.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(rows).extracting(ProductResponseDTO::getId).hasSize(12).doesNotHaveDuplicates();
+        assertThat(rows).extracting(ProductResponseDTO::getPrice).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(rows.subList(0, 3)).extracting(ProductResponseDTO::getId).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(SqlCapture.STATEMENTS).noneMatch(sql -> sql.contains("offset"));
+    }
+
+    @Test
+    void givenRowInsertedBeforeCursor_whenSearchProductResponsesAfter_thenNextPageDoesNotShift() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+        var first = productRepository.searchProductResponsesAfter(criteria, null, 4, Sort.by("price"));
+        var brand = brandRepository.findAll().get(0);
+        productRepository.save(Product.builder().name("Cheapest").brand(brand).quantity(1).price(1.0).deleted(false).build());
+
+        var second = productRepository.searchProductResponsesAfter(criteria, first.getNextCursor(), 4, Sort.unsorted());
+
+        assertThat(first.getContent()).extracting(ProductResponseDTO::getPrice).containsExactly(10.0, 10.0, 10.0, 20.0);
+        assertThat(second.getContent()).extracting(ProductResponseDTO::getPrice).containsExactly(20.0, 20.0, 30.0, 30.0);
+    }
+
+    @Test
+    void givenTamperedCursor_whenSearchProductResponsesAfter_thenThrowValidationException() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+        var forged = new KeysetCursor("deleted", Sort.Direction.ASC, "false", 1L).encode();
+
+        assertThatThrownBy(() -> productRepository.searchProductResponsesAfter(criteria, "not a cursor", 5, Sort.unsorted()))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> productRepository.searchProductResponsesAfter(criteria, forged, 5, Sort.unsorted()))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> productRepository.searchProductResponsesAfter(criteria, null, 5, Sort.by("price", "name")))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("one property");
+    }
+
+    private Explained explain(ProductSearchCriteria criteria) {
+        SqlCapture.STATEMENTS.clear();
+        productRepository.searchProductResponses(criteria, PageRequest.of(0, 5));
+        var sql = SqlCapture.STATEMENTS.get(0);
+        // H2 explains a statement without binding its parameters
+        var plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql);
+                 var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+        return new Explained(sql.replace(" ", ""), plan);
+    }
+
+    private record Explained(String sql, String plan) {
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dashboard.repository;
+
+import com.dashboard.importer.BulkLoader;
+import com.dashboard.model.Brand;
+import com.dashboard.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times the product search filters on catalogs of growing size, with brands growing along with the
+ * products as in a real catalog. With the {@code name_lower} and {@code (brand_id, deleted, price)} indexes
+ * a search reads only its own brand's rows, so 16 times the data must cost well under 16 times the latency.
+ * Runs on PostgreSQL with the real {@code db/schema.sql} when {@code -Dbenchmark.postgres.url=...} is set; the
+ * PostgreSQL tables are truncated. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+    "spring.datasource.url=${benchmark.postgres.url}",
+    "spring.datasource.username=${benchmark.postgres.username:postgres}",
+    "spring.datasource.password=${benchmark.postgres.password:123456}",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.sql.init.mode=always"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchBenchmarkTest {
+    private static final int BASE_ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int GROWTH = 4;
+    private static final int PRODUCTS_PER_BRAND = 100;
+    private static final int CHUNK_SIZE = 5_000;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 300;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void givenGrowingCatalog_whenSearchByBrandAndPrice_thenLatencyGrowsSublinearly() {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE product, brand RESTART IDENTITY CASCADE");
+        var bulkLoader = new BulkLoader(dataSource, transactionManager);
+
+        List<Long> byBrandNanos = new ArrayList<>();
+        List<Long> byBrandAndPriceNanos = new ArrayList<>();
+        var loaded = 0;
+        for (int size = BASE_ROWS; size <= BASE_ROWS * GROWTH * GROWTH; size *= GROWTH) {
+            loadProducts(bulkLoader, jdbcTemplate, loaded, size);
+            loaded = size;
+            // a brand in the middle of the catalog, always holding PRODUCTS_PER_BRAND products
+            var brand = "BRAND " + size / PRODUCTS_PER_BRAND / 2;
+            var byBrand = medianNanos(new ProductSearchCriteria(false, null, brand, null, null));
+            var byBrandAndPrice = medianNanos(new ProductSearchCriteria(false, null, brand, 20.0, 60.0));
+            byBrandNanos.add(byBrand);
+            byBrandAndPriceNanos.add(byBrandAndPrice);
+            log.info("PostgreSQL, {} products: brand {} ms, brand and price {} ms", size,
+                String.format("%.3f", byBrand / 1e6), String.format("%.3f", byBrandAndPrice / 1e6));
+        }
+
+        var dataGrowth = GROWTH * GROWTH;
+        assertThat(byBrandNanos.get(2)).isLessThan(byBrandNanos.get(0) * dataGrowth / 2);
+        assertThat(byBrandAndPriceNanos.get(2)).isLessThan(byBrandAndPriceNanos.get(0) * dataGrowth / 2);
+    }
+
+    private void loadProducts(BulkLoader bulkLoader, JdbcTemplate jdbcTemplate, int from, int to) {
+        List<Brand> brands = new ArrayList<>();
+        for (int b = from / PRODUCTS_PER_BRAND; b < to / PRODUCTS_PER_BRAND; b++) {
+            brands.add(Brand.builder().name("Brand " + b).deleted(false).build());
+        }
+        bulkLoader.brandWriter().write(brands);
+        var firstBrandId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM brand WHERE name = ?", Long.class, "Brand " + from / PRODUCTS_PER_BRAND);
+
+        List<Product> products = new ArrayList<>(CHUNK_SIZE);
+        for (int i = from; i < to; i++) {
+            var brand = Brand.builder().id(firstBrandId + (i - from) / PRODUCTS_PER_BRAND).build();
+            products.add(Product.builder().name("Product " + i).brand(brand).quantity(i % 50)
+                .price(1.0 + i % PRODUCTS_PER_BRAND).deleted(i % 10 == 0).build());
+            if (products.size() == CHUNK_SIZE || i == to - 1) {
+                bulkLoader.productWriter().write(products);
+                products.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private long medianNanos(ProductSearchCriteria criteria) {
+        var page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price"));
+        for (int i = 0; i < WARMUP; i++) {
+            productRepository.searchProductResponses(criteria, page);
+        }
+        var samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            var start = System.nanoTime();
+            var result = productRepository.searchProductResponses(criteria, page);
+            samples[i] = System.nanoTime() - start;
+            assertThat(result.getContent()).isNotEmpty();
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,136 @@
+package com.dashboard.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the product searches on PostgreSQL with the parameter types Hibernate actually binds, which the H2
+ * plans in {@link ProductRepositoryTest} cannot show. The driver prepares every statement on the server, so the
+ * searches can be re-run as generic plans by name. Needs a database the real schema can be applied to; run with
+ * {@code mvn test -Pbenchmark -Dbenchmark.postgres.url=...}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+    "spring.datasource.url=${benchmark.postgres.url}",
+    "spring.datasource.username=${benchmark.postgres.username:postgres}",
+    "spring.datasource.password=${benchmark.postgres.password:123456}",
+    "spring.datasource.hikari.data-source-properties.prepareThreshold=-1",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.sql.init.mode=always"
+})
+class ProductSearchPlanTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void givenPriceCursor_whenSearchProductResponsesAfter_thenSeekOnThePriceIndex() {
+        var cursor = KeysetCursor.start("price", Sort.Direction.ASC).after(50.0, 1000L).encode();
+
+        var plan = explain(() -> productRepository.searchProductResponsesAfter(
+            new ProductSearchCriteria(false, null, null, null, null), cursor, 20, Sort.unsorted()));
+
+        assertThat(plan).doesNotContain("double precision").contains("idx_product_active_price_id", "Index Cond: (price >=");
+    }
+
+    @Test
+    void givenBrandAndPriceRange_whenSearchProductResponses_thenBoundThePriceInTheBrandIndex() {
+        var plan = explain(() -> productRepository.searchProductResponses(
+            new ProductSearchCriteria(false, null, "brand 1", 20.0, 60.0), PageRequest.of(0, 20)));
+
+        assertThat(plan).doesNotContain("double precision").containsPattern("Index Cond: .*price >= .*price <= ");
+    }
+
+    @Test
+    void givenBrandAndPriceRange_whenFacetProductResponses_thenBoundThePriceInTheBrandIndex() {
+        var plan = explain(() -> productRepository.facetProductResponses(
+            new ProductSearchCriteria(false, null, "brand 1", 20.0, 60.0), Set.of(ProductFacet.BRAND), List.of()));
+
+        assertThat(plan).doesNotContain("double precision").containsPattern("Index Cond: .*price >= .*price <= ");
+    }
+
+    @Test
+    void givenNameIndexIds_whenSearchProductResponses_thenLookUpTheIdArrayInAnIndex() {
+        var plan = explain(() -> productRepository.searchProductResponses(
+            new ProductSearchCriteria(false, null, null, null, null, List.of(1L, 2L, 3L)), PageRequest.of(0, 20)));
+
+        assertThat(plan).contains("Index Cond: (id = ANY ($1))");
+    }
+
+    @Test
+    void givenNameIndexIds_whenFacetProductResponses_thenLookUpTheIdArrayInAnIndex() {
+        var plan = explain(() -> productRepository.facetProductResponses(
+            new ProductSearchCriteria(false, null, null, null, null, List.of(1L, 2L, 3L)), Set.of(ProductFacet.BRAND), List.of()));
+
+        assertThat(plan).contains("Index Cond: (id = ANY ($1))");
+    }
+
+    /**
+     * Runs the search, then explains the generic plan of the first product statement it prepared, so every
+     * parameter keeps the type it was bound with.
+     */
+    private String explain(Runnable search) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            var started = timestamp(connection);
+            search.run();
+            execute(connection, "SET LOCAL plan_cache_mode = force_generic_plan");
+            execute(connection, "SET LOCAL enable_seqscan = off");
+            try (var statement = connection.prepareStatement("""
+                    SELECT name, cardinality(parameter_types) FROM pg_prepared_statements
+                    WHERE prepare_time >= ? AND statement ILIKE '%from product%' ORDER BY prepare_time LIMIT 1""")) {
+                statement.setObject(1, started);
+                try (var resultSet = statement.executeQuery()) {
+                    assertThat(resultSet.next()).as("prepared product statement").isTrue();
+                    var arguments = String.join(", ", Collections.nCopies(resultSet.getInt(2), "NULL"));
+                    return explainExecute(connection, resultSet.getString(1), arguments);
+                }
+            }
+        });
+    }
+
+    private static String explainExecute(Connection connection, String name, String arguments) throws SQLException {
+        var lines = new ArrayList<String>();
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("EXPLAIN EXECUTE \"" + name + "\"(" + arguments + ")")) {
+            while (resultSet.next()) {
+                lines.add(resultSet.getString(1));
+            }
+        }
+        return String.join("\n", lines);
+    }
+
+    private static Object timestamp(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT clock_timestamp()")) {
+            resultSet.next();
+            return resultSet.getObject(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.dashboard.search;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.config.SeedingState;
+import com.dashboard.exception.ValidationException;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSuggestionsTest {
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private CatalogSuggestions catalogSuggestions;
+
+    @BeforeEach
+    void setUp() {
+        catalogSuggestions = new CatalogSuggestions(productRepository, brandRepository, transactionManager, new SeedingState(), new SearchProperties());
+    }
+
+    @Test
+    void givenRebuild_whenSuggest_thenCompleteProductAndBrandNames() {
+        when(productRepository.streamActiveIdAndName()).thenReturn(Stream.of(
+            new Object[]{1L, "Wireless Mouse"}, new Object[]{2L, "Wireless Mouse"}, new Object[]{3L, "Webcam"}));
+        when(brandRepository.findIdAndNameByDeleted(false)).thenReturn(List.of(
+            new Object[]{1L, "Logitech"}, new Object[]{2L, "Lenovo"}, new Object[]{3L, "Dell"}));
+        catalogSuggestions.rebuild();
+
+        catalogSuggestions.brandChanged(4L, "LG");
+        catalogSuggestions.productRemoved(3L);
+
+        assertThat(catalogSuggestions.suggestProducts("w", 10)).containsExactly("Wireless Mouse");
+        assertThat(catalogSuggestions.suggestBrands("l", 10)).containsExactly("Lenovo", "LG", "Logitech");
+    }
+
+    @Test
+    void givenLimitOutOfRange_whenSuggest_thenThrowValidationException() {
+        assertThatThrownBy(() -> catalogSuggestions.suggestProducts("w", 0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> catalogSuggestions.suggestBrands("w", 51)).isInstanceOf(ValidationException.class);
+    }
+}
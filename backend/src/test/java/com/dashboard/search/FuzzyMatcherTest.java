@@ -0,0 +1,43 @@
+package com.dashboard.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FuzzyMatcherTest {
+
+    @Test
+    void givenWord_whenCost_thenExactBeforePrefixBeforeTypo() {
+        var matcher = new FuzzyMatcher("cable", 2);
+
+        assertThat(matcher.cost(0, "cable")).isZero();
+        assertThat(matcher.cost(0, "cables")).isEqualTo(1);
+        assertThat(matcher.cost(0, "cabel")).isEqualTo(2);
+        assertThat(matcher.cost(0, "table")).isEqualTo(2);
+        assertThat(matcher.cost(0, "tablet")).isEqualTo(3);
+        assertThat(matcher.cost(0, "mouse")).isEqualTo(FuzzyMatcher.NO_MATCH);
+    }
+
+    @Test
+    void givenWordLength_whenCost_thenAllowMoreEditsForLongerWords() {
+        var matcher = new FuzzyMatcher("tv hdmi keybaord", 2);
+
+        assertThat(matcher.cost(0, "tx")).isEqualTo(FuzzyMatcher.NO_MATCH);
+        assertThat(matcher.cost(1, "hdmx")).isEqualTo(2);
+        assertThat(matcher.cost(1, "hxmx")).isEqualTo(FuzzyMatcher.NO_MATCH);
+        assertThat(matcher.cost(2, "keyboard")).isEqualTo(2);
+    }
+
+    @Test
+    void givenName_whenScore_thenEveryWordHasToMatch() {
+        var matcher = new FuzzyMatcher("wireles mose", 2);
+
+        assertThat(matcher.score("logitech wireless mouse")).isEqualTo(1 + 2);
+        assertThat(matcher.score("wireless keyboard")).isEqualTo(FuzzyMatcher.NO_MATCH);
+    }
+
+    @Test
+    void givenPunctuation_whenWords_thenSplitOnIt() {
+        assertThat(FuzzyMatcher.words(" usb-c  cable, 2m ")).containsExactly("usb", "c", "cable", "2m");
+    }
+}
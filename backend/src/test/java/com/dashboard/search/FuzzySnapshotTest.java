@@ -0,0 +1,36 @@
+package com.dashboard.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class FuzzySnapshotTest {
+    private final FuzzySnapshot snapshot = new FuzzySnapshot(
+        new long[]{10, 20, 30, 40, 50},
+        new String[]{"logitech wireless mouse", "wireless mouse", "wired mouse", "mouse pad", "wireless keyboard"}
+    );
+
+    @Test
+    void givenTypos_whenSearch_thenRankMostSimilarFirst() {
+        assertThat(snapshot.search(new FuzzyMatcher("wireles mouse", 2), 10))
+            .extracting(FuzzySnapshot.Hit::productId)
+            .containsExactly(20L, 10L);
+        assertThat(snapshot.search(new FuzzyMatcher("mosue", 2), 10))
+            .extracting(FuzzySnapshot.Hit::productId)
+            .containsExactly(20L, 30L, 40L, 10L);
+    }
+
+    @Test
+    void givenLimit_whenSearch_thenKeepBestHits() {
+        assertThat(snapshot.search(new FuzzyMatcher("mouse", 2), 1))
+            .extracting(FuzzySnapshot.Hit::productId, FuzzySnapshot.Hit::cost)
+            .containsExactly(tuple(20L, 0));
+    }
+
+    @Test
+    void givenWordWithoutMatch_whenSearch_thenReturnEmpty() {
+        assertThat(snapshot.search(new FuzzyMatcher("wireless monitor", 2), 10)).isEmpty();
+        assertThat(snapshot.search(new FuzzyMatcher("  ", 2), 10)).isEmpty();
+    }
+}
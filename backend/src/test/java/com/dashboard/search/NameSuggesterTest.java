@@ -0,0 +1,52 @@
+package com.dashboard.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameSuggesterTest {
+    private final NameSuggester suggester = new NameSuggester();
+
+    @Test
+    void givenNoSnapshot_whenSuggest_thenReturnEmpty() {
+        suggester.put(1, "Cable");
+
+        assertThat(suggester.isReady()).isFalse();
+        assertThat(suggester.suggest("ca", 10)).isEmpty();
+    }
+
+    @Test
+    void givenChangesAfterSnapshot_whenSuggest_thenApplyThem() {
+        suggester.replace(new PrefixSnapshot(new long[]{1, 2, 3}, new String[]{"Cable", "Cable", "Camera"}), suggester.startLoading());
+
+        suggester.put(3, "Cable");
+        suggester.put(4, "Car charger");
+        suggester.remove(1);
+        suggester.remove(2);
+
+        assertThat(suggester.suggest("CA", 10)).containsExactly("Cable", "Car charger");
+    }
+
+    @Test
+    void givenRenamedEntry_whenSuggest_thenRerankByNewWeights() {
+        suggester.replace(new PrefixSnapshot(new long[]{1, 2, 3}, new String[]{"Cable", "Cable", "Camera"}), suggester.startLoading());
+
+        suggester.put(1, "Camera");
+        suggester.put(2, "Camera");
+
+        assertThat(suggester.suggest("ca", 10)).containsExactly("Camera");
+        assertThat(suggester.suggest("ca", 1)).containsExactly("Camera");
+    }
+
+    @Test
+    void givenChangesBeforeLoadStarted_whenReplace_thenDropThem() {
+        suggester.put(1, "Cable");
+        var startedAt = suggester.startLoading();
+        suggester.put(2, "Camera");
+
+        suggester.replace(new PrefixSnapshot(new long[]{1}, new String[]{"Cable"}), startedAt);
+
+        assertThat(suggester.pendingChanges()).isEqualTo(1);
+        assertThat(suggester.suggest("ca", 10)).containsExactly("Cable", "Camera");
+    }
+}
@@ -0,0 +1,47 @@
+package com.dashboard.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times substring queries against a snapshot of synthetic product names. Run with {@code mvn test -Pbenchmark}
+ * and {@code -Dbenchmark.names=...} for another catalog size.
+ */
+@Tag("benchmark")
+class NgramSnapshotBenchmarkTest {
+    private static final int NAMES = Integer.getInteger("benchmark.names", 2_000_000);
+    private static final String[] WORDS = {"usb", "cable", "hdmi", "adapter", "wireless", "mouse", "keyboard", "laptop",
+        "stand", "charger", "monitor", "webcam", "speaker", "headset", "router", "switch", "dock", "hub", "pro", "mini"};
+
+    @Test
+    void givenMillionsOfNames_whenSearch_thenAnswerInMilliseconds() {
+        var random = new Random(42);
+        var ids = new long[NAMES];
+        var names = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            ids[i] = i + 1;
+            names[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + Integer.toString(i, 36);
+        }
+        var buildStart = System.nanoTime();
+        var snapshot = new NgramSnapshot(ids, names);
+        var buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        var terms = new String[]{"hdmi adapter 1a", "k2z", "wireless mouse", "zzzz"};
+        var samples = new long[200];
+        for (int i = 0; i < samples.length; i++) {
+            var start = System.nanoTime();
+            snapshot.search(terms[i % terms.length], 10_001);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        System.out.printf("%d names: built in %d ms, median query %.3f ms, p99 %.3f ms%n",
+            NAMES, buildMillis, samples[samples.length / 2] / 1e6, samples[samples.length * 99 / 100] / 1e6);
+        assertThat(samples[samples.length / 2]).isLessThan(50_000_000L);
+    }
+}
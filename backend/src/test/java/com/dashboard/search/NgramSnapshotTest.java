@@ -0,0 +1,39 @@
+package com.dashboard.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramSnapshotTest {
+    private final NgramSnapshot snapshot = new NgramSnapshot(
+        new long[]{10, 20, 30, 40},
+        new String[]{"usb-c cable", "hdmi cable", "usb hub", "elbac"}
+    );
+
+    @Test
+    void givenTerm_whenSearch_thenReturnOrdinalsOfNamesContainingIt() {
+        assertThat(snapshot.search("cable", 10)).containsExactly(0, 1);
+        assertThat(snapshot.search("b-c", 10)).containsExactly(0);
+        assertThat(snapshot.search("usb h", 10)).containsExactly(2);
+        assertThat(snapshot.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void givenTrigramsInOtherOrder_whenSearch_thenVerifyAgainstName() {
+        // "bac" and "ac " are both trigrams of "elbac" and "cable" but only "elbac" contains "lbac"
+        assertThat(snapshot.search("lbac", 10)).containsExactly(3);
+        assertThat(snapshot.search("able", 10)).containsExactly(0, 1);
+    }
+
+    @Test
+    void givenTermShorterThanTrigram_whenSearch_thenScanUpToLimit() {
+        assertThat(snapshot.search("ub", 10)).containsExactly(2);
+        assertThat(snapshot.search("b", 2)).containsExactly(0, 1);
+    }
+
+    @Test
+    void givenRepeatedTrigrams_whenGrams_thenReturnEachOnce() {
+        assertThat(NgramSnapshot.grams("aaaa")).hasSize(1);
+        assertThat(NgramSnapshot.grams("ab")).isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.dashboard.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PrefixSnapshotTest {
+    private final PrefixSnapshot snapshot = new PrefixSnapshot(
+        new long[]{40, 10, 20, 30, 50, 60},
+        new String[]{"Cable", "Camera", "cable ", "Car charger", "Cable", "Mouse"}
+    );
+
+    @Test
+    void givenNamesOfSeveralEntries_whenTop_thenHeaviestFirstThenAlphabetical() {
+        assertThat(snapshot.top("ca", 10))
+            .extracting(PrefixSnapshot.Suggestion::displayName, PrefixSnapshot.Suggestion::weight)
+            .containsExactly(
+                tuple("Cable", 3),
+                tuple("Camera", 1),
+                tuple("Car charger", 1)
+            );
+    }
+
+    @Test
+    void givenLimit_whenTop_thenStopAfterIt() {
+        assertThat(snapshot.top("ca", 2)).extracting(PrefixSnapshot.Suggestion::key).containsExactly("cable", "camera");
+        assertThat(snapshot.top("", 1)).extracting(PrefixSnapshot.Suggestion::key).containsExactly("cable");
+    }
+
+    @Test
+    void givenPrefixWithoutNames_whenTop_thenReturnEmpty() {
+        assertThat(snapshot.top("x", 10)).isEmpty();
+        assertThat(snapshot.top("cables", 10)).isEmpty();
+    }
+
+    @Test
+    void givenEntryId_whenKeyOf_thenReturnItsNormalizedName() {
+        assertThat(snapshot.keyOf(20)).isEqualTo("cable");
+        assertThat(snapshot.keyOf(60)).isEqualTo("mouse");
+        assertThat(snapshot.keyOf(70)).isNull();
+        assertThat(snapshot.weight("cable")).isEqualTo(3);
+        assertThat(snapshot.size()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,132 @@
+package com.dashboard.search;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.config.SeedingState;
+import com.dashboard.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final SeedingState seedingState = new SeedingState();
+    private SearchProperties searchProperties;
+    private ProductNameIndex productNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        productNameIndex = new ProductNameIndex(productRepository, transactionManager, seedingState, searchProperties);
+    }
+
+    @Test
+    void givenNotLoaded_whenFind_thenReturnEmpty() {
+        assertThat(productNameIndex.isReady()).isFalse();
+        assertThat(productNameIndex.find("cable")).isEmpty();
+    }
+
+    @Test
+    void givenLoadedIndex_whenFind_thenMatchSubstringIgnoringCase() {
+        load(row(1L, "usb-c cable"), row(2L, "hdmi cable"), row(3L, "usb hub"));
+
+        assertThat(productNameIndex.find(" CABLE")).hasValue(List.of(1L, 2L));
+        assertThat(productNameIndex.find("hub")).hasValue(List.of(3L));
+    }
+
+    @Test
+    void givenWritesAfterLoad_whenFind_thenPendingChangesOverrideSnapshot() {
+        load(row(1L, "usb-c cable"), row(2L, "hdmi cable"));
+
+        productNameIndex.remove(1L);
+        productNameIndex.put(2L, "HDMI Adapter");
+        productNameIndex.put(5L, "Cable Tester");
+
+        assertThat(productNameIndex.find("cable")).hasValue(List.of(5L));
+        assertThat(productNameIndex.find("adapter")).hasValue(List.of(2L));
+    }
+
+    @Test
+    void givenRebuild_whenFind_thenServeNewSnapshotAndDropAppliedChanges() {
+        load(row(1L, "usb-c cable"));
+        productNameIndex.put(2L, "hdmi cable");
+
+        load(row(1L, "usb-c cable"), row(2L, "hdmi cable"));
+
+        assertThat(productNameIndex.find("cable")).hasValue(List.of(1L, 2L));
+    }
+
+    @Test
+    void givenProductsImportedAroundTheService_whenRefresh_thenRebuildInBackground() throws InterruptedException {
+        load(row(1L, "usb-c cable"), row(3L, "old cable"));
+        when(productRepository.streamActiveIdAndNameLower()).thenReturn(Stream.of(row(1L, "usb-c cable"), row(2L, "hdmi cable")));
+
+        productNameIndex.refresh();
+
+        for (int i = 0; i < 500 && productNameIndex.find("hdmi").orElseThrow().isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(productNameIndex.find("cable")).hasValue(List.of(1L, 2L));
+    }
+
+    @Test
+    void givenSeedingInProgress_whenSeedingCompletes_thenLoadTheIndex() throws InterruptedException {
+        when(productRepository.streamActiveIdAndNameLower()).thenReturn(Stream.<Object[]>of(row(1L, "usb-c cable")));
+        seedingState.start(100);
+        productNameIndex.start();
+        try {
+            Thread.sleep(50);
+            assertThat(productNameIndex.isReady()).isFalse();
+
+            seedingState.complete();
+
+            for (int i = 0; i < 500 && !productNameIndex.isReady(); i++) {
+                Thread.sleep(10);
+            }
+            assertThat(productNameIndex.find("cable")).hasValue(List.of(1L));
+        } finally {
+            productNameIndex.stop();
+        }
+    }
+
+    @Test
+    void givenTyposAndPendingChanges_whenFindSimilar_thenRankBothByCost() {
+        load(row(1L, "wireless mouse"), row(2L, "logitech wireless mouse"), row(3L, "wired mouse"));
+
+        productNameIndex.put(4L, "Wireless Mouse Pro");
+        productNameIndex.remove(1L);
+
+        assertThat(productNameIndex.findSimilar("Wirelss mouse")).hasValue(List.of(2L, 4L));
+        assertThat(productNameIndex.findSimilar("zzzz")).hasValue(List.of());
+    }
+
+    @Test
+    void givenMoreMatchesThanMaxCandidates_whenFind_thenReturnEmpty() {
+        searchProperties.getNameIndex().setMaxCandidates(1);
+        load(row(1L, "usb-c cable"), row(2L, "hdmi cable"));
+
+        assertThat(productNameIndex.find("cable")).isEmpty();
+        assertThat(productNameIndex.find("hdmi")).hasValue(List.of(2L));
+    }
+
+    private void load(Object[]... rows) {
+        when(productRepository.streamActiveIdAndNameLower()).thenReturn(Stream.of(rows));
+        productNameIndex.rebuild();
+    }
+
+    private static Object[] row(long id, String nameLower) {
+        return new Object[]{id, nameLower};
+    }
+}
@@ -7,6 +7,7 @@ import com.dashboard.exception.ValidationException;
 import com.dashboard.model.Brand;
 import com.dashboard.repository.BrandRepository;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.search.CatalogSuggestions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,12 +38,18 @@ class BrandServiceTest {
     private BrandRepository brandRepository;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private CatalogSuggestions catalogSuggestions;
+    @Mock
+    private ProductCountCache productCountCache;
+    private CatalogVersion catalogVersion;
     private BrandService brandService;
     private BrandRequestDTO brandRequestDTO;
 
     @BeforeEach
     void setUp() {
-        brandService = new BrandService(brandRepository, productRepository);
+        catalogVersion = new CatalogVersion();
+        brandService = new BrandService(brandRepository, productRepository, catalogSuggestions, catalogVersion, productCountCache);
         brandRequestDTO = new BrandRequestDTO(NAME, "country", 1900, "https://apple.com", "description");
     }
 
@@ -195,6 +202,9 @@ class BrandServiceTest {
         assertEquals(VALID_ID, updatedBrand.getId());
         assertEquals(nameToUpdate, updatedBrand.getName());
         verify(brandRepository).save(Mockito.any(Brand.class));
+        verify(catalogSuggestions).brandChanged(VALID_ID, nameToUpdate);
+        verify(productCountCache).invalidate();
+        assertEquals(1, catalogVersion.current());
     }
 
     @Test
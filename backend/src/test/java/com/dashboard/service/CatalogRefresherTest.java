@@ -0,0 +1,61 @@
+package com.dashboard.service;
+
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.search.CatalogSuggestions;
+import com.dashboard.search.ProductNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogRefresherTest {
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private CatalogSuggestions catalogSuggestions;
+    @Mock
+    private ProductCountCache productCountCache;
+    private CatalogVersion catalogVersion;
+    private CatalogRefresher catalogRefresher;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion();
+        catalogRefresher = new CatalogRefresher(productNameIndex, catalogSuggestions, catalogVersion, productCountCache);
+    }
+
+    @Test
+    void givenProductImport_whenImportFinished_thenInvalidateCachesAndRebuildBoth() {
+        catalogRefresher.importFinished(ImportJobType.PRODUCT);
+
+        assertThat(catalogVersion.current()).isEqualTo(1);
+        verify(productCountCache).invalidate();
+        verify(productNameIndex).refresh();
+        verify(catalogSuggestions).refresh();
+    }
+
+    @Test
+    void givenSeedingFinished_whenSeedFinished_thenInvalidateCachedResultsOnly() {
+        catalogRefresher.seedFinished();
+
+        assertThat(catalogVersion.current()).isEqualTo(1);
+        verify(productCountCache).invalidate();
+        verifyNoInteractions(productNameIndex, catalogSuggestions);
+    }
+
+    @Test
+    void givenBrandImport_whenImportFinished_thenLeaveNameIndexAlone() {
+        catalogRefresher.importFinished(ImportJobType.BRAND);
+
+        assertThat(catalogVersion.current()).isEqualTo(1);
+        verify(productCountCache).invalidate();
+        verify(catalogSuggestions).refresh();
+        verifyNoInteractions(productNameIndex);
+    }
+}
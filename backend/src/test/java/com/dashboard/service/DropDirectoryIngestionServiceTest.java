@@ -0,0 +1,192 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SeedingState;
+import com.dashboard.importer.CsvImporter;
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.importer.ImportProperties;
+import com.dashboard.importer.UpsertLoader;
+import com.dashboard.model.Brand;
+import com.dashboard.repository.BrandRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DropDirectoryIngestionServiceTest {
+    @Mock
+    private UpsertLoader upsertLoader;
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private CatalogRefresher catalogRefresher;
+    @TempDir
+    private Path dropDirectory;
+    private SimpleMeterRegistry meterRegistry;
+    private DropDirectoryIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        var importProperties = new ImportProperties();
+        importProperties.setBatchSize(2);
+        importProperties.setParseWorkers(1);
+        importProperties.getWatch().setDirectory(dropDirectory.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = new DropDirectoryIngestionService(
+            new CsvImporter(null, null, importProperties),
+            upsertLoader,
+            brandRepository,
+            new SeedingState(),
+            catalogRefresher,
+            meterRegistry,
+            importProperties
+        );
+    }
+
+    @Test
+    void givenBrandDelta_whenIngest_thenUpsertRowsAndMoveToDone() throws IOException {
+        List<Brand> written = new ArrayList<>();
+        when(upsertLoader.brandWriter()).thenReturn(written::addAll);
+        var file = Files.writeString(dropDirectory.resolve("brands-2024-05-01.csv"), """
+            name,country,founded_year,website,description
+            Dell,USA,1984,,
+            ,USA,1939,,
+            Logitech,Switzerland,1981,,
+            """);
+
+        ingestionService.ingest(file);
+
+        assertThat(written).extracting(Brand::getName).containsExactly("Dell", "Logitech");
+        assertThat(file).doesNotExist();
+        assertThat(filesIn(dropDirectory.resolve("done"))).singleElement().asString().endsWith("-brands-2024-05-01.csv");
+        assertThat(meterRegistry.counter("import.watch.files", "type", "brand", "outcome", "done").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("import.watch.rows", "type", "brand", "outcome", "imported").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("import.watch.rows", "type", "brand", "outcome", "skipped").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("import.watch.lag", "type", "brand").count()).isEqualTo(1);
+        verify(catalogRefresher).importFinished(ImportJobType.BRAND);
+    }
+
+    @Test
+    void givenWriterFailure_whenIngest_thenMoveToFailed() throws IOException {
+        when(upsertLoader.brandWriter()).thenReturn(chunk -> {
+            throw new IllegalStateException("connection lost");
+        });
+        var file = Files.writeString(dropDirectory.resolve("brands.csv"), """
+            name,country,founded_year,website,description
+            Dell,USA,1984,,
+            """);
+
+        ingestionService.ingest(file);
+
+        assertThat(filesIn(dropDirectory.resolve("failed"))).hasSize(1);
+        assertThat(meterRegistry.counter("import.watch.files", "type", "brand", "outcome", "failed").count()).isEqualTo(1);
+        verifyNoInteractions(catalogRefresher);
+    }
+
+    @Test
+    void givenFailureAfterACommittedChunk_whenIngest_thenRefreshCatalog() throws IOException {
+        var chunks = new AtomicInteger();
+        when(upsertLoader.brandWriter()).thenReturn(chunk -> {
+            if (chunks.incrementAndGet() > 1) {
+                throw new IllegalStateException("connection lost");
+            }
+        });
+        var file = Files.writeString(dropDirectory.resolve("brands.csv"), """
+            name,country,founded_year,website,description
+            Dell,USA,1984,,
+            Logitech,Switzerland,1981,,
+            Apple,USA,1976,,
+            """);
+
+        ingestionService.ingest(file);
+
+        assertThat(filesIn(dropDirectory.resolve("failed"))).hasSize(1);
+        verify(catalogRefresher).importFinished(ImportJobType.BRAND);
+    }
+
+    @Test
+    void givenUnknownPrefix_whenIngest_thenMoveToFailedWithoutParsing() throws IOException {
+        var file = Files.writeString(dropDirectory.resolve("inventory.csv"), "name\n");
+
+        ingestionService.ingest(file);
+
+        assertThat(filesIn(dropDirectory.resolve("failed"))).hasSize(1);
+        verifyNoInteractions(upsertLoader, brandRepository, catalogRefresher);
+    }
+
+    @Test
+    void givenFileStillBeingWritten_whenIngestSettled_thenWaitUntilItStopsChanging() throws IOException {
+        List<Brand> written = new ArrayList<>();
+        when(upsertLoader.brandWriter()).thenReturn(written::addAll);
+        var quietNanos = Duration.ofSeconds(2).toNanos();
+        var file = Files.writeString(dropDirectory.resolve("brands.csv"), """
+            name,country,founded_year,website,description
+            Dell,USA,1984,,
+            """);
+        ingestionService.offer(file, 0);
+
+        Files.writeString(file, "Logitech,Switzerland,1981,,\n", StandardOpenOption.APPEND);
+        ingestionService.ingestSettled(quietNanos);
+
+        assertThat(file).exists();
+        assertThat(written).isEmpty();
+
+        ingestionService.ingestSettled(2 * quietNanos);
+
+        assertThat(file).doesNotExist();
+        assertThat(written).extracting(Brand::getName).containsExactly("Dell", "Logitech");
+    }
+
+    @Test
+    void givenPartFile_whenOfferAndIngestSettled_thenIgnoreItUntilRenamed() throws IOException {
+        when(upsertLoader.brandWriter()).thenReturn(chunk -> { });
+        var part = Files.writeString(dropDirectory.resolve("brands.csv.part"), """
+            name,country,founded_year,website,description
+            Dell,USA,1984,,
+            """);
+        var quietNanos = Duration.ofSeconds(2).toNanos();
+
+        ingestionService.offer(part, 0);
+        ingestionService.ingestSettled(quietNanos);
+
+        assertThat(part).exists();
+        verifyNoInteractions(upsertLoader);
+
+        var file = Files.move(part, dropDirectory.resolve("brands.csv"));
+        ingestionService.offer(file, quietNanos);
+        ingestionService.ingestSettled(2 * quietNanos);
+
+        assertThat(filesIn(dropDirectory.resolve("done"))).hasSize(1);
+    }
+
+    @Test
+    void givenFileNames_whenTypeOf_thenMatchPrefixIgnoringCase() {
+        assertThat(DropDirectoryIngestionService.typeOf("Products_delta_0900.csv")).isEqualTo(ImportJobType.PRODUCT);
+        assertThat(DropDirectoryIngestionService.typeOf("brands.csv")).isEqualTo(ImportJobType.BRAND);
+        assertThat(DropDirectoryIngestionService.typeOf("users.csv")).isNull();
+    }
+
+    private static List<Path> filesIn(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(Path::getFileName).toList();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.ImportJobStatusDTO;
+import com.dashboard.dto.ImportRowErrorDTO;
+import com.dashboard.exception.ConflictException;
+import com.dashboard.exception.NotFoundException;
+import com.dashboard.exception.ValidationException;
+import com.dashboard.importer.BulkLoader;
+import com.dashboard.importer.CsvImporter;
+import com.dashboard.importer.ImportJobStatus;
+import com.dashboard.importer.ImportJobType;
+import com.dashboard.importer.ImportMode;
+import com.dashboard.importer.ImportProperties;
+import com.dashboard.importer.LoaderMode;
+import com.dashboard.importer.ProductCatalogSync;
+import com.dashboard.model.Brand;
+import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+    private static final String BRAND_CSV = """
+        name,country,founded_year,website,description
+        Dell,USA,1984,,
+        HP,USA,1939,,
+        ,USA,1939,,
+        Logitech,Switzerland,1981,,
+        Corsair,USA,1994,,
+        """;
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private BulkLoader bulkLoader;
+    @Mock
+    private ProductCatalogSync productCatalogSync;
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CatalogRefresher catalogRefresher;
+    @Captor
+    private ArgumentCaptor<List<Brand>> brandCaptor;
+    @TempDir
+    private Path workDir;
+    private ImportProperties importProperties;
+    private ImportJobService importJobService;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new ImportProperties();
+        importProperties.setBatchSize(2);
+        importProperties.setParseWorkers(1);
+        importProperties.setWorkDir(workDir.toString());
+        importProperties.setLoader(LoaderMode.JPA);
+        var csvImporter = new CsvImporter(entityManager, transactionManager, importProperties);
+        importJobService = new ImportJobService(csvImporter, bulkLoader, productCatalogSync, brandRepository, productRepository, catalogRefresher, importProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobService.shutdown();
+    }
+
+    @Test
+    void givenValidUpload_whenSubmit_thenJobCompletesWithRowErrors() throws Exception {
+        var submitted = importJobService.submit(ImportJobType.BRAND, brandFile());
+
+        var status = awaitFinished(submitted.getJobId());
+
+        assertThat(status.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(status.getImportedRows()).isEqualTo(4);
+        assertThat(status.getSkippedRows()).isEqualTo(1);
+        assertThat(status.getProcessedRows()).isEqualTo(5);
+        assertThat(status.getErrors()).hasSize(1);
+        assertThat(status.getErrors().get(0).getRow()).isEqualTo(3);
+        assertThat(status.getErrors().get(0).getMessage()).contains("name cannot be blank");
+        assertThat(workDir).isEmptyDirectory();
+        verify(catalogRefresher, timeout(1000)).importFinished(ImportJobType.BRAND);
+    }
+
+    @Test
+    void givenSpooledFileThatCannotBeDeleted_whenJobFinishes_thenCompleteAnyway() throws Exception {
+        when(brandRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            // a non-empty directory in place of the spooled file, which the job still has open
+            try (var files = Files.list(workDir)) {
+                for (var file : files.filter(Files::isRegularFile).toList()) {
+                    Files.delete(file);
+                    Files.createDirectories(file.resolve("locked"));
+                }
+            }
+            return List.of();
+        });
+
+        var submitted = importJobService.submit(ImportJobType.BRAND, brandFile());
+        var status = awaitFinished(submitted.getJobId());
+
+        assertThat(status.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(status.getImportedRows()).isEqualTo(4);
+        assertThat(workDir.resolve(submitted.getJobId() + ".csv")).isDirectory();
+    }
+
+    @Test
+    void givenProductFileWithBadRows_whenValidate_thenReportEveryErrorWithoutWriting() {
+        when(brandRepository.findIdAndNameByDeleted(false)).thenReturn(List.<Object[]>of(new Object[]{1L, "Dell"}));
+        when(brandRepository.getReferenceById(1L)).thenReturn(Brand.builder().id(1L).name("Dell").build());
+        var file = new MockMultipartFile("file", "products.csv", "text/csv", """
+            name,brand,quantity,price
+            Laptop,Dell,10,999.99
+            Mouse,Dell,ten,19.99
+            Keyboard,Acme,5,49.99
+            ,Dell,5,abc
+            Monitor,Dell,3,199.00
+            """.getBytes(StandardCharsets.UTF_8));
+
+        var result = importJobService.validate(ImportJobType.PRODUCT, file);
+
+        assertThat(result.getTotalRows()).isEqualTo(5);
+        assertThat(result.getValidRows()).isEqualTo(2);
+        assertThat(result.getInvalidRows()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("name cannot be blank; price is not a number 'abc'");
+        assertThat(result.getUnknownBrands()).containsExactly(Map.entry("Acme", 1L));
+        assertThat(result.getErrorsTruncated()).isFalse();
+        verifyNoInteractions(productRepository, transactionManager, bulkLoader);
+    }
+
+    @Test
+    void givenMoreBadRowsThanKept_whenValidate_thenReportTheFirstOnesAndTruncate() {
+        importProperties.setMaxJobErrors(1);
+        var file = new MockMultipartFile("file", "brands.csv", "text/csv", """
+            name,country,founded_year,website,description
+            ,USA,1984,,
+            Dell,USA,1984,,
+            ,USA,1939,,
+            """.getBytes(StandardCharsets.UTF_8));
+
+        var result = importJobService.validate(ImportJobType.BRAND, file);
+
+        assertThat(result.getInvalidRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportRowErrorDTO::getRow).containsExactly(1L);
+        assertThat(result.getErrorsTruncated()).isTrue();
+        assertThat(result.getUnknownBrands()).isEmpty();
+        verifyNoInteractions(brandRepository);
+    }
+
+    @Test
+    void givenFailureInSecondChunk_whenResume_thenContinueFromCheckpoint() throws Exception {
+        when(brandRepository.saveAll(anyList()))
+            .thenReturn(List.of())
+            .thenThrow(new IllegalStateException("connection lost"))
+            .thenReturn(List.of());
+
+        var submitted = importJobService.submit(ImportJobType.BRAND, brandFile());
+        var failed = awaitFinished(submitted.getJobId());
+
+        assertThat(failed.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(failed.getCheckpointRow()).isEqualTo(2);
+        assertThat(failed.getImportedRows()).isEqualTo(2);
+        assertThat(failed.getFailureMessage()).isEqualTo("connection lost");
+        // the first chunk was committed before the failure
+        verify(catalogRefresher, timeout(1000)).importFinished(ImportJobType.BRAND);
+
+        importJobService.resume(ImportJobType.BRAND, submitted.getJobId());
+        var resumed = awaitFinished(submitted.getJobId());
+
+        assertThat(resumed.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(resumed.getAttempts()).isEqualTo(2);
+        assertThat(resumed.getImportedRows()).isEqualTo(4);
+        assertThat(resumed.getSkippedRows()).isEqualTo(1);
+        assertThat(resumed.getErrors()).hasSize(1);
+
+        verify(brandRepository, times(4)).saveAll(brandCaptor.capture());
+        assertThat(brandCaptor.getAllValues().get(2)).extracting(Brand::getName).containsExactly("Logitech");
+        assertThat(brandCaptor.getAllValues().get(3)).extracting(Brand::getName).containsExactly("Corsair");
+        verify(catalogRefresher, timeout(1000).times(2)).importFinished(ImportJobType.BRAND);
+    }
+
+    @Test
+    void givenCompletedJob_whenResume_thenThrowConflictException() throws Exception {
+        var submitted = importJobService.submit(ImportJobType.BRAND, brandFile());
+        awaitFinished(submitted.getJobId());
+
+        assertThatThrownBy(() -> importJobService.resume(ImportJobType.BRAND, submitted.getJobId()))
+            .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void givenJobOfOtherType_whenGetStatus_thenThrowNotFoundException() throws Exception {
+        var submitted = importJobService.submit(ImportJobType.BRAND, brandFile());
+        awaitFinished(submitted.getJobId());
+
+        assertThatThrownBy(() -> importJobService.getStatus(ImportJobType.PRODUCT, submitted.getJobId()))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void givenFinishedJobPastRetention_whenSubmit_thenForgetIt() throws Exception {
+        importProperties.setJobRetention(Duration.ZERO);
+        var first = importJobService.submit(ImportJobType.BRAND, brandFile());
+        awaitFinished(first.getJobId());
+
+        var second = importJobService.submit(ImportJobType.BRAND, brandFile());
+
+        assertThatThrownBy(() -> importJobService.getStatus(ImportJobType.BRAND, first.getJobId()))
+            .isInstanceOf(NotFoundException.class);
+        assertThat(awaitFinished(second.getJobId()).getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+    }
+
+    @Test
+    void givenMoreFailedJobsThanKept_whenSubmit_thenForgetOldestWithItsFile() throws Exception {
+        importProperties.setMaxFinishedJobs(1);
+        when(brandRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection lost"));
+        var first = importJobService.submit(ImportJobType.BRAND, brandFile());
+        awaitFinished(first.getJobId());
+        var second = importJobService.submit(ImportJobType.BRAND, brandFile());
+        awaitFinished(second.getJobId());
+
+        importJobService.submit(ImportJobType.BRAND, brandFile());
+
+        assertThatThrownBy(() -> importJobService.resume(ImportJobType.BRAND, first.getJobId()))
+            .isInstanceOf(NotFoundException.class);
+        assertThat(workDir.resolve(first.getJobId() + ".csv")).doesNotExist();
+        assertThat(importJobService.getStatus(ImportJobType.BRAND, second.getJobId()).getStatus()).isEqualTo(ImportJobStatus.FAILED);
+    }
+
+    @Test
+    void givenEmptyUpload_whenSubmit_thenThrowValidationException() {
+        var emptyFile = new MockMultipartFile("file", "brands.csv", "text/csv", new byte[0]);
+
+        assertThatThrownBy(() -> importJobService.submit(ImportJobType.BRAND, emptyFile))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void givenBrandUpload_whenSubmitInSyncMode_thenThrowValidationException() {
+        assertThatThrownBy(() -> importJobService.submit(ImportJobType.BRAND, brandFile(), ImportMode.SYNC))
+            .isInstanceOf(ValidationException.class)
+            .hasMessage("Sync mode is only supported for product imports");
+        verifyNoInteractions(productCatalogSync);
+    }
+
+    private MockMultipartFile brandFile() {
+        return new MockMultipartFile("file", "brands.csv", "text/csv", BRAND_CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobStatusDTO awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            var status = importJobService.getStatus(ImportJobType.BRAND, jobId);
+            if (status.getStatus() == ImportJobStatus.COMPLETED || status.getStatus() == ImportJobStatus.FAILED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Import job did not finish in time: " + jobId);
+    }
+}
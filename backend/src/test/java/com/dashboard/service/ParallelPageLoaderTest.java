@@ -0,0 +1,139 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelPageLoaderTest {
+    private SearchProperties searchProperties;
+    private ParallelPageLoader loader;
+    private AtomicInteger counts;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        loader = new ParallelPageLoader(searchProperties);
+        counts = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.stop();
+    }
+
+    @Test
+    void givenSlowContentAndCount_whenLoad_thenRunThemAtTheSameTime() {
+        var countStarted = new CountDownLatch(1);
+        Pageable pageable = PageRequest.of(0, 2);
+
+        var page = loader.load(pageable, () -> {
+            // the count has to start while the rows are still being read
+            assertThat(await(countStarted)).isTrue();
+            return new SliceImpl<>(List.of("a", "b"), pageable, true);
+        }, () -> {
+            countStarted.countDown();
+            return 40;
+        });
+
+        assertThat(page).isNotInstanceOf(ParallelPageLoader.UncountedPage.class);
+        assertThat(page.getTotalElements()).isEqualTo(40);
+        assertThat(page.getContent()).containsExactly("a", "b");
+    }
+
+    @Test
+    void givenCountSlowerThanTimeout_whenLoad_thenReturnPageWithLowerBoundTotal() {
+        searchProperties.getParallelCount().setTimeout(Duration.ofMillis(50));
+        var release = new CountDownLatch(1);
+        Pageable pageable = PageRequest.of(1, 2);
+
+        Page<String> page;
+        try {
+            page = loader.load(pageable, () -> new SliceImpl<>(List.of("c", "d"), pageable, true), () -> {
+                await(release);
+                return 40;
+            });
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(page).isInstanceOfSatisfying(ParallelPageLoader.UncountedPage.class,
+            uncounted -> assertThat(uncounted.isTotalExact()).isFalse());
+        // the rows so far plus one on the next page
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).containsExactly("c", "d");
+    }
+
+    @Test
+    void givenLastPage_whenLoad_thenTakeTotalFromThePage() {
+        Pageable pageable = PageRequest.of(2, 10);
+
+        var page = loader.load(pageable, () -> new SliceImpl<>(List.of("x", "y", "z"), pageable, false), () -> 999);
+
+        assertThat(page.getTotalElements()).isEqualTo(23);
+    }
+
+    @Test
+    void givenFailingCount_whenLoad_thenReturnPageWithLowerBoundTotal() {
+        Pageable pageable = PageRequest.of(0, 1);
+
+        var page = loader.load(pageable, () -> new SliceImpl<>(List.of("a"), pageable, true), () -> {
+            throw new IllegalStateException("statement timeout");
+        });
+
+        assertThat(page).isInstanceOf(ParallelPageLoader.UncountedPage.class);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).containsExactly("a");
+    }
+
+    @Test
+    void givenNoFreeCountSlot_whenLoad_thenCountAfterThePage() {
+        searchProperties.getParallelCount().setMaxConcurrent(1);
+        loader.stop();
+        loader = new ParallelPageLoader(searchProperties);
+        var release = new CountDownLatch(1);
+        Pageable pageable = PageRequest.of(0, 1);
+        try {
+            // holds the only slot past its timeout
+            searchProperties.getParallelCount().setTimeout(Duration.ZERO);
+            loader.load(pageable, () -> new SliceImpl<>(List.of("a"), pageable, true), () -> {
+                await(release);
+                return 1;
+            });
+            searchProperties.getParallelCount().setTimeout(Duration.ofSeconds(1));
+
+            var page = loader.load(pageable, () -> new SliceImpl<>(List.of("a"), pageable, true), () -> {
+                counts.incrementAndGet();
+                return 7;
+            });
+
+            assertThat(page.getTotalElements()).isEqualTo(7);
+            assertThat(counts).hasValue(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.repository.ProductSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCountCacheTest {
+    private ProductCountCache productCountCache;
+    private AtomicInteger counts;
+
+    @BeforeEach
+    void setUp() {
+        productCountCache = new ProductCountCache(new SearchProperties());
+        counts = new AtomicInteger();
+    }
+
+    @Test
+    void givenSameFilterInDifferentCase_whenGet_thenCountOnce() {
+        productCountCache.get(new ProductSearchCriteria(false, "Laptop ", "DELL", null, 100.0), this::count);
+        var total = productCountCache.get(new ProductSearchCriteria(false, "laptop", " dell", null, 100.0), this::count);
+
+        assertThat(total).isEqualTo(42);
+        assertThat(counts).hasValue(1);
+    }
+
+    @Test
+    void givenInvalidate_whenGet_thenCountAgain() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+        productCountCache.get(criteria, this::count);
+
+        productCountCache.invalidate();
+        productCountCache.get(criteria, this::count);
+
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void givenInvalidateWhileCounting_whenGet_thenDoNotCacheThatCount() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+        productCountCache.get(criteria, () -> {
+            productCountCache.invalidate();
+            return count();
+        });
+
+        productCountCache.get(criteria, this::count);
+
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void givenExpiredEntry_whenGet_thenCountAgain() {
+        var searchProperties = new SearchProperties();
+        searchProperties.setCountCacheTtl(Duration.ZERO);
+        productCountCache = new ProductCountCache(searchProperties);
+        var criteria = new ProductSearchCriteria(true, null, null, null, null);
+
+        productCountCache.get(criteria, this::count);
+        productCountCache.get(criteria, this::count);
+
+        assertThat(counts).hasValue(2);
+    }
+
+    private long count() {
+        counts.incrementAndGet();
+        return 42;
+    }
+}
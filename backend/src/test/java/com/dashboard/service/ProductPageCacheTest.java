@@ -0,0 +1,136 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.repository.CountMode;
+import com.dashboard.repository.ProductSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPageCacheTest {
+    private SearchProperties searchProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogVersion catalogVersion;
+    private ProductPageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        catalogVersion = new CatalogVersion();
+        cache = new ProductPageCache(searchProperties, catalogVersion, meterRegistry);
+    }
+
+    @Test
+    void givenSameFilterInDifferentCase_whenGet_thenHit() {
+        var result = result("Laptop");
+        cache.put(key("Laptop ", 0), catalogVersion.current(), result, 1_000);
+
+        var entry = cache.get(key(" laptop", 0));
+
+        assertThat(entry.result()).isSameAs(result);
+        assertThat(cache.get(key("laptop", 1))).isNull();
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void givenCatalogVersionBumped_whenGet_thenMissWithoutClearing() {
+        cache.put(key("laptop", 0), catalogVersion.current(), result("Laptop"), 1_000);
+
+        catalogVersion.bump();
+
+        assertThat(cache.get(key("laptop", 0))).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void givenResultReadUnderOlderVersion_whenPut_thenDropIt() {
+        var version = catalogVersion.current();
+        catalogVersion.bump();
+
+        cache.put(key("laptop", 0), version, result("Laptop"), 1_000);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void givenExpiredEntry_whenGet_thenMiss() {
+        searchProperties.getResultCache().setTtl(Duration.ZERO);
+        cache.put(key("laptop", 0), catalogVersion.current(), result("Laptop"), 1_000);
+
+        assertThat(cache.get(key("laptop", 0))).isNull();
+    }
+
+    @Test
+    void givenFullCache_whenOneOffSearchesArrive_thenKeepFrequentlyAskedPages() {
+        searchProperties.getResultCache().setMaxEntries(100);
+        cache = new ProductPageCache(searchProperties, catalogVersion, meterRegistry);
+        for (int page = 0; page < 99; page++) {
+            cache.put(key("popular", page), 0, result("Popular"), 1_000);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int page = 0; page < 99; page++) {
+                cache.get(key("popular", page));
+            }
+        }
+
+        for (int page = 0; page < 500; page++) {
+            cache.get(key("once", page));
+            cache.put(key("once", page), 0, result("Once"), 1_000);
+        }
+
+        var kept = 0;
+        for (int page = 0; page < 99; page++) {
+            kept += cache.get(key("popular", page)) != null ? 1 : 0;
+        }
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(kept).isGreaterThanOrEqualTo(95);
+        assertThat(meterRegistry.counter("product.search.cache.evictions").count()).isGreaterThan(0);
+    }
+
+    @Test
+    void givenEntries_whenEstimatedBytes_thenGrowWithTheirContent() {
+        cache.put(key("laptop", 0), 0, result("Laptop"), 1_000);
+        var one = cache.estimatedBytes();
+
+        cache.put(key("laptop", 1), 0, result("Laptop Pro Max Ultra"), 1_000);
+
+        assertThat(one).isPositive();
+        assertThat(cache.estimatedBytes()).isGreaterThan(2 * one);
+        assertThat(meterRegistry.get("product.search.cache.bytes").gauge().value()).isEqualTo(cache.estimatedBytes());
+
+        catalogVersion.bump();
+        cache.get(key("laptop", 0));
+        cache.get(key("laptop", 1));
+        assertThat(cache.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void givenDisabled_whenPut_thenKeepNothing() {
+        searchProperties.getResultCache().setEnabled(false);
+
+        cache.put(key("laptop", 0), 0, result("Laptop"), 1_000);
+
+        assertThat(cache.get(key("laptop", 0))).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static ProductPageCache.Key key(String name, int page) {
+        return new ProductPageCache.Key(new ProductSearchCriteria(false, name, null, null, null), PageRequest.of(page, 10), CountMode.EXACT);
+    }
+
+    private static Slice<ProductResponseDTO> result(String name) {
+        return new PageImpl<>(List.of(
+            new ProductResponseDTO(1L, name, "Dell", 5, 999.0),
+            new ProductResponseDTO(2L, name + " 2", "Dell", 3, 1099.0)), PageRequest.of(0, 10), 2);
+    }
+}
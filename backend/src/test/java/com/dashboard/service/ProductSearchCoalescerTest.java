@@ -0,0 +1,200 @@
+package com.dashboard.service;
+
+import com.dashboard.config.SearchProperties;
+import com.dashboard.dto.ProductResponseDTO;
+import com.dashboard.repository.CountMode;
+import com.dashboard.repository.ProductSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductSearchCoalescerTest {
+    private static final ProductSearchCriteria CRITERIA = new ProductSearchCriteria(false, "laptop", null, null, null);
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    private SearchProperties searchProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogVersion catalogVersion;
+    private ProductSearchCoalescer coalescer;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        catalogVersion = new CatalogVersion();
+        coalescer = new ProductSearchCoalescer(new ProductPageCache(searchProperties, catalogVersion, meterRegistry), catalogVersion, searchProperties, meterRegistry);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void givenIdenticalConcurrentSearches_whenGet_thenRunOnceAndShareTheResult() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var leader = executor.submit(() -> coalescer.get(CRITERIA, PAGE, CountMode.EXACT, () -> {
+                started.countDown();
+                await(release);
+                return search();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            List<Future<Slice<ProductResponseDTO>>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> coalescer.get(new ProductSearchCriteria(false, " Laptop", "", null, null), PageRequest.of(0, 10), CountMode.EXACT, this::search)));
+            }
+            waitForJoined(7);
+            release.countDown();
+
+            var result = leader.get(5, TimeUnit.SECONDS);
+            for (var follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.counter("product.search.requests", "outcome", "executed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("product.search.requests", "outcome", "joined").count()).isEqualTo(7);
+        assertThat(meterRegistry.get("product.search.coalescing.ratio").gauge().value()).isEqualTo(7.0 / 8);
+    }
+
+    @Test
+    void givenCachedResult_whenGetAgain_thenReuseIt() {
+        var first = coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+        var second = coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(second).isSameAs(first);
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.counter("product.search.requests", "outcome", "reused").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenOtherPageSortOrCountMode_whenGet_thenRunSeparately() {
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+        coalescer.get(CRITERIA, PageRequest.of(1, 10), CountMode.EXACT, this::search);
+        coalescer.get(CRITERIA, PageRequest.of(0, 10, Sort.by("price")), CountMode.EXACT, this::search);
+        coalescer.get(CRITERIA, PAGE, CountMode.NONE, this::search);
+
+        assertThat(searches).hasValue(4);
+    }
+
+    @Test
+    void givenCountedSearchWithoutTotal_whenGetAgain_thenRunAgain() {
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::searchWithoutTotal);
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::searchWithoutTotal);
+        coalescer.get(CRITERIA, PAGE, CountMode.NONE, this::searchWithoutTotal);
+        coalescer.get(CRITERIA, PAGE, CountMode.NONE, this::searchWithoutTotal);
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    void givenCatalogWrite_whenGet_thenRunAgain() {
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        catalogVersion.bump();
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    void givenCatalogWriteWhileSearching_whenGet_thenDoNotReuseThatResult() {
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, () -> {
+            catalogVersion.bump();
+            return search();
+        });
+
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    void givenExpiredResult_whenGetAgain_thenRunAgain() {
+        searchProperties.getResultCache().setTtl(Duration.ZERO);
+
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    void givenHugeEarlyRefreshBeta_whenGetAgain_thenRefreshBeforeItExpires() {
+        searchProperties.getResultCache().setTtl(Duration.ofHours(1));
+        searchProperties.getCoalescing().setEarlyRefreshBeta(1e12);
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    void givenFailingSearch_whenGet_thenThrowAndRunAgainNextTime() {
+        assertThatThrownBy(() -> coalescer.get(CRITERIA, PAGE, CountMode.EXACT, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(searches).hasValue(1);
+    }
+
+    @Test
+    void givenCoalescingAndCacheDisabled_whenGetAgain_thenAlwaysRun() {
+        searchProperties.getCoalescing().setEnabled(false);
+        searchProperties.getResultCache().setEnabled(false);
+
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+        coalescer.get(CRITERIA, PAGE, CountMode.EXACT, this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    private Slice<ProductResponseDTO> search() {
+        searches.incrementAndGet();
+        return new PageImpl<>(List.of(new ProductResponseDTO(1L, "Laptop", "Dell", 5, 999.0)), PAGE, 1);
+    }
+
+    private Slice<ProductResponseDTO> searchWithoutTotal() {
+        searches.incrementAndGet();
+        return new ParallelPageLoader.UncountedPage<>(new SliceImpl<>(List.of(new ProductResponseDTO(1L, "Laptop", "Dell", 5, 999.0)), PAGE, false));
+    }
+
+    private void waitForJoined(int expected) throws InterruptedException {
+        var joined = meterRegistry.counter("product.search.requests", "outcome", "joined");
+        for (int i = 0; i < 500 && joined.count() < expected; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
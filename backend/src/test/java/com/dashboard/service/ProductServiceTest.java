@@ -1,13 +1,23 @@
 package com.dashboard.service;
 
+import com.dashboard.config.SearchProperties;
+import com.dashboard.dto.BrandProductCountDTO;
+import com.dashboard.dto.ProductFacetsDTO;
 import com.dashboard.dto.ProductRequestDTO;
+import com.dashboard.dto.ProductResponseDTO;
 import com.dashboard.exception.ConflictException;
 import com.dashboard.exception.NotFoundException;
 import com.dashboard.exception.ValidationException;
 import com.dashboard.model.Brand;
 import com.dashboard.model.Product;
 import com.dashboard.repository.BrandRepository;
+import com.dashboard.repository.CountMode;
+import com.dashboard.repository.ProductFacet;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductSearchCriteria;
+import com.dashboard.search.CatalogSuggestions;
+import com.dashboard.search.ProductNameIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,10 +28,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +52,10 @@ class ProductServiceTest {
     private ProductRepository productRepository;
     @Mock
     private BrandRepository brandRepository;
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private CatalogSuggestions catalogSuggestions;
     private ProductService productService;
     private Brand brand;
     private Product product;
@@ -45,7 +63,7 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
-        productService = new ProductService(productRepository, brandRepository);
+        productService = productService(false);
         brand = Brand.builder().id(1L).name("Apple").deleted(false).build();
         product = Product.builder()
             .id(VALID_PRODUCT_ID)
@@ -58,24 +76,30 @@ class ProductServiceTest {
         productRequestDTO = new ProductRequestDTO(PRODUCT_NAME, brand.getId(), 100, 1000.0);
     }
 
+    private ProductService productService(boolean parallelCount) {
+        var searchProperties = new SearchProperties();
+        searchProperties.getParallelCount().setEnabled(parallelCount);
+        var catalogVersion = new CatalogVersion();
+        var meterRegistry = new SimpleMeterRegistry();
+        var productPageCache = new ProductPageCache(searchProperties, catalogVersion, meterRegistry);
+        return new ProductService(productRepository, brandRepository, new ProductCountCache(searchProperties),
+            new ProductSearchCoalescer(productPageCache, catalogVersion, searchProperties, meterRegistry), new ParallelPageLoader(searchProperties),
+            catalogVersion, productNameIndex, catalogSuggestions, searchProperties);
+    }
+
     @Test
     void givenDeletedIsFalse_whenGetFilteredProducts_thenReturnNonemptyList() {
-        List<Product> products = new ArrayList<>();
+        List<ProductResponseDTO> products = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
-            products.add(Product.builder()
-                .id((long) (i + 1))
-                .name("ProductName" + (i + 1))
-                .brand(Brand.builder().id(1L).name("BrandName").build())
-                .deleted(false)
-                .build());
+            products.add(new ProductResponseDTO((long) (i + 1), "ProductName" + (i + 1), "BrandName", null, null));
         }
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(products);
+        Page<ProductResponseDTO> productPage = new PageImpl<>(products);
 
-        when(productRepository.searchProducts(false, "", "", null, null, pageable)).thenReturn(productPage);
+        when(productRepository.searchProductResponses(eq(new ProductSearchCriteria(false, null, null, null, null)), eq(pageable), any())).thenReturn(productPage);
 
-        var result = productService.getFilteredProducts(false, "", "", null, null, pageable);
+        var result = productService.getFilteredProducts(false, "", "", null, null, pageable, CountMode.EXACT);
 
         assertEquals(10, result.getNumberOfElements());
         assertEquals("ProductName1", result.getContent().get(0).getName());
@@ -84,41 +108,186 @@ class ProductServiceTest {
 
     @Test
     void givenDeletedIsFalse_whenGetFilteredProducts_thenReturnEmptyList() {
-        List<Product> products = new ArrayList<>();
+        List<ProductResponseDTO> products = new ArrayList<>();
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(products);
+        Page<ProductResponseDTO> productPage = new PageImpl<>(products);
 
-        when(productRepository.searchProducts(false, "", "", null, null, pageable)).thenReturn(productPage);
+        when(productRepository.searchProductResponses(eq(new ProductSearchCriteria(false, null, null, null, null)), eq(pageable), any())).thenReturn(productPage);
 
-        var results = productService.getFilteredProducts(false, "", "", null, null, pageable);
+        var results = productService.getFilteredProducts(false, "", "", null, null, pageable, CountMode.EXACT);
 
         assertEquals(0, results.getNumberOfElements());
     }
 
     @Test
     void givenDeletedIsTrue_whenGetFilteredProducts_thenReturnNonemptyList() {
-        List<Product> products = new ArrayList<>();
+        List<ProductResponseDTO> products = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
-            products.add(Product.builder()
-                .id((long) (i + 1))
-                .name("ProductName" + (i + 1))
-                .brand(Brand.builder().id(1L).name("BrandName").build())
-                .deleted(true)
-                .build());
+            products.add(new ProductResponseDTO((long) (i + 1), "ProductName" + (i + 1), "BrandName", null, null));
         }
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(products);
+        Page<ProductResponseDTO> productPage = new PageImpl<>(products);
 
-        when(productRepository.searchProducts(true, "", "", null, null, pageable)).thenReturn(productPage);
+        when(productRepository.searchProductResponses(eq(new ProductSearchCriteria(true, null, null, null, null)), eq(pageable), any())).thenReturn(productPage);
 
-        var results = productService.getFilteredProducts(true, "", "", null, null, pageable);
+        var results = productService.getFilteredProducts(true, "", "", null, null, pageable, CountMode.EXACT);
 
         assertEquals(10, results.getNumberOfElements());
         assertEquals("ProductName1", results.getContent().get(0).getName());
         assertEquals("ProductName10", results.getContent().get(9).getName());
     }
 
+    @Test
+    void givenSameFilterOnLaterPages_whenGetFilteredProducts_thenCountOnceUntilProductWrite() {
+        var criteria = new ProductSearchCriteria(false, null, "apple", null, null);
+        when(productRepository.searchProductResponses(eq(criteria), any(), any()))
+            .thenAnswer(invocation -> new PageImpl<>(List.of(), invocation.getArgument(1), invocation.<LongSupplier>getArgument(2).getAsLong()));
+        when(productRepository.countProductResponses(criteria)).thenReturn(25L);
+
+        productService.getFilteredProducts(false, null, "Apple", null, null, PageRequest.of(1, 10), CountMode.EXACT);
+        var page = productService.getFilteredProducts(false, null, "APPLE", null, null, PageRequest.of(2, 10), CountMode.EXACT);
+        verify(productRepository, times(1)).countProductResponses(criteria);
+
+        when(productRepository.findByIdAndDeleted(VALID_PRODUCT_ID, false)).thenReturn(Optional.of(product));
+        productService.markAsDeleted(VALID_PRODUCT_ID);
+        productService.getFilteredProducts(false, null, "apple", null, null, PageRequest.of(1, 10), CountMode.EXACT);
+
+        assertEquals(25, ((Page<ProductResponseDTO>) page).getTotalElements());
+        verify(productRepository, times(2)).countProductResponses(criteria);
+    }
+
+    @Test
+    void givenParallelCount_whenGetFilteredProducts_thenReadSliceAndCountBesideIt() {
+        productService = productService(true);
+        var criteria = new ProductSearchCriteria(false, null, "apple", null, null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(productRepository.searchProductResponseSlice(criteria, pageable))
+            .thenReturn(new SliceImpl<>(List.of(new ProductResponseDTO(3L, "Phone", "Apple", 1, 1.0)), pageable, true));
+        when(productRepository.countProductResponses(criteria)).thenReturn(25L);
+
+        var page = productService.getFilteredProducts(false, null, "Apple", null, null, pageable, CountMode.EXACT);
+
+        assertEquals(25, ((Page<ProductResponseDTO>) page).getTotalElements());
+        verify(productRepository, never()).searchProductResponses(any(), any(), any());
+    }
+
+    @Test
+    void givenCountModeNone_whenGetFilteredProducts_thenReturnSliceWithoutCounting() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.searchProductResponseSlice(criteria, pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, true));
+
+        var slice = productService.getFilteredProducts(false, null, null, null, null, pageable, CountMode.NONE);
+
+        assertTrue(slice.hasNext());
+        verify(productRepository, never()).countProductResponses(any());
+    }
+
+    @Test
+    void givenNameResolvedByIndex_whenGetFilteredProducts_thenReadPageByIdsAndUseMatchesAsTotal() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null, List.of(3L, 7L));
+        Pageable pageable = PageRequest.of(0, 1);
+        when(productNameIndex.find("phone")).thenReturn(Optional.of(List.of(3L, 7L)));
+        when(productRepository.searchProductResponses(eq(criteria), eq(pageable), any()))
+            .thenAnswer(invocation -> new PageImpl<>(List.of(new ProductResponseDTO(3L, "Phone", "Apple", 1, 1.0)), pageable,
+                invocation.<LongSupplier>getArgument(2).getAsLong()));
+
+        var page = productService.getFilteredProducts(false, " Phone", null, null, null, pageable, CountMode.EXACT);
+
+        assertEquals(2, ((Page<ProductResponseDTO>) page).getTotalElements());
+        verify(productRepository, never()).countProductResponses(any());
+    }
+
+    @Test
+    void givenNoNameMatchesInIndex_whenGetFilteredProducts_thenReturnEmptyPageWithoutQuery() {
+        when(productNameIndex.find("zzz")).thenReturn(Optional.of(List.of()));
+
+        var page = productService.getFilteredProducts(false, "zzz", "Apple", null, null, PageRequest.of(0, 10), CountMode.EXACT);
+
+        assertTrue(page.getContent().isEmpty());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void givenFuzzyMatches_whenGetSimilarProducts_thenPageRowsInRankOrder() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null, List.of(7L, 3L, 5L));
+        when(productNameIndex.findSimilar("phnoe")).thenReturn(Optional.of(List.of(7L, 3L, 5L)));
+        when(productRepository.searchProductResponses(eq(criteria), eq(Pageable.unpaged(Sort.unsorted())), any()))
+            .thenReturn(new PageImpl<>(List.of(
+                new ProductResponseDTO(3L, "Phone", "Apple", 1, 1.0),
+                new ProductResponseDTO(5L, "Phone Case", "Apple", 1, 1.0),
+                new ProductResponseDTO(7L, "Phone", "Samsung", 1, 1.0))));
+
+        var page = productService.getSimilarProducts(false, "phnoe", null, null, null, PageRequest.of(0, 2), CountMode.EXACT);
+
+        assertEquals(List.of(7L, 3L), page.getContent().stream().map(ProductResponseDTO::getId).toList());
+        assertEquals(3, ((Page<ProductResponseDTO>) page).getTotalElements());
+    }
+
+    @Test
+    void givenNameIndexNotLoaded_whenGetSimilarProducts_thenFallBackToNameFilter() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productNameIndex.findSimilar("phone")).thenReturn(Optional.empty());
+        when(productNameIndex.find("phone")).thenReturn(Optional.empty());
+        when(productRepository.searchProductResponseSlice(new ProductSearchCriteria(false, "phone", null, null, null), pageable))
+            .thenReturn(new SliceImpl<>(List.of()));
+
+        productService.getSimilarProducts(false, "phone", null, null, null, pageable, CountMode.NONE);
+
+        verify(productRepository).searchProductResponseSlice(new ProductSearchCriteria(false, "phone", null, null, null), pageable);
+    }
+
+    @Test
+    void givenFacets_whenGetFacetedProducts_thenResolveNameOnceForPageAndCounts() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null, List.of(3L, 7L));
+        Pageable pageable = PageRequest.of(0, 10);
+        var facets = new ProductFacetsDTO(List.of(new BrandProductCountDTO("Apple", 2L)), null);
+        when(productNameIndex.find("phone")).thenReturn(Optional.of(List.of(3L, 7L)));
+        when(productRepository.searchProductResponses(eq(criteria), eq(pageable), any())).thenReturn(Page.empty(pageable));
+        when(productRepository.facetProductResponses(criteria, EnumSet.of(ProductFacet.BRAND), new SearchProperties().getPriceBuckets()))
+            .thenReturn(facets);
+
+        var result = productService.getFacetedProducts(false, "phone", null, null, null, pageable, CountMode.EXACT, false, List.of("brand"));
+
+        assertEquals(facets, result.getFacets());
+        verify(productNameIndex, times(1)).find("phone");
+    }
+
+    @Test
+    void givenFuzzyFacets_whenGetFacetedProducts_thenRankPageAndCountFacetsOverSimilarNames() {
+        var criteria = new ProductSearchCriteria(false, null, null, null, null, List.of(7L, 3L));
+        var facets = new ProductFacetsDTO(List.of(new BrandProductCountDTO("Apple", 2L)), null);
+        when(productNameIndex.findSimilar("phnoe")).thenReturn(Optional.of(List.of(7L, 3L)));
+        when(productRepository.searchProductResponses(eq(criteria), eq(Pageable.unpaged(Sort.unsorted())), any()))
+            .thenReturn(new PageImpl<>(List.of(
+                new ProductResponseDTO(3L, "Phone", "Apple", 1, 1.0),
+                new ProductResponseDTO(7L, "Phone", "Apple", 1, 1.0))));
+        when(productRepository.facetProductResponses(criteria, EnumSet.of(ProductFacet.BRAND), new SearchProperties().getPriceBuckets()))
+            .thenReturn(facets);
+
+        var result = productService.getFacetedProducts(false, "phnoe", null, null, null, PageRequest.of(0, 10), CountMode.EXACT, true, List.of("brand"));
+
+        assertEquals(List.of(7L, 3L), result.getPage().getContent().stream().map(ProductResponseDTO::getId).toList());
+        assertEquals(facets, result.getFacets());
+        verify(productNameIndex, never()).find(any());
+    }
+
+    @Test
+    void givenFuzzy_whenGetFilteredProductsAfter_thenThrowValidationException() {
+        assertThatThrownBy(() -> productService.getFilteredProductsAfter(false, "phnoe", null, null, null, null, 20, Sort.unsorted(), true))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("cursor");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void givenUnknownFacet_whenGetFacetedProducts_thenThrowValidationException() {
+        assertThatThrownBy(() -> productService.getFacetedProducts(false, null, null, null, null, PageRequest.of(0, 10), CountMode.EXACT, false, List.of("brand", "color")))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("Unknown facet 'color'");
+    }
+
     @Test
     void givenInvalidId_whenGetOneById_thenThrowValidationException() {
         assertThatThrownBy(() -> productService.getOneById(NULL_PRODUCT_ID)).isInstanceOf(ValidationException.class).hasMessageContaining("Invalid product ID: " + NULL_PRODUCT_ID);
@@ -127,18 +296,21 @@ class ProductServiceTest {
 
     @Test
     void givenNonExistentId_whenGetOneById_thenThrowNotFoundException() {
-        when(productRepository.findByIdAndDeleted(Mockito.anyLong(), Mockito.anyBoolean())).thenReturn(Optional.empty());
+        when(productRepository.findResponseByIdAndDeleted(Mockito.anyLong(), Mockito.anyBoolean())).thenReturn(Optional.empty());
         assertThatThrownBy(() -> productService.getOneById(NOT_FOUND_PRODUCT_ID)).isInstanceOf(NotFoundException.class).hasMessageContaining("Product not found with ID: " + NOT_FOUND_PRODUCT_ID);
     }
 
     @Test
     void givenExistentId_whenGetOneById_thenReturnBrand() {
-        when(productRepository.findByIdAndDeleted(Mockito.anyLong(), Mockito.anyBoolean())).thenReturn(Optional.of(product));
+        when(productRepository.findResponseByIdAndDeleted(VALID_PRODUCT_ID, false))
+            .thenReturn(Optional.of(new ProductResponseDTO(VALID_PRODUCT_ID, PRODUCT_NAME, "Apple", 100, 1000.0)));
 
         var result = productService.getOneById(VALID_PRODUCT_ID);
 
         assertNotNull(result);
         assertEquals(VALID_PRODUCT_ID, result.getId());
+        assertEquals("Apple", result.getBrandName());
+        verify(productRepository, never()).findByIdAndDeleted(any(), any());
     }
 
     @Test
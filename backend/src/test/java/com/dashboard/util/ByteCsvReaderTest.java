@@ -0,0 +1,148 @@
+package com.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteCsvReaderTest {
+
+    @Test
+    void givenQuotedFields_whenRead_thenUnescapeCommasQuotesAndLineBreaks() {
+        var csv = "Dell,\"Says \"\"hi\"\", twice\",\"two\nlines\"\r\nHP,,\"\"\nLast,row,\"no newline\"";
+
+        var rows = readAll(ByteCsvReader.of(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(rows).containsExactly(
+            List.of("Dell", "Says \"hi\", twice", "two\nlines"),
+            List.of("HP", "", ""),
+            List.of("Last", "row", "no newline")
+        );
+    }
+
+    @Test
+    void givenByteOrderMarkAndMultiByteCharacters_whenRead_thenDecodeUtf8() {
+        var csv = "\uFEFFname,country\nNestlé,Schweiz\n";
+
+        var rows = readAll(ByteCsvReader.of(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(rows).containsExactly(List.of("name", "country"), List.of("Nestlé", "Schweiz"));
+    }
+
+    @Test
+    void givenChannelReturningOneByteAtATime_whenRead_thenRecordsSpanningReadsAreIntact() {
+        var csv = "a,\"b,\"\"c\"\"\"\r\nd,e\r\n";
+        var bytes = csv.getBytes(StandardCharsets.UTF_8);
+        var position = new int[1];
+        ReadableByteChannel trickle = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (position[0] == bytes.length) {
+                    return -1;
+                }
+                dst.put(bytes[position[0]++]);
+                return 1;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertThat(readAll(ByteCsvReader.of(trickle))).containsExactly(List.of("a", "b,\"c\""), List.of("d", "e"));
+    }
+
+    @Test
+    void givenRecordsLargerThanOneSlab_whenRead_thenEarlierRecordsStayValid() {
+        var longField = "x".repeat(300_000);
+        var csv = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            csv.append("row").append(i).append(',').append(i).append('\n');
+        }
+        csv.append("long,\"").append(longField).append("\"\n");
+
+        List<CsvRecord> records = new ArrayList<>();
+        ByteCsvReader.of(Channels.newChannel(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8))))
+            .forEachRemaining(records::add);
+
+        assertThat(records).hasSize(5_001);
+        assertThat(records.get(0).get(0)).isEqualTo("row0");
+        assertThat(records.get(4_999).parseNonNegativeInt(1)).isEqualTo(4_999);
+        assertThat(records.get(5_000).get(1)).isEqualTo(longField);
+    }
+
+    @Test
+    void givenSeedFile_whenStreamRecords_thenMatchOpenCsv() {
+        List<List<String>> expected;
+        try (Stream<String[]> rows = CsvUtils.streamCsvFromResource("data/brands.csv")) {
+            expected = rows.map(List::of).toList();
+        }
+
+        List<List<String>> actual;
+        try (Stream<CsvRecord> records = CsvUtils.streamRecordsFromResource("data/brands.csv", bytesRead -> {
+        })) {
+            actual = records.map(ByteCsvReaderTest::fields).toList();
+        }
+
+        assertThat(actual).isNotEmpty().isEqualTo(expected);
+    }
+
+    @Test
+    void givenNumericFields_whenParse_thenMatchJdkParsingWithoutStrings() {
+        var record = single(" 42 ,2147483648,12a,,-1,999.99,-0.5,+3,1.2.3,.,12345678901234567890.5,1e3");
+
+        assertThat(record.parseNonNegativeInt(0)).isEqualTo(42);
+        assertThat(record.parseNonNegativeInt(1)).isEqualTo(CsvRecord.OUT_OF_RANGE);
+        assertThat(record.parseNonNegativeInt(2)).isEqualTo(CsvRecord.NOT_A_NUMBER);
+        assertThat(record.parseNonNegativeInt(3)).isEqualTo(CsvRecord.NOT_A_NUMBER);
+        assertThat(record.parseNonNegativeInt(4)).isEqualTo(CsvRecord.NOT_A_NUMBER);
+        assertThat(record.parseDecimal(5)).isEqualTo(999.99);
+        assertThat(record.parseDecimal(6)).isEqualTo(-0.5);
+        assertThat(record.parseDecimal(7)).isEqualTo(3.0);
+        assertThat(record.parseDecimal(8)).isNaN();
+        assertThat(record.parseDecimal(9)).isNaN();
+        assertThat(record.parseDecimal(10)).isEqualTo(12345678901234567890.5);
+        assertThat(record.parseDecimal(11)).isNaN();
+    }
+
+    @Test
+    void givenRandomPrices_whenParseDecimal_thenSameAsDoubleParseDouble() {
+        var random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            var text = random.nextInt(1_000_000) + "." + String.format("%0" + (1 + random.nextInt(6)) + "d", random.nextInt(100_000));
+            assertThat(single(text).parseDecimal(0)).as(text).isEqualTo(Double.parseDouble(text));
+        }
+    }
+
+    private static CsvRecord single(String line) {
+        return ByteCsvReader.of(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8))).next();
+    }
+
+    private static List<List<String>> readAll(ByteCsvReader reader) {
+        List<List<String>> rows = new ArrayList<>();
+        reader.forEachRemaining(record -> rows.add(fields(record)));
+        return rows;
+    }
+
+    private static List<String> fields(CsvRecord record) {
+        List<String> fields = new ArrayList<>(record.size());
+        for (int i = 0; i < record.size(); i++) {
+            fields.add(record.get(i));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,120 @@
+package com.dashboard.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reads a generated product CSV (name, quoted brand with commas and doubled quotes, quantity, price) end to end
+ * and parses the numeric columns, comparing OpenCSV ({@link CsvUtils#streamCsv}) with {@link ByteCsvReader}
+ * over a file channel and over a memory mapping. Defaults to a 1 GB file; run with
+ * {@code mvn test -Pbenchmark -Dtest=CsvTokenizerBenchmark [-Dbenchmark.csv.megabytes=1024]}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class CsvTokenizerBenchmark {
+
+    @Param("1024")
+    public int megabytes;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = Files.createTempFile("products-benchmark", ".csv");
+        var targetBytes = (long) megabytes * 1024 * 1024;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,brand,quantity,price\n");
+            long written = 0;
+            for (long i = 0; written < targetBytes; i++) {
+                var line = "Product " + i + ",\"Brand " + (i % 500) + ", \"\"Inc\"\"\"," + (i % 1000) + "," + (i % 100_000) / 100.0 + "\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long openCsv(Blackhole blackhole) throws IOException {
+        long rows = 0;
+        try (Stream<String[]> stream = CsvUtils.streamCsv(Files.newInputStream(file))) {
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                var row = iterator.next();
+                blackhole.consume(Integer.parseInt(row[2].trim()));
+                blackhole.consume(Double.parseDouble(row[3].trim()));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long byteChannel(Blackhole blackhole) throws IOException {
+        try (Stream<CsvRecord> records = CsvUtils.streamRecords(file)) {
+            return consume(records, blackhole);
+        }
+    }
+
+    @Benchmark
+    public long byteMapped(Blackhole blackhole) throws IOException {
+        try (Stream<CsvRecord> records = CsvUtils.streamRecordsMapped(file)) {
+            return consume(records, blackhole);
+        }
+    }
+
+    private static long consume(Stream<CsvRecord> records, Blackhole blackhole) {
+        long rows = 0;
+        var iterator = records.iterator();
+        while (iterator.hasNext()) {
+            var record = iterator.next();
+            blackhole.consume(record.parseNonNegativeInt(2));
+            blackhole.consume(record.parseDecimal(3));
+            rows++;
+        }
+        return rows;
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(CsvTokenizerBenchmark.class.getSimpleName())
+            .param("megabytes", System.getProperty("benchmark.csv.megabytes", "1024"))
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
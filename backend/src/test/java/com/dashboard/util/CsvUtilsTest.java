@@ -2,6 +2,8 @@ package com.dashboard.util;
 
 import org.junit.jupiter.api.Test;
 import java.util.List;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class CsvUtilsTest {
@@ -26,4 +28,18 @@ class CsvUtilsTest {
         List<String[]> result = CsvUtils.readCsvFromResource("data/123.csv");
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void givenValidCsv_whenStreamCsvFromResource_thenStreamsRowsInOrder() {
+        try (Stream<String[]> rows = CsvUtils.streamCsvFromResource("data/brands.csv")) {
+            assertThat(rows.map(row -> row[0])).containsExactly("Dell", "HP", "Logitech", "Corsair");
+        }
+    }
+
+    @Test
+    void givenNonexistentCsv_whenStreamCsvFromResource_thenReturnsEmptyStream() {
+        try (Stream<String[]> rows = CsvUtils.streamCsvFromResource("data/123.csv")) {
+            assertThat(rows).isEmpty();
+        }
+    }
 }
\ No newline at end of file